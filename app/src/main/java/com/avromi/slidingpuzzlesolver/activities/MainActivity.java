@@ -7,10 +7,17 @@ import android.os.Bundle;
 import com.avromi.slidingpuzzlesolver.R;
 import com.avromi.slidingpuzzlesolver.classes.AppPreferenceManager;
 import com.avromi.slidingpuzzlesolver.classes.AppPreferenceManager.MainActivityPreferences;
+import com.avromi.slidingpuzzlesolver.classes.SolverService;
+import com.avromi.slidingpuzzlesolver.models.classes.AlgorithmChoice;
+import com.avromi.slidingpuzzlesolver.models.classes.EightPuzzleDatabase;
 import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
 import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
 import com.avromi.slidingpuzzlesolver.classes.Utils;
+import com.avromi.slidingpuzzlesolver.models.heuristics.PatternDatabaseHeuristic;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Heuristic;
 import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.AutoSearch;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.EightPuzzleLookup;
 import com.google.android.material.card.MaterialCardView;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.floatingactionbutton.ExtendedFloatingActionButton;
@@ -39,6 +46,7 @@ import android.widget.Toast;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class MainActivity extends AppCompatActivity {
 
@@ -62,11 +70,14 @@ public class MainActivity extends AppCompatActivity {
     private int mBoardSize;  // this is not final as the board size can be changed by the user in settings
 
     private SearchMethod<SlidingPuzzleNode> mSearchMethod;
-    private CompletableFuture<SearchResult<SlidingPuzzleNode>> mSolutionSearchTask;
+    private Supplier<SearchMethod<SlidingPuzzleNode>> mSearchMethodFactory;
+    private Heuristic mHeuristic;
+    private SolverService.Request mSearchRequest;  // the search whose result hasn't been shown yet, if any
 
     // fields:
     private Utils mUtils;
     private AppPreferenceManager mAppPreferenceManager;
+    private SolverService mSolverService;
     private SearchResult<SlidingPuzzleNode> mSolution;
     private List<SlidingPuzzleNode> mSolutionPath;
     private int mSolutionViewingIndex = 0;
@@ -86,7 +97,12 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onStop() {
         super.onStop();
-        cancelSearchTaskIfRunning();
+        if (isChangingConfigurations()) {
+            // The activity is recreated right away (e.g., the device was rotated), so the new one shows the result
+            retainSearchTaskForNextActivity();
+        } else {
+            cancelSearchTaskIfRunning();
+        }
         saveSettingsToPreferences();
         saveStateToPreferences();
     }
@@ -97,6 +113,7 @@ public class MainActivity extends AppCompatActivity {
         setSettingsFromPreferences();
         setStateFromPreferences();
         setupViews();
+        resumeRetainedSearchTask();
     }
 
     @Override
@@ -170,6 +187,7 @@ public class MainActivity extends AppCompatActivity {
     private void setupFields() {
         mUtils = new Utils(this);
         mAppPreferenceManager = AppPreferenceManager.getInstance(this);
+        mSolverService = SolverService.getInstance(mAppPreferenceManager.getSolutionCache());
 
         mPuzzleBoardGrid = binding.includeContentMain.includePuzzleBoard.puzzleBoardGrid;
         mControlsBar = binding.includeContentMain.includeControlsBar.controlsBar;
@@ -251,8 +269,9 @@ public class MainActivity extends AppCompatActivity {
             disableEditingCells();
             mFab.setEnabled(false);
             try {
-                SlidingPuzzleNode board = new SlidingPuzzleNode(collectPiecesFromScreen());
-                mSolutionSearchTask = startNewSearchTask(board);
+                int[][] pieces = collectPiecesFromScreen();
+                SlidingPuzzleNode.validateBoardPieces(pieces);
+                startNewSearchTask(pieces);
             } catch (IllegalArgumentException e) {
                 enableEditingCells();
                 mFab.setEnabled(true);
@@ -263,59 +282,137 @@ public class MainActivity extends AppCompatActivity {
         });
     }
 
-    private CompletableFuture<SearchResult<SlidingPuzzleNode>> startNewSearchTask(SlidingPuzzleNode boardToSearch) {
-        // Start the search task and add completion and exception handling.
-        // We return the original completable future (of the search task) so that the actual search operation
-        // can be cancelled externally.
+    private void startNewSearchTask(int[][] piecesToSearch) {
+        // The search runs on the solver service's threads, and is shared with any request for the same board that is
+        // still running (e.g., one made before the activity was recreated).
+        // A remembered solution is used instead of searching, if it is as fast as the search method would find.
+        showResultOfSearchTask(mSolverService.solve(piecesToSearch, mHeuristic, mSearchMethodFactory));
+    }
 
-        CompletableFuture<SearchResult<SlidingPuzzleNode>> searchTask
-                = CompletableFuture.supplyAsync(() -> mSearchMethod.search(boardToSearch));
+    /**
+     * Shows the result of the given search request when it's done (at once, if it's done already), unless another
+     * request replaced it first.
+     */
+    private void showResultOfSearchTask(SolverService.Request request) {
+        mSearchRequest = request;
+        CompletableFuture<SearchResult<SlidingPuzzleNode>> searchTask = request.getResult();
 
         searchTask.thenAccept(result ->
                 {
                     if (result.getSolutionWasFound()) {
-                        runOnUiThread(() -> {
-                            mSnackbar.setText(getString(R.string.found_solution) + " with " + (result.getSolutionPath().size() - 1) + " steps");
+                        runOnUiThreadForSearchTask(request, () -> {
+                            String message = getString(R.string.found_solution) + " with " + (result.getSolutionPath().size() - 1) + " steps";
+                            if (result.getStatistics() != null) {
+                                message += "\n" + result.getStatistics().getSummary();
+                            }
+                            message += getAlgorithmChoiceMessage(result);
+                            mSnackbar.setText(message);
+                            mSnackbar.setDuration(Snackbar.LENGTH_LONG);
+                            mSnackbar.show();
+                            setupSolutionViewing(result, true);
+                            refreshControlsBarButtonsEnabledStatus();
+                        });
+                    } else if (result.getBoardIsUnsolvable()) {
+                        runOnUiThreadForSearchTask(request, () -> {
+                            mSnackbar.setText(getString(R.string.board_is_unsolvable));
+                            mSnackbar.setDuration(Snackbar.LENGTH_LONG);
+                            mSnackbar.show();
+                            enableEditingCells();
+                        });
+                    } else if (result.getPartialPath().size() > 1) {
+                        // The search stopped early, so the closest board it found is shown instead of a solution
+                        runOnUiThreadForSearchTask(request, () -> {
+                            mSnackbar.setText(getString(R.string.showing_closest_board_found,
+                                    result.getPartialPath().size() - 1) + getAlgorithmChoiceMessage(result));
                             mSnackbar.setDuration(Snackbar.LENGTH_LONG);
                             mSnackbar.show();
                             setupSolutionViewing(result, true);
                             refreshControlsBarButtonsEnabledStatus();
                         });
                     } else {
-                        runOnUiThread(() -> {
+                        runOnUiThreadForSearchTask(request, () -> {
                             mSnackbar.setText(getString(R.string.couldnt_find_solution_try_again));
                             mSnackbar.setDuration(Snackbar.LENGTH_LONG);
                             mSnackbar.show();
                             enableEditingCells();
                         });
                     }
-                    runOnUiThread(() -> mFab.setEnabled(true));
+                    runOnUiThreadForSearchTask(request, () -> {
+                        mFab.setEnabled(true);
+                        mSearchRequest = null;
+                    });
                 })
                 .exceptionally(result ->
                 {
-                    if (mSolutionSearchTask.isCancelled()) {
-                        mSearchMethod.terminate();
-                    } else {
-                        runOnUiThread(() -> {
+                    if (!request.isCancelled()) {
+                        runOnUiThreadForSearchTask(request, () -> {
                             mSnackbar.setText(getString(R.string.error_finding_solution));
                             mSnackbar.setDuration(Snackbar.LENGTH_LONG);
                             mSnackbar.show();
                         });
                     }
 
-                    runOnUiThread(() -> {
+                    runOnUiThreadForSearchTask(request, () -> {
                         enableEditingCells();
                         mFab.setEnabled(true);
+                        mSearchRequest = null;
                     });
 
                     return null;
                 });
-        return searchTask;
+    }
+
+    /**
+     * Runs the given action on the UI thread, unless the given search request was replaced or taken over by another
+     * activity before it runs.
+     */
+    private void runOnUiThreadForSearchTask(SolverService.Request request, Runnable action) {
+        runOnUiThread(() -> {
+            if (mSearchRequest == request) {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Hands the running search (or its result, if it hasn't been shown yet) over to the activity that replaces this
+     * one, so that the search isn't cancelled and run again.
+     */
+    private void retainSearchTaskForNextActivity() {
+        if (mSearchRequest != null) {
+            mSolverService.retain(mSearchRequest);
+            mSearchRequest = null;
+        }
+    }
+
+    /**
+     * Takes over the search handed over by the activity this one replaced, if there is one, and shows its result when
+     * it's done.
+     */
+    private void resumeRetainedSearchTask() {
+        SolverService.Request request = mSolverService.takeRetainedRequest();
+        if (request != null) {
+            disableEditingCells();
+            mFab.setEnabled(false);
+            showResultOfSearchTask(request);
+        }
+    }
+
+    /**
+     * @return a line saying which algorithm was chosen to find the result and why, or an empty string if the search
+     * method didn't choose one (see {@link AutoSearch})
+     */
+    private String getAlgorithmChoiceMessage(SearchResult<SlidingPuzzleNode> result) {
+        AlgorithmChoice choice = result.getAlgorithmChoice();
+        if (choice == null) {
+            return "";
+        }
+        return "\n" + getString(R.string.algorithm_chosen, choice.getSearchMethodName(), choice.getReason());
     }
 
     private void setupSolutionViewing(SearchResult<SlidingPuzzleNode> solution, boolean resetViewingIndex) {
         mSolution = solution;
-        mSolutionPath = mSolution.getSolutionPath();
+        mSolutionPath = mSolution.getSolutionWasFound() ? mSolution.getSolutionPath() : mSolution.getPartialPath();
         mSolutionViewingIndex = resetViewingIndex ? 0 : mSolutionViewingIndex;
     }
 
@@ -327,6 +424,8 @@ public class MainActivity extends AppCompatActivity {
 
     private void setupSnackbar() {
         mSnackbar = Snackbar.make(binding.includeContentMain.getRoot(), "", Snackbar.LENGTH_LONG);
+        // Room for a result's statistics and the reason for the algorithm chosen, below the message itself
+        mSnackbar.setTextMaxLines(6);
     }
 
 //endregion
@@ -366,8 +465,9 @@ public class MainActivity extends AppCompatActivity {
 //region Puzzle board
 
     private void cancelSearchTaskIfRunning() {
-        if (mSolutionSearchTask != null && !mSolutionSearchTask.isDone()) {
-            mSolutionSearchTask.cancel(true);
+        if (mSearchRequest != null) {
+            mSearchRequest.cancel();
+            mSearchRequest = null;
         }
     }
 
@@ -514,11 +614,45 @@ public class MainActivity extends AppCompatActivity {
     public void setSettingsFromPreferences() {
         mAppPreferenceManager.getSettings().updateLocalValuesFromPreferences();
         mSearchMethod = mAppPreferenceManager.getSettings().getAlgorithmValue();
+        mSearchMethodFactory = mAppPreferenceManager.getSettings().getAlgorithmFactory();
+        mHeuristic = mAppPreferenceManager.getSettings().getHeuristicValue();
         mBoardSize = mAppPreferenceManager.getSettings().getBoardSizeValue();
+        prepareHeuristic();
+        prepareSearchMethod();
+    }
+
+    /**
+     * Loads (or builds, the first time) the pattern database for the current board size in the background, so that it
+     * is ready by the time a search needs it.
+     */
+    private void prepareHeuristic() {
+        if (mHeuristic instanceof PatternDatabaseHeuristic) {
+            PatternDatabaseHeuristic heuristic = (PatternDatabaseHeuristic) mHeuristic;
+            int boardSize = mBoardSize;
+            mSolverService.runInBackground(() -> heuristic.prepare(boardSize));
+        }
+    }
+
+    /**
+     * Loads (or builds, the first time) the 8-puzzle database in the background, if it will be used for the current
+     * board size, so that the first 3x3 solve is answered without waiting for it.
+     */
+    private void prepareSearchMethod() {
+        if (mBoardSize != EightPuzzleDatabase.BOARD_SIZE) {
+            return;
+        }
+        if (mSearchMethod instanceof EightPuzzleLookup) {
+            EightPuzzleLookup lookup = (EightPuzzleLookup) mSearchMethod;
+            mSolverService.runInBackground(lookup::prepare);
+        } else if (mSearchMethod instanceof AutoSearch) {
+            EightPuzzleLookup lookup = ((AutoSearch) mSearchMethod).getEightPuzzleLookup();
+            mSolverService.runInBackground(lookup::prepare);
+        }
     }
 
     public void saveSettingsToPreferences() {
         mAppPreferenceManager.getSettings().setAlgorithmValue(mSearchMethod);
+        mAppPreferenceManager.getSettings().setHeuristicValue(mHeuristic);
         mAppPreferenceManager.getSettings().setBoardSizeValue(mBoardSize);
     }
 
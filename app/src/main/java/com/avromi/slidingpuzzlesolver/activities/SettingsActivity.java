@@ -6,9 +6,13 @@ import android.view.MenuItem;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.ActionBar;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.preference.ListPreference;
 import androidx.preference.PreferenceFragmentCompat;
 
 import com.avromi.slidingpuzzlesolver.R;
+import com.avromi.slidingpuzzlesolver.models.classes.BoardTables;
+
+import java.util.concurrent.CompletableFuture;
 
 public class SettingsActivity extends AppCompatActivity {
 
@@ -40,6 +44,16 @@ public class SettingsActivity extends AppCompatActivity {
         @Override
         public void onCreatePreferences(Bundle savedInstanceState, String rootKey) {
             setPreferencesFromResource(R.xml.root_preferences, rootKey);
+
+            ListPreference boardSizePreference = findPreference(getString(R.string.board_size_setting_key));
+            if (boardSizePreference != null) {
+                boardSizePreference.setOnPreferenceChangeListener((preference, newValue) -> {
+                    // Build the tables for the new board size in the background, so they are ready for its first search
+                    int boardSize = Integer.parseInt((String) newValue);
+                    CompletableFuture.runAsync(() -> BoardTables.forSize(boardSize));
+                    return true;
+                });
+            }
         }
     }
 
@@ -7,17 +7,31 @@ import static androidx.preference.PreferenceManager.getDefaultSharedPreferences;
 
 import com.avromi.slidingpuzzlesolver.R;
 import com.avromi.slidingpuzzlesolver.activities.MainActivity;
+import com.avromi.slidingpuzzlesolver.models.classes.CompactSolution;
 import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
 import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.classes.SolutionCache;
+import com.avromi.slidingpuzzlesolver.models.heuristics.LinearConflict;
+import com.avromi.slidingpuzzlesolver.models.heuristics.ManhattanDistance;
+import com.avromi.slidingpuzzlesolver.models.heuristics.PatternDatabaseHeuristic;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Heuristic;
 import com.avromi.slidingpuzzlesolver.models.searchmethods.AStar;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.AutoSearch;
 import com.avromi.slidingpuzzlesolver.models.searchmethods.BFS;
 import com.avromi.slidingpuzzlesolver.models.searchmethods.BestFirst;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.BidirectionalBFS;
 import com.avromi.slidingpuzzlesolver.models.searchmethods.DDFS;
 import com.avromi.slidingpuzzlesolver.models.searchmethods.DFS;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.EightPuzzleLookup;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.IDAStar;
 import com.avromi.slidingpuzzlesolver.models.searchmethods.IDDFS;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.ParallelAStar;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.ParallelIDAStar;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.Portfolio;
 import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+
+import java.io.File;
+import java.util.function.Supplier;
 
 /**
  * Simplifies management of the app's different preferences.
@@ -25,9 +39,9 @@ import com.google.gson.reflect.TypeToken;
 public class AppPreferenceManager {
     private static AppPreferenceManager instance;
     private final Context appContext;
-    private final Gson gson;
     private final SettingsPreferences settingsPreferences;
     private final MainActivityPreferences mainActivityPreferences;
+    private final SolutionCache solutionCache;
 
     public static AppPreferenceManager getInstance(Context appContext) {
         if (instance == null) {
@@ -38,9 +52,10 @@ public class AppPreferenceManager {
 
     private AppPreferenceManager(Context appContext) {
         this.appContext = appContext;
-        this.gson = new Gson();
         this.settingsPreferences = new SettingsPreferences();
         this.mainActivityPreferences = new MainActivityPreferences();
+        this.solutionCache = new SolutionCache(SolutionCache.DEFAULT_CAPACITY,
+                appContext.getNoBackupFilesDir(), SolutionCache.DEFAULT_FILE_CAPACITY);
     }
 
     public SettingsPreferences getSettings() {
@@ -51,17 +66,32 @@ public class AppPreferenceManager {
         return this.mainActivityPreferences;
     }
 
+    /**
+     * @return the solutions found so far, which are kept for as long as the app runs and saved between runs
+     */
+    public SolutionCache getSolutionCache() {
+        return this.solutionCache;
+    }
+
     public class SettingsPreferences {
         private final SharedPreferences sharedPreferences;
         private final String algorithmKey;
         private SearchMethod<SlidingPuzzleNode> algorithmValue;
+        private Supplier<SearchMethod<SlidingPuzzleNode>> algorithmFactory;
+        private final String heuristicKey;
+        private Heuristic heuristicValue;
+        private PatternDatabaseHeuristic patternDatabaseHeuristic;
+        private EightPuzzleLookup eightPuzzleLookup;
         private final String boardSizeKey;
         private int boardSizeValue;
+        private final String fastestSolutionKey;
 
         private SettingsPreferences() {
             this.sharedPreferences = getDefaultSharedPreferences(appContext);
             this.algorithmKey = appContext.getString(R.string.algorithm_setting_preference_key);
+            this.heuristicKey = appContext.getString(R.string.heuristic_setting_preference_key);
             this.boardSizeKey = appContext.getString(R.string.board_size_setting_key);
+            this.fastestSolutionKey = appContext.getString(R.string.fastest_solution_setting_key);
             updateLocalValuesFromPreferences();
         }
 
@@ -71,22 +101,69 @@ public class AppPreferenceManager {
 
             switch (algorithm) {
                 case "AStar":
-                    setAlgorithmValue(new AStar());
+                    setAlgorithmFactory(AStar::new);
                     break;
                 case "BestFirst":
-                    setAlgorithmValue(new BestFirst());
+                    setAlgorithmFactory(BestFirst::new);
                     break;
                 case "BFS":
-                    setAlgorithmValue(new BFS());
+                    setAlgorithmFactory(BFS::new);
                     break;
                 case "DFS":
-                    setAlgorithmValue(new DFS());
+                    setAlgorithmFactory(DFS::new);
                     break;
                 case "DDFS":
-                    setAlgorithmValue(new DDFS());
+                    setAlgorithmFactory(DDFS::new);
                     break;
                 case "IDDFS":
-                    setAlgorithmValue(new IDDFS());
+                    setAlgorithmFactory(IDDFS::new);
+                    break;
+                case "IDAStar":
+                    setAlgorithmFactory(IDAStar::new);
+                    break;
+                case "BidirectionalBFS":
+                    setAlgorithmFactory(BidirectionalBFS::new);
+                    break;
+                case "ParallelAStar":
+                    setAlgorithmFactory(ParallelAStar::new);
+                    break;
+                case "ParallelIDAStar":
+                    setAlgorithmFactory(ParallelIDAStar::new);
+                    break;
+                case "Portfolio":
+                    setAlgorithmFactory(() -> Portfolio.createDefault(false));
+                    break;
+                case "EightPuzzleLookup":
+                    // Shared by every search, since it only keeps its database between them
+                    setAlgorithmFactory(this::getEightPuzzleLookup);
+                    break;
+                case "AutoSearch":
+                    boolean fastestSolutionDefault =
+                            appContext.getResources().getBoolean(R.bool.fastest_solution_setting_default);
+                    boolean fastestSolution =
+                            this.sharedPreferences.getBoolean(this.fastestSolutionKey, fastestSolutionDefault);
+                    EightPuzzleLookup lookup = getEightPuzzleLookup();
+                    setAlgorithmFactory(() -> new AutoSearch(fastestSolution, lookup));
+                    break;
+            }
+
+            String heuristicDefault = appContext.getResources().getString(R.string.heuristic_setting_default);
+            String heuristic = this.sharedPreferences.getString(this.heuristicKey, heuristicDefault);
+
+            switch (heuristic) {
+                case "ManhattanDistance":
+                    setHeuristicValue(new ManhattanDistance());
+                    break;
+                case "LinearConflict":
+                    setHeuristicValue(new LinearConflict());
+                    break;
+                case "PatternDatabaseHeuristic":
+                    // Kept between updates, so that its databases are only loaded once
+                    if (this.patternDatabaseHeuristic == null) {
+                        this.patternDatabaseHeuristic = new PatternDatabaseHeuristic(
+                                new File(appContext.getNoBackupFilesDir(), "pattern_databases"));
+                    }
+                    setHeuristicValue(this.patternDatabaseHeuristic);
                     break;
             }
 
@@ -97,10 +174,25 @@ public class AppPreferenceManager {
         public void saveLocalValuesToPreferences() {
             SharedPreferences.Editor editor = this.sharedPreferences.edit();
             editor.putString(this.algorithmKey, getAlgorithmValue().getClass().getSimpleName());
+            if (getAlgorithmValue() instanceof AutoSearch) {
+                editor.putBoolean(this.fastestSolutionKey, getAlgorithmValue().findsFastestSolutions());
+            }
+            editor.putString(this.heuristicKey, getHeuristicValue().getClass().getSimpleName());
             editor.putInt(this.boardSizeKey, getBoardSizeValue());
             editor.apply();
         }
 
+        /**
+         * @return the 8-puzzle lookup, which is kept between updates so that its database is only loaded once
+         */
+        private EightPuzzleLookup getEightPuzzleLookup() {
+            if (this.eightPuzzleLookup == null) {
+                this.eightPuzzleLookup = new EightPuzzleLookup(
+                        new File(appContext.getNoBackupFilesDir(), "eight_puzzle_database"));
+            }
+            return this.eightPuzzleLookup;
+        }
+
         public SearchMethod<SlidingPuzzleNode> getAlgorithmValue() {
             return this.algorithmValue;
         }
@@ -109,6 +201,30 @@ public class AppPreferenceManager {
             this.algorithmValue = algorithmValue;
         }
 
+        /**
+         * @return makes a new search method with the chosen settings each time, so that each search has one of its own
+         * (a search method's state is only for one search at a time)
+         */
+        public Supplier<SearchMethod<SlidingPuzzleNode>> getAlgorithmFactory() {
+            return this.algorithmFactory;
+        }
+
+        /**
+         * Set the factory of the search methods to search with, and the algorithm value to one it makes
+         */
+        public void setAlgorithmFactory(Supplier<SearchMethod<SlidingPuzzleNode>> algorithmFactory) {
+            this.algorithmFactory = algorithmFactory;
+            setAlgorithmValue(algorithmFactory.get());
+        }
+
+        public Heuristic getHeuristicValue() {
+            return this.heuristicValue;
+        }
+
+        public void setHeuristicValue(Heuristic heuristicValue) {
+            this.heuristicValue = heuristicValue;
+        }
+
         public int getBoardSizeValue() {
             return this.boardSizeValue;
         }
@@ -135,13 +251,22 @@ public class AppPreferenceManager {
         public void updateLocalValuesFromPreferences() {
             this.boardSolutionViewingIndex = this.sharedPreferences.getInt(boardSolutionViewingIndexKey, 0);
             String s = this.sharedPreferences.getString(boardSolutionKey, "");
-            TypeToken<SearchResult<SlidingPuzzleNode>> typeToken = new TypeToken<SearchResult<SlidingPuzzleNode>>() {};
-            this.boardSolutionValue = gson.fromJson(s, typeToken);
+            try {
+                // The solution is saved as its start board and moves, and its boards are only rebuilt when viewed
+                this.boardSolutionValue = s.isEmpty() ? null : CompactSolution.decode(s);
+            } catch (IllegalArgumentException e) {
+                this.boardSolutionValue = null;  // e.g., a solution saved by an older version of the app
+            }
         }
 
         public void saveLocalValuesToPreferences() {
             SharedPreferences.Editor editor = this.sharedPreferences.edit();
-            editor.putString(this.boardSolutionKey, gson.toJson(getBoardSolutionValue()));
+            SearchResult<SlidingPuzzleNode> solution = getBoardSolutionValue();
+            if (solution != null && solution.getSolutionWasFound()) {
+                editor.putString(this.boardSolutionKey, CompactSolution.encode(solution));
+            } else {
+                editor.remove(this.boardSolutionKey);
+            }
             editor.putInt(this.boardSolutionViewingIndexKey, getBoardSolutionViewingIndex());
             editor.apply();
         }
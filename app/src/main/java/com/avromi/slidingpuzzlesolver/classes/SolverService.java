@@ -0,0 +1,282 @@
+package com.avromi.slidingpuzzlesolver.classes;
+
+import android.os.Process;
+
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.classes.SolutionCache;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Heuristic;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the app's searches on threads of its own, at a lower priority than the UI thread, so that a long search neither
+ * makes the UI stutter nor takes up the common pool other background work runs on.
+ * <p>
+ * Requests to solve a board that is already being solved with the same settings share its search, e.g., when solve is
+ * tapped again, or when the activity is recreated while searching (such as when the device is rotated). A search is
+ * only cancelled once every request waiting for it is. The service outlives the activity, so a recreated activity
+ * takes over the request of the one it replaced (see {@link #retain(Request)}), instead of searching again.
+ */
+public class SolverService {
+    /**
+     * The most searches to run at a time. Half of the processors are left for the UI and the rest of the device, and
+     * the parallel search methods start threads of their own anyway.
+     */
+    private static final int THREAD_COUNT = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * How long (in seconds) an idle thread is kept before it ends
+     */
+    private static final long IDLE_THREAD_TIMEOUT_S = 30;
+
+    /**
+     * The limits of each search. The uninformed search methods would otherwise run until the app is closed or runs out
+     * of memory on boards they can't solve, so they stop after a minute, or once they have used half of the heap, and
+     * the closest board found is shown instead.
+     */
+    private static final SearchBudget SEARCH_BUDGET = SearchBudget.UNLIMITED
+            .withTimeLimit(TimeUnit.SECONDS.toMillis(60))
+            .withMaxMemory(Runtime.getRuntime().maxMemory() / 2);
+
+    private static SolverService instance;
+    private final SolutionCache solutionCache;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * The searches that haven't finished or been cancelled yet, by what they search for. Guarded by this service.
+     */
+    private final Map<SearchKey, Search> searches = new HashMap<>();
+
+    /**
+     * The request kept for the next activity, or <code>null</code> if there is none. Guarded by this service.
+     */
+    private Request retainedRequest;
+
+    public static SolverService getInstance(SolutionCache solutionCache) {
+        if (instance == null) {
+            instance = new SolverService(solutionCache);
+        }
+        return instance;
+    }
+
+    private SolverService(SolutionCache solutionCache) {
+        this.solutionCache = solutionCache;
+        this.executor = createExecutor();
+    }
+
+    /**
+     * Start solving the given board, or join the search already solving it with the same settings. A remembered
+     * solution is used instead of searching, if it is as fast as the search method would find.
+     *
+     * @param pieces        the board to solve
+     * @param heuristic     the heuristic to build the board with
+     * @param searchMethods makes the search method to solve it with. Each search gets a new one, since a search method
+     *                      can't run two searches at once (e.g., a cancelled search that is still stopping and a new
+     *                      one).
+     * @return the request, to get the result from or to cancel
+     */
+    public synchronized Request solve(int[][] pieces, Heuristic heuristic,
+                                      Supplier<SearchMethod<SlidingPuzzleNode>> searchMethods) {
+        SearchMethod<SlidingPuzzleNode> searchMethod = searchMethods.get();
+        SearchKey key = new SearchKey(pieces, heuristic, searchMethod);
+        Search search = searches.get(key);
+        if (search == null) {
+            search = startSearch(key, heuristic, searchMethod);
+        }
+        search.waitingRequests++;
+        return new Request(search);
+    }
+
+    /**
+     * Run the given task on the service's threads, e.g., to load a database a search will need.
+     */
+    public CompletableFuture<Void> runInBackground(Runnable task) {
+        return CompletableFuture.runAsync(task, executor);
+    }
+
+    /**
+     * Keep the given request for the next activity to take over (see {@link #takeRetainedRequest()}), e.g., when the
+     * activity that made it is being recreated. A request kept before and not taken is cancelled.
+     */
+    public synchronized void retain(Request request) {
+        if (retainedRequest != null && retainedRequest != request) {
+            retainedRequest.cancel();
+        }
+        retainedRequest = request;
+    }
+
+    /**
+     * @return the request kept by {@link #retain(Request)}, which is no longer kept, or <code>null</code> if there is
+     * none
+     */
+    public synchronized Request takeRetainedRequest() {
+        Request request = retainedRequest;
+        retainedRequest = null;
+        return request;
+    }
+
+    private Search startSearch(SearchKey key, Heuristic heuristic, SearchMethod<SlidingPuzzleNode> searchMethod) {
+        // The board is created in the task too, since calculating its heuristic can be slow the first time (e.g., when
+        // a pattern database still needs to be built)
+        CancellationToken token = new CancellationToken();
+        CompletableFuture<SearchResult<SlidingPuzzleNode>> future = CompletableFuture.supplyAsync(() -> {
+            SlidingPuzzleNode node = new SlidingPuzzleNode(key.getPieces(), heuristic);
+            SearchResult<SlidingPuzzleNode> result = solutionCache.get(node, searchMethod.findsFastestSolutions());
+            if (result == null) {
+                result = searchMethod.search(node, SEARCH_BUDGET, token);
+                solutionCache.put(result, searchMethod.findsFastestSolutions());
+            }
+            return result;
+        }, executor);
+        Search search = new Search(key, token, future);
+        searches.put(key, search);
+        // Added after the search is put, so that it is removed even if it's already done
+        future.whenComplete((result, error) -> removeSearch(search));
+        return search;
+    }
+
+    private synchronized void removeSearch(Search search) {
+        searches.remove(search.key, search);
+    }
+
+    /**
+     * Stops waiting for the given search, and cancels it if no other request is waiting for it.
+     */
+    private synchronized void release(Search search) {
+        search.waitingRequests--;
+        if (search.waitingRequests == 0) {
+            search.token.cancel();
+            // A new request for the same board starts a new search, rather than joining the cancelled one
+            removeSearch(search);
+        }
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(THREAD_COUNT, THREAD_COUNT, IDLE_THREAD_TIMEOUT_S,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(() -> {
+                // Set by the thread itself, since Android only sets the priority of the calling thread
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "Solver-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * A request to solve a board, which may share its search with other requests for the same board.
+     */
+    public class Request {
+        private final Search search;
+        private final CompletableFuture<SearchResult<SlidingPuzzleNode>> result;
+        private final AtomicBoolean isCancelled = new AtomicBoolean(false);
+
+        private Request(Search search) {
+            this.search = search;
+            // A future of its own, so that cancelling it doesn't cancel the future other requests are waiting on
+            this.result = search.future.thenApply(result -> result);
+        }
+
+        /**
+         * @return the result of the search. It completes with a cancellation exception if the request is cancelled.
+         */
+        public CompletableFuture<SearchResult<SlidingPuzzleNode>> getResult() {
+            return result;
+        }
+
+        /**
+         * Stop waiting for the result, and stop the search if no other request is waiting for it.
+         */
+        public void cancel() {
+            if (isCancelled.compareAndSet(false, true)) {
+                result.cancel(false);
+                release(search);
+            }
+        }
+
+        public boolean isCancelled() {
+            return isCancelled.get();
+        }
+    }
+
+    /**
+     * A running search, and the number of requests waiting for it
+     */
+    private static class Search {
+        private final SearchKey key;
+        private final CancellationToken token;
+        private final CompletableFuture<SearchResult<SlidingPuzzleNode>> future;
+        private int waitingRequests = 0;
+
+        private Search(SearchKey key, CancellationToken token,
+                       CompletableFuture<SearchResult<SlidingPuzzleNode>> future) {
+            this.key = key;
+            this.token = token;
+            this.future = future;
+        }
+    }
+
+    /**
+     * What a search searches for: a board, and the settings it's searched with. Search methods and heuristics are
+     * compared by class, since each search has a search method of its own, and the settings make new heuristics each
+     * time the activity starts.
+     */
+    private static class SearchKey {
+        private final int[][] pieces;
+        private final String heuristicName;
+        private final String searchMethodName;
+        private final boolean findsFastestSolutions;
+
+        private SearchKey(int[][] pieces, Heuristic heuristic, SearchMethod<SlidingPuzzleNode> searchMethod) {
+            this.pieces = new int[pieces.length][];
+            for (int i = 0; i < pieces.length; i++) {
+                this.pieces[i] = pieces[i].clone();
+            }
+            this.heuristicName = heuristic.getClass().getName();
+            this.searchMethodName = searchMethod.getClass().getName();
+            this.findsFastestSolutions = searchMethod.findsFastestSolutions();
+        }
+
+        private int[][] getPieces() {
+            return pieces;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SearchKey)) {
+                return false;
+            }
+            SearchKey other = (SearchKey) o;
+            return findsFastestSolutions == other.findsFastestSolutions
+                    && Arrays.deepEquals(pieces, other.pieces)
+                    && heuristicName.equals(other.heuristicName)
+                    && searchMethodName.equals(other.searchMethodName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(Arrays.deepHashCode(pieces), heuristicName, searchMethodName, findsFastestSolutions);
+        }
+    }
+}
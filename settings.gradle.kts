@@ -21,3 +21,4 @@ dependencyResolutionManagement {
 
 rootProject.name = "Sliding Puzzle Solver"
 include(":app")
+include(":solver-core")
@@ -0,0 +1,31 @@
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    // Compile against the Java 8 API too, not just its language level, since older Android versions only have that
+    options.release = 8
+}
+
+tasks.test {
+    // Some tests solve 4x4 boards with A*, which keeps a few million nodes in memory
+    maxHeapSize = "1g"
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    // The searches keep millions of nodes in memory, so give them the same heap on every machine
+    jvmArgs = listOf("-Xms2g", "-Xmx2g")
+    // Run only the matching benchmarks with e.g. -PjmhIncludes=NodeBenchmark
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = listOf(it) }
+}
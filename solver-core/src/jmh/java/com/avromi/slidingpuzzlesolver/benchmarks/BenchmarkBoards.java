@@ -0,0 +1,117 @@
+package com.avromi.slidingpuzzlesolver.benchmarks;
+
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.heuristics.LinearConflict;
+import com.avromi.slidingpuzzlesolver.models.heuristics.ManhattanDistance;
+import com.avromi.slidingpuzzlesolver.models.heuristics.PatternDatabaseHeuristic;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Heuristic;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.AStar;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.AutoSearch;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.BFS;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.BestFirst;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.BidirectionalBFS;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.DFS;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.IDAStar;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.IDDFS;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.ParallelAStar;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.ParallelIDAStar;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.Portfolio;
+
+/**
+ * The fixed boards the benchmarks run on, so that results can be compared between changes, and the search methods and
+ * heuristics they can run with, by class name (the same names the app's settings use).
+ */
+final class BenchmarkBoards {
+    /**
+     * 3x3 boards with fastest solutions of 20 to 24 moves, which every search method can solve.
+     */
+    static final int[][][] BOARDS_3X3 = {
+            {{4, 1, 6}, {3, 9, 7}, {2, 8, 5}},
+            {{1, 2, 5}, {4, 9, 8}, {6, 7, 3}},
+            {{5, 1, 4}, {6, 3, 8}, {7, 2, 9}},
+            {{2, 6, 1}, {7, 8, 5}, {9, 4, 3}},
+    };
+
+    /**
+     * 4x4 boards with fastest solutions of 26 to 28 moves.
+     */
+    static final int[][][] BOARDS_4X4 = {
+            {{3, 6, 11, 4}, {9, 10, 2, 7}, {5, 14, 1, 8}, {13, 16, 15, 12}},
+            {{6, 1, 2, 8}, {13, 7, 4, 3}, {16, 15, 14, 11}, {5, 9, 10, 12}},
+            {{1, 11, 2, 12}, {5, 16, 4, 3}, {9, 10, 7, 8}, {13, 14, 6, 15}},
+            {{1, 10, 2, 4}, {5, 6, 7, 16}, {14, 3, 8, 11}, {9, 15, 13, 12}},
+    };
+
+    /**
+     * 4x4 boards with fastest solutions of 38 to 46 moves, which only the informed search methods can solve in time.
+     */
+    static final int[][][] HARD_BOARDS_4X4 = {
+            {{2, 1, 4, 3}, {8, 16, 7, 15}, {9, 11, 6, 10}, {5, 13, 14, 12}},
+            {{2, 15, 11, 4}, {1, 14, 3, 16}, {5, 13, 12, 7}, {6, 9, 10, 8}},
+            {{10, 5, 16, 4}, {9, 2, 8, 3}, {6, 11, 7, 14}, {13, 12, 15, 1}},
+            {{8, 14, 3, 5}, {2, 16, 7, 4}, {1, 13, 9, 15}, {11, 6, 12, 10}},
+    };
+
+    private BenchmarkBoards() {
+    }
+
+    /**
+     * @param name "3x3", "4x4" or "hard4x4"
+     * @return the boards of the given set
+     */
+    static int[][][] getBoards(String name) {
+        switch (name) {
+            case "3x3":
+                return BOARDS_3X3;
+            case "4x4":
+                return BOARDS_4X4;
+            case "hard4x4":
+                return HARD_BOARDS_4X4;
+            default:
+                throw new IllegalArgumentException(name);
+        }
+    }
+
+    static SearchMethod<SlidingPuzzleNode> createSearchMethod(String name) {
+        switch (name) {
+            case "AStar":
+                return new AStar<>();
+            case "BestFirst":
+                return new BestFirst<>();
+            case "BFS":
+                return new BFS<>();
+            case "DFS":
+                return new DFS<>();
+            case "IDDFS":
+                return new IDDFS<>();
+            case "IDAStar":
+                return new IDAStar();
+            case "BidirectionalBFS":
+                return new BidirectionalBFS<>();
+            case "ParallelAStar":
+                return new ParallelAStar<>();
+            case "ParallelIDAStar":
+                return new ParallelIDAStar();
+            case "Portfolio":
+                return Portfolio.createDefault(false);
+            case "AutoSearch":
+                return new AutoSearch(true);
+            default:
+                throw new IllegalArgumentException(name);
+        }
+    }
+
+    static Heuristic createHeuristic(String name) {
+        switch (name) {
+            case "ManhattanDistance":
+                return new ManhattanDistance();
+            case "LinearConflict":
+                return new LinearConflict();
+            case "PatternDatabaseHeuristic":
+                return new PatternDatabaseHeuristic();
+            default:
+                throw new IllegalArgumentException(name);
+        }
+    }
+}
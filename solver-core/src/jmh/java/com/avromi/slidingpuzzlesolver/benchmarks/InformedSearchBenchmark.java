@@ -0,0 +1,63 @@
+package com.avromi.slidingpuzzlesolver.benchmarks;
+
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.heuristics.PatternDatabaseHeuristic;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Heuristic;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures solving every board of a 4x4 set with each informed search method and heuristic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InformedSearchBenchmark {
+    @Param({"4x4", "hard4x4"})
+    public String boards;
+
+    @Param({"AStar", "BestFirst", "IDAStar", "ParallelAStar", "ParallelIDAStar"})
+    public String searchMethod;
+
+    @Param({"ManhattanDistance", "LinearConflict", "PatternDatabaseHeuristic"})
+    public String heuristic;
+
+    private int[][][] boardPieces;
+    private SearchMethod<SlidingPuzzleNode> method;
+    private Heuristic boardHeuristic;
+
+    @Setup
+    public void setup() {
+        boardPieces = BenchmarkBoards.getBoards(boards);
+        method = BenchmarkBoards.createSearchMethod(searchMethod);
+        boardHeuristic = BenchmarkBoards.createHeuristic(heuristic);
+        if (boardHeuristic instanceof PatternDatabaseHeuristic) {
+            // Building the database is not part of solving
+            ((PatternDatabaseHeuristic) boardHeuristic).prepare(boardPieces[0].length);
+        }
+    }
+
+    @Benchmark
+    public void solve(Blackhole blackhole) {
+        for (int[][] pieces : boardPieces) {
+            blackhole.consume(method.search(new SlidingPuzzleNode(pieces, boardHeuristic)));
+        }
+    }
+}
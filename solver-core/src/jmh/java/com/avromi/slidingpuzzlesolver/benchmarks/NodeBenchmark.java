@@ -0,0 +1,117 @@
+package com.avromi.slidingpuzzlesolver.benchmarks;
+
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Heuristic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the operations the searches run on every node, over each board of a set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodeBenchmark {
+    @Param({"3x3", "4x4"})
+    public String boards;
+
+    @Param({"ManhattanDistance", "LinearConflict"})
+    public String heuristic;
+
+    private int[][][] boardPieces;
+    private Heuristic boardHeuristic;
+    private SlidingPuzzleNode[] nodes;
+
+    /**
+     * Equal to {@link #nodes}, but different objects, so that equals() has to compare them
+     */
+    private SlidingPuzzleNode[] copies;
+
+    @Setup
+    public void setup() {
+        boardPieces = BenchmarkBoards.getBoards(boards);
+        boardHeuristic = BenchmarkBoards.createHeuristic(heuristic);
+        nodes = new SlidingPuzzleNode[boardPieces.length];
+        copies = new SlidingPuzzleNode[boardPieces.length];
+        for (int i = 0; i < boardPieces.length; i++) {
+            nodes[i] = new SlidingPuzzleNode(boardPieces[i], boardHeuristic);
+            copies[i] = new SlidingPuzzleNode(boardPieces[i], boardHeuristic);
+        }
+    }
+
+    @Benchmark
+    public void getNextNodes(Blackhole blackhole) {
+        for (SlidingPuzzleNode node : nodes) {
+            blackhole.consume(node.getNextNodes());
+        }
+    }
+
+    /**
+     * Finds the packed state after each move, which is all the searches need to skip a move to a state already found
+     */
+    @Benchmark
+    public void getPackedStateAfterMove(Blackhole blackhole) {
+        for (SlidingPuzzleNode node : nodes) {
+            for (int move = 0; move < node.getMoveCount(); move++) {
+                blackhole.consume(node.getPackedStateAfterMove(move));
+            }
+        }
+    }
+
+    @Benchmark
+    public void applyMove(Blackhole blackhole) {
+        for (SlidingPuzzleNode node : nodes) {
+            for (int move = 0; move < node.getMoveCount(); move++) {
+                blackhole.consume(node.applyMove(move));
+            }
+        }
+    }
+
+    @Benchmark
+    public void getHValue(Blackhole blackhole) {
+        for (SlidingPuzzleNode node : nodes) {
+            blackhole.consume(node.getHValue());
+        }
+    }
+
+    /**
+     * Constructing a board calculates its heuristic value from scratch, unlike moving from one board to the next.
+     */
+    @Benchmark
+    public void constructBoard(Blackhole blackhole) {
+        for (int[][] pieces : boardPieces) {
+            blackhole.consume(new SlidingPuzzleNode(pieces, boardHeuristic));
+        }
+    }
+
+    @Benchmark
+    public void hashCode(Blackhole blackhole) {
+        for (SlidingPuzzleNode node : nodes) {
+            blackhole.consume(node.hashCode());
+        }
+    }
+
+    @Benchmark
+    public void equals(Blackhole blackhole) {
+        for (int i = 0; i < nodes.length; i++) {
+            blackhole.consume(nodes[i].equals(copies[i]));
+            blackhole.consume(nodes[i].equals(copies[(i + 1) % copies.length]));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.avromi.slidingpuzzlesolver.benchmarks;
+
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Heuristic;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures solving every board of the 3x3 set with each search method. DDFS is left out, since its default depth is
+ * too shallow to solve them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchMethodBenchmark {
+    @Param({"AStar", "BestFirst", "BFS", "DFS", "IDDFS", "IDAStar", "BidirectionalBFS", "ParallelAStar",
+            "ParallelIDAStar", "Portfolio", "AutoSearch"})
+    public String searchMethod;
+
+    @Param({"LinearConflict"})
+    public String heuristic;
+
+    private SearchMethod<SlidingPuzzleNode> method;
+    private Heuristic boardHeuristic;
+
+    @Setup
+    public void setup() {
+        method = BenchmarkBoards.createSearchMethod(searchMethod);
+        boardHeuristic = BenchmarkBoards.createHeuristic(heuristic);
+    }
+
+    @Benchmark
+    public void solve(Blackhole blackhole) {
+        for (int[][] pieces : BenchmarkBoards.BOARDS_3X3) {
+            blackhole.consume(method.search(new SlidingPuzzleNode(pieces, boardHeuristic)));
+        }
+    }
+}
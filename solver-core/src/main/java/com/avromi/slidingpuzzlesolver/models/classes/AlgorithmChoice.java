@@ -0,0 +1,33 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+/**
+ * The search method a search method that chooses between others (such as
+ * {@link com.avromi.slidingpuzzlesolver.models.searchmethods.AutoSearch}) ran for a board, and why it was chosen. It is
+ * reported with the result (see {@link SearchResult#getAlgorithmChoice()}).
+ */
+public final class AlgorithmChoice {
+    private final String searchMethodName;
+    private final String reason;
+
+    /**
+     * @param searchMethodName the display name of the search method chosen, e.g., "A*"
+     * @param reason           why it was chosen, as a sentence to show to the user
+     */
+    public AlgorithmChoice(String searchMethodName, String reason) {
+        this.searchMethodName = searchMethodName;
+        this.reason = reason;
+    }
+
+    public String getSearchMethodName() {
+        return searchMethodName;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return searchMethodName + ": " + reason;
+    }
+}
@@ -0,0 +1,278 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import java.util.Arrays;
+
+/**
+ * Tables of everything about a board size that the searches and heuristics would otherwise calculate for every board:
+ * the moves from each position of the empty piece, the row and column of each position and of each piece's goal
+ * position, and the manhattan distance of each piece from each position. Dividing and bounds checking are replaced by
+ * array lookups.
+ * <p>
+ * Saved and cached solutions store each move as the direction the empty piece moves in, which takes
+ * {@link #BITS_PER_DIRECTION} bits: 0 for up, 1 for right, 2 for down, and 3 for left. The tables convert between
+ * moves and directions too (see {@link #findDirection(int[], int, int)} and {@link #move(int[], int, int)}).
+ * <p>
+ * The tables are built once per board size, by {@link #forSize(int)}, and shared by all boards of that size. Building
+ * them for a 5x5 board takes under a millisecond, but it can still be done ahead of time, e.g., when the board size is
+ * changed in the settings.
+ */
+public final class BoardTables {
+    /**
+     * The number of bits a direction is stored in
+     */
+    public static final int BITS_PER_DIRECTION = 2;
+
+    /**
+     * The directions of all possible moves of the empty piece by one unit, namely: up, right, down, and left.
+     * The first item in each direction is the vertical differential, and the second is the horizontal. The index of a
+     * direction is its code.
+     */
+    private static final int[][] DIRECTIONS = new int[][]{
+            {-1, 0},
+            {0, 1},
+            {1, 0},
+            {0, -1}
+    };
+
+    /**
+     * The tables of each board size built so far, indexed by board size
+     */
+    private static volatile BoardTables[] tables = new BoardTables[0];
+
+    /**
+     * The largest board size to build the table of distance changes for. The table grows with the number of positions
+     * cubed, e.g., to 266KB for an 8x8 board, so larger boards calculate the changes from the distances instead.
+     */
+    private static final int MAX_DISTANCE_CHANGES_BOARD_SIZE = 8;
+
+    private final int boardSize;
+    private final int positionCount;
+
+    /**
+     * The positions of the pieces that can be moved into the empty space, indexed by the position of the empty space
+     */
+    private final int[][] moves;
+
+    /**
+     * The position the empty piece moves to in each direction from each position, or -1 if it would move off the
+     * board, indexed by [position][direction]
+     */
+    private final int[] neighbors;
+
+    /**
+     * The row and column of each position
+     */
+    private final int[] rows;
+    private final int[] columns;
+
+    /**
+     * The row and column of each piece's goal position, indexed by piece number (so index 0 is unused)
+     */
+    private final int[] goalRows;
+    private final int[] goalColumns;
+
+    /**
+     * The manhattan distance of each piece from its goal position, indexed by [piece number][position]
+     */
+    private final byte[] distances;
+
+    /**
+     * The change in a piece's manhattan distance when it is moved, indexed by [piece number][from position][to position],
+     * or <code>null</code> if the board is too large
+     */
+    private final byte[] distanceChanges;
+
+    private BoardTables(int boardSize) {
+        this.boardSize = boardSize;
+        this.positionCount = boardSize * boardSize;
+
+        this.moves = new int[positionCount][];
+        this.neighbors = new int[positionCount * DIRECTIONS.length];
+        this.rows = new int[positionCount];
+        this.columns = new int[positionCount];
+        for (int index = 0; index < positionCount; index++) {
+            rows[index] = index / boardSize;
+            columns[index] = index % boardSize;
+
+            int[] positionMoves = new int[DIRECTIONS.length];
+            int moveCount = 0;
+            for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+                int row = rows[index] + DIRECTIONS[direction][0];
+                int column = columns[index] + DIRECTIONS[direction][1];
+                int neighbor = -1;
+                if (row >= 0 && column >= 0 && row < boardSize && column < boardSize) {
+                    neighbor = row * boardSize + column;
+                    positionMoves[moveCount++] = neighbor;
+                }
+                neighbors[index * DIRECTIONS.length + direction] = neighbor;
+            }
+            moves[index] = Arrays.copyOf(positionMoves, moveCount);
+        }
+
+        this.goalRows = new int[positionCount + 1];
+        this.goalColumns = new int[positionCount + 1];
+        this.distances = new byte[(positionCount + 1) * positionCount];
+        for (int piece = 1; piece <= positionCount; piece++) {
+            goalRows[piece] = rows[piece - 1];
+            goalColumns[piece] = columns[piece - 1];
+            for (int index = 0; index < positionCount; index++) {
+                distances[piece * positionCount + index] = (byte) (Math.abs(rows[index] - goalRows[piece])
+                        + Math.abs(columns[index] - goalColumns[piece]));
+            }
+        }
+
+        if (boardSize > MAX_DISTANCE_CHANGES_BOARD_SIZE) {
+            this.distanceChanges = null;
+            return;
+        }
+        this.distanceChanges = new byte[(positionCount + 1) * positionCount * positionCount];
+        for (int piece = 1; piece <= positionCount; piece++) {
+            for (int from = 0; from < positionCount; from++) {
+                for (int to = 0; to < positionCount; to++) {
+                    distanceChanges[(piece * positionCount + from) * positionCount + to] =
+                            (byte) (getDistance(piece, to) - getDistance(piece, from));
+                }
+            }
+        }
+    }
+
+    /**
+     * @param boardSize the number of rows/columns in the board
+     * @return the tables for the given board size, which are built the first time they are needed
+     */
+    public static BoardTables forSize(int boardSize) {
+        BoardTables[] currentTables = tables;
+        if (boardSize < currentTables.length && currentTables[boardSize] != null) {
+            return currentTables[boardSize];
+        }
+        synchronized (BoardTables.class) {
+            currentTables = tables;
+            if (boardSize < currentTables.length && currentTables[boardSize] != null) {
+                return currentTables[boardSize];
+            }
+            BoardTables newTables = new BoardTables(boardSize);
+            currentTables = Arrays.copyOf(currentTables, Math.max(currentTables.length, boardSize + 1));
+            currentTables[boardSize] = newTables;
+            tables = currentTables;
+            return newTables;
+        }
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    /**
+     * @param emptyPieceIndex the position of the empty piece
+     * @return the positions of the pieces that can be moved into the empty space, in the order: above, right, below,
+     * and left. The array must not be changed.
+     */
+    public int[] getMoves(int emptyPieceIndex) {
+        return moves[emptyPieceIndex];
+    }
+
+    /**
+     * @return the position the empty piece moves to from the given position in the given direction, or -1 if it would
+     * move off the board
+     */
+    public int getNeighbor(int emptyPieceIndex, int direction) {
+        return neighbors[emptyPieceIndex * DIRECTIONS.length + direction];
+    }
+
+    /**
+     * @param pieces          the pieces on the board, in order from top-left to bottom-right
+     * @param emptyPieceIndex the position of the empty piece
+     * @param movedPiece      the piece moved into the empty space
+     * @return the direction the empty piece moves in when the given piece is moved into it
+     * @throws IllegalArgumentException if the given piece isn't next to the empty piece
+     */
+    public int findDirection(int[] pieces, int emptyPieceIndex, int movedPiece) {
+        for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+            int neighbor = getNeighbor(emptyPieceIndex, direction);
+            if (neighbor != -1 && pieces[neighbor] == movedPiece) {
+                return direction;
+            }
+        }
+        throw new IllegalArgumentException("Piece " + movedPiece + " can't be moved");
+    }
+
+    /**
+     * Moves the empty piece in the given direction, by swapping it with the piece there.
+     *
+     * @param pieces          the pieces on the board, in order from top-left to bottom-right, which are changed
+     * @param emptyPieceIndex the position of the empty piece
+     * @param direction       the direction to move the empty piece in
+     * @return the new position of the empty piece
+     * @throws IllegalArgumentException if the empty piece can't move in the given direction
+     */
+    public int move(int[] pieces, int emptyPieceIndex, int direction) {
+        int pieceIndex = getNeighbor(emptyPieceIndex, direction);
+        if (pieceIndex == -1) {
+            throw new IllegalArgumentException("The empty piece can't move off the board");
+        }
+        pieces[emptyPieceIndex] = pieces[pieceIndex];
+        pieces[pieceIndex] = positionCount;
+        return pieceIndex;
+    }
+
+    /**
+     * @return the given direction on the board's mirror image across its top-left to bottom-right diagonal, where up
+     * and left swap, and right and down swap
+     */
+    public static int getMirroredDirection(int direction) {
+        return DIRECTIONS.length - 1 - direction;
+    }
+
+    /**
+     * @param pieces the pieces on a board, in order from top-left to bottom-right
+     * @return the position of the given piece
+     * @throws IllegalArgumentException if the piece isn't on the board
+     */
+    public static int indexOf(int[] pieces, int piece) {
+        for (int i = 0; i < pieces.length; i++) {
+            if (pieces[i] == piece) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Piece " + piece + " isn't on the board");
+    }
+
+    public int getRow(int index) {
+        return rows[index];
+    }
+
+    public int getColumn(int index) {
+        return columns[index];
+    }
+
+    /**
+     * @return the row the given piece belongs in on a solved board
+     */
+    public int getGoalRow(int piece) {
+        return goalRows[piece];
+    }
+
+    /**
+     * @return the column the given piece belongs in on a solved board
+     */
+    public int getGoalColumn(int piece) {
+        return goalColumns[piece];
+    }
+
+    /**
+     * @return the manhattan distance of the given piece at the given position from its goal position
+     */
+    public int getDistance(int piece, int index) {
+        return distances[piece * positionCount + index];
+    }
+
+    /**
+     * @return how much the manhattan distance of the given piece changes when it moves between the given positions
+     */
+    public int getDistanceChange(int piece, int fromIndex, int toIndex) {
+        if (distanceChanges == null) {
+            return getDistance(piece, toIndex) - getDistance(piece, fromIndex);
+        }
+        return distanceChanges[(piece * positionCount + fromIndex) * positionCount + toIndex];
+    }
+}
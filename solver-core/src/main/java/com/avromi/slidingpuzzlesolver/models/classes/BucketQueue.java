@@ -0,0 +1,196 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * A priority queue for nodes whose priorities are small non-negative integers, such as F-values and H-values. Nodes are
+ * kept in a bucket per priority, and within each bucket in a stack per tie-breaking value, so adding and removing a node
+ * take constant time (plus skipping over empty buckets), instead of the logarithmic time of a
+ * {@link java.util.PriorityQueue}. Each node's priority is also only calculated once, when it is added.
+ * <p>
+ * Nodes are removed lowest priority first. Among nodes with the same priority, nodes with the highest tie-breaking
+ * value are removed first, and among those, the last added is removed first.
+ *
+ * @param <T> the puzzle type (an implementation of Node)
+ */
+public class BucketQueue<T extends Node> extends AbstractQueue<T> {
+    private final ToIntFunction<? super T> priority;
+    private final ToIntFunction<? super T> tieBreak;
+
+    /**
+     * The bucket for each priority, or <code>null</code> for priorities that were never used
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})  // arrays can only be created without their type arguments
+    private Bucket<T>[] buckets = new Bucket[64];
+
+    /**
+     * No bucket before this one has any nodes
+     */
+    private int lowestPriority = 0;
+
+    private int size = 0;
+
+    /**
+     * Construct a bucket queue.
+     *
+     * @param priority the priority of a node, where lower priorities are removed first
+     * @param tieBreak the tie-breaking value of a node, where higher values are removed first among nodes with the same
+     *                 priority
+     */
+    public BucketQueue(ToIntFunction<? super T> priority, ToIntFunction<? super T> tieBreak) {
+        this.priority = priority;
+        this.tieBreak = tieBreak;
+    }
+
+    /**
+     * @return a queue that removes the lowest F-value first, and prefers the deepest nodes (highest G-value) among
+     * those, which are the closest to a solution, so that the search can finish its last F-value early
+     */
+    public static <T extends Node> BucketQueue<T> byFValue() {
+        return new BucketQueue<>(Node::getFValue, Node::getGValue);
+    }
+
+    /**
+     * @return a queue that removes the lowest H-value first, and prefers the deepest nodes (highest G-value) among those
+     */
+    public static <T extends Node> BucketQueue<T> byHValue() {
+        return new BucketQueue<>(Node::getHValue, Node::getGValue);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the priority or tie-breaking value of the node is negative
+     */
+    @Override
+    public boolean offer(T node) {
+        int nodePriority = priority.applyAsInt(node);
+        int nodeTieBreak = tieBreak.applyAsInt(node);
+        if (nodePriority < 0 || nodeTieBreak < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (nodePriority >= buckets.length) {
+            buckets = Arrays.copyOf(buckets, Math.max(buckets.length * 2, nodePriority + 1));
+        }
+        if (buckets[nodePriority] == null) {
+            buckets[nodePriority] = new Bucket<>();
+        }
+        buckets[nodePriority].push(nodeTieBreak, node);
+        if (nodePriority < lowestPriority) {
+            lowestPriority = nodePriority;
+        }
+        size++;
+        return true;
+    }
+
+    @Override
+    public T poll() {
+        if (size == 0) {
+            return null;
+        }
+        size--;
+        return findLowestBucket().pop();
+    }
+
+    @Override
+    public T peek() {
+        if (size == 0) {
+            return null;
+        }
+        return findLowestBucket().peek();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(buckets, null);
+        lowestPriority = 0;
+        size = 0;
+    }
+
+    /**
+     * @return an iterator over the nodes in the queue, which are not in priority order
+     */
+    @Override
+    public Iterator<T> iterator() {
+        List<T> nodes = new ArrayList<>(size);
+        for (Bucket<T> bucket : buckets) {
+            if (bucket != null) {
+                bucket.addAllTo(nodes);
+            }
+        }
+        return nodes.iterator();
+    }
+
+    /**
+     * @return the non-empty bucket with the lowest priority. Only valid if the queue isn't empty.
+     */
+    private Bucket<T> findLowestBucket() {
+        while (buckets[lowestPriority] == null || buckets[lowestPriority].isEmpty()) {
+            lowestPriority++;
+        }
+        return buckets[lowestPriority];
+    }
+
+    /**
+     * The nodes with one priority, in a stack per tie-breaking value.
+     */
+    private static final class Bucket<T> {
+        @SuppressWarnings({"unchecked", "rawtypes"})  // as with the buckets
+        private ArrayList<T>[] stacks = new ArrayList[16];
+
+        /**
+         * No stack after this one has any nodes, or -1 if the bucket is empty
+         */
+        private int highestTieBreak = -1;
+
+        void push(int tieBreak, T node) {
+            if (tieBreak >= stacks.length) {
+                stacks = Arrays.copyOf(stacks, Math.max(stacks.length * 2, tieBreak + 1));
+            }
+            if (stacks[tieBreak] == null) {
+                stacks[tieBreak] = new ArrayList<>();
+            }
+            stacks[tieBreak].add(node);
+            if (tieBreak > highestTieBreak) {
+                highestTieBreak = tieBreak;
+            }
+        }
+
+        T pop() {
+            ArrayList<T> stack = stacks[highestTieBreak];
+            T node = stack.remove(stack.size() - 1);
+            // Move down to the next non-empty stack, if this one is now empty
+            while (highestTieBreak >= 0 && (stacks[highestTieBreak] == null || stacks[highestTieBreak].isEmpty())) {
+                highestTieBreak--;
+            }
+            return node;
+        }
+
+        T peek() {
+            ArrayList<T> stack = stacks[highestTieBreak];
+            return stack.get(stack.size() - 1);
+        }
+
+        boolean isEmpty() {
+            return highestTieBreak == -1;
+        }
+
+        void addAllTo(List<T> nodes) {
+            for (ArrayList<T> stack : stacks) {
+                if (stack != null) {
+                    nodes.addAll(stack);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+
+/**
+ * Cancels a search, from any thread. Unlike {@link SearchMethod#terminate()}, a token can be cancelled before its
+ * search has started, in which case the search stops as soon as it starts. A token is checked with a single volatile
+ * read, so searches check it often.
+ */
+public final class CancellationToken {
+    private volatile boolean cancelled = false;
+
+    /**
+     * Cancel the search (or searches) given this token. A cancelled search returns a result with the outcome
+     * {@link SearchResult.Outcome#CANCELLED}.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,65 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+
+/**
+ * Keeps track of the node closest to a solution that a search has expanded so far, i.e., the one with the lowest
+ * heuristic value. If the search stops without a solution, the path to this node is returned as a partial result (see
+ * {@link SearchResult#getPartialPath()}), so the work done isn't thrown away.
+ * <p>
+ * Of nodes with the same heuristic value, the first one offered is kept. Searches that store their nodes in a
+ * {@link NodeArena} offer the nodes' indices instead.
+ *
+ * @param <T> the puzzle type (an implementation of Node)
+ */
+public final class ClosestNodeTracker<T extends Node> {
+    /**
+     * The index kept when no index was offered
+     */
+    public static final int NO_INDEX = -1;
+
+    private T node;
+    private int index = NO_INDEX;
+    private int hValue = Integer.MAX_VALUE;
+
+    /**
+     * Keeps the given node if it's closer to a solution than the closest node so far.
+     */
+    public void offer(T node) {
+        if (node.getHValue() < this.hValue) {
+            this.hValue = node.getHValue();
+            this.node = node;
+        }
+    }
+
+    /**
+     * Keeps the node at the given index of an arena if it's closer to a solution than the closest node so far.
+     */
+    public void offer(int index, int hValue) {
+        if (hValue < this.hValue) {
+            this.hValue = hValue;
+            this.index = index;
+        }
+    }
+
+    /**
+     * @return the closest node offered, or <code>null</code> if no node was offered
+     */
+    public T getNode() {
+        return node;
+    }
+
+    /**
+     * @return the arena index of the closest node offered, or {@link #NO_INDEX} if no index was offered
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the heuristic value of the closest node offered, or {@link Integer#MAX_VALUE} if none was offered
+     */
+    public int getHValue() {
+        return hValue;
+    }
+}
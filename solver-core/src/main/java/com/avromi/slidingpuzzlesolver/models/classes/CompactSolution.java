@@ -0,0 +1,100 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+/**
+ * Converts solutions to and from a compact text form for saving, made up of the start board and the moves of the
+ * solution. Each move is stored as the direction the empty piece moves in, which takes 2 bits, so a hex digit holds 2
+ * moves. For example, an 80-move solution of a 4x4 board is saved in under 100 characters, e.g.:
+ * <pre>
+ * 4:5,1,2,4,9,6,3,8,13,10,7,11,14,15,12,16:12:f305a9
+ * </pre>
+ * which is the board size, the pieces of the start board, the number of moves and the moves.
+ */
+public final class CompactSolution {
+    private static final String SEPARATOR = ":";
+    private static final String PIECE_SEPARATOR = ",";
+
+    private static final int BITS_PER_MOVE = BoardTables.BITS_PER_DIRECTION;
+    private static final int MOVES_PER_DIGIT = 4 / BITS_PER_MOVE;
+
+    private CompactSolution() {
+    }
+
+    /**
+     * @param result a search result with a solution
+     * @return the solution in compact text form
+     * @throws IllegalArgumentException if the result doesn't have a solution
+     */
+    public static String encode(SearchResult<SlidingPuzzleNode> result) {
+        if (!result.getSolutionWasFound()) {
+            throw new IllegalArgumentException("Only solutions can be encoded");
+        }
+        int[] pieces = result.getStartNode().getFlatPieces();
+        int boardSize = (int) Math.sqrt(pieces.length);
+        BoardTables tables = BoardTables.forSize(boardSize);
+        StringBuilder text = new StringBuilder().append(boardSize).append(SEPARATOR);
+        for (int i = 0; i < pieces.length; i++) {
+            text.append(pieces[i]).append(i < pieces.length - 1 ? PIECE_SEPARATOR : SEPARATOR);
+        }
+
+        int[] movedPieces = result.getMovedPieces();
+        text.append(movedPieces.length).append(SEPARATOR);
+        int emptyPieceIndex = BoardTables.indexOf(pieces, SlidingPuzzleNode.getEmptyPieceNumber(boardSize));
+        int digit = 0;
+        for (int i = 0; i < movedPieces.length; i++) {
+            int direction = tables.findDirection(pieces, emptyPieceIndex, movedPieces[i]);
+            emptyPieceIndex = tables.move(pieces, emptyPieceIndex, direction);
+            digit |= direction << (i % MOVES_PER_DIGIT * BITS_PER_MOVE);
+            if (i % MOVES_PER_DIGIT == MOVES_PER_DIGIT - 1 || i == movedPieces.length - 1) {
+                text.append(Character.forDigit(digit, 16));
+                digit = 0;
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Reads a solution from its compact text form. Only the start board is created here; the boards of the solution
+     * path are only created when the path is first needed.
+     *
+     * @param text the solution in compact text form (see {@link #encode(SearchResult)})
+     * @return a search result with the solution
+     * @throws IllegalArgumentException if the text isn't a valid solution
+     */
+    public static SearchResult<SlidingPuzzleNode> decode(String text) {
+        String[] parts = text.split(SEPARATOR, -1);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Not a saved solution: " + text);
+        }
+        int boardSize = Integer.parseInt(parts[0]);
+        String[] pieceTexts = parts[1].split(PIECE_SEPARATOR);
+        if (boardSize < 1 || pieceTexts.length != boardSize * boardSize) {
+            throw new IllegalArgumentException("Not a saved solution: " + text);
+        }
+        int[] pieces = new int[pieceTexts.length];
+        int[][] board = new int[boardSize][boardSize];
+        for (int i = 0; i < pieces.length; i++) {
+            pieces[i] = Integer.parseInt(pieceTexts[i]);
+            board[i / boardSize][i % boardSize] = pieces[i];
+        }
+        SlidingPuzzleNode start = new SlidingPuzzleNode(board);
+        BoardTables tables = BoardTables.forSize(boardSize);
+
+        int[] movedPieces = new int[Integer.parseInt(parts[2])];
+        String moves = parts[3];
+        if (moves.length() != (movedPieces.length + MOVES_PER_DIGIT - 1) / MOVES_PER_DIGIT) {
+            throw new IllegalArgumentException("Not a saved solution: " + text);
+        }
+        int emptyPieceIndex = BoardTables.indexOf(pieces, SlidingPuzzleNode.getEmptyPieceNumber(boardSize));
+        for (int i = 0; i < movedPieces.length; i++) {
+            int digit = Character.digit(moves.charAt(i / MOVES_PER_DIGIT), 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Not a saved solution: " + text);
+            }
+            int direction = (digit >>> (i % MOVES_PER_DIGIT * BITS_PER_MOVE)) & ((1 << BITS_PER_MOVE) - 1);
+            int pieceIndex = tables.move(pieces, emptyPieceIndex, direction);
+            movedPieces[i] = pieces[emptyPieceIndex];
+            emptyPieceIndex = pieceIndex;
+        }
+        return new SearchResult<>(start, movedPieces);
+    }
+}
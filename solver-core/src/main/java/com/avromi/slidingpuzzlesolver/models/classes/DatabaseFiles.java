@@ -0,0 +1,67 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Loads databases that are slow to build (e.g., pattern databases) from a saved file, or builds them and saves them for
+ * next time. A file is only ever saved in full, so a search never loads a partly written database.
+ */
+public final class DatabaseFiles {
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    /**
+     * Reads a database from a file
+     */
+    public interface Reader<T> {
+        T read(File file) throws IOException;
+    }
+
+    /**
+     * Writes a database to a file
+     */
+    public interface Writer<T> {
+        void write(T database, File file) throws IOException;
+    }
+
+    private DatabaseFiles() {
+    }
+
+    /**
+     * Loads the database from the given file if there is one, otherwise builds it and saves it to the file. The file is
+     * built again if it can't be read, and the built database is still returned if it can't be saved, since saving is
+     * only an optimization for next time.
+     *
+     * @param file    the file the database is saved in, or <code>null</code> to keep it in memory only
+     * @param reader  reads the database from the file
+     * @param builder builds the database
+     * @param writer  writes the database to the file
+     * @return the database
+     */
+    public static <T> T loadOrBuild(File file, Reader<T> reader, Supplier<T> builder, Writer<T> writer) {
+        if (file != null && file.exists()) {
+            try {
+                return reader.read(file);
+            } catch (IOException e) {
+                // The file is unusable, so it is built again below
+            }
+        }
+
+        T database = builder.get();
+        File directory = file != null ? file.getAbsoluteFile().getParentFile() : null;
+        if (directory != null && (directory.isDirectory() || directory.mkdirs())) {
+            // Save to a temporary file first, so that a partly written file is never loaded
+            File temporaryFile = new File(directory, file.getName() + TEMPORARY_FILE_SUFFIX);
+            try {
+                writer.write(database, temporaryFile);
+                if (!temporaryFile.renameTo(file)) {
+                    temporaryFile.delete();
+                }
+            } catch (IOException e) {
+                temporaryFile.delete();
+            }
+        }
+        return database;
+    }
+}
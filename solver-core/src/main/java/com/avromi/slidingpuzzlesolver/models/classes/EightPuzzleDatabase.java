@@ -0,0 +1,246 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The distance of every 3x3 board from the solved board. There are only 9! = 362,880 ways to place the pieces on a 3x3
+ * board, so each board is given a unique index by ranking its pieces as a permutation, and its distance is stored in 4
+ * bits at that index, in a 181KB table built by one breadth-first search backwards from the solved board.
+ * <p>
+ * Distances on a 3x3 board go up to 31, so each entry holds the distance modulo 15, and 15 marks the boards that can't be
+ * solved. A move always changes the distance by exactly 1, so the distance modulo 15 is still enough to tell which
+ * moves lead closer to the solution: following them from any board finds a fastest solution in microseconds.
+ */
+public class EightPuzzleDatabase {
+    /**
+     * Identifies an 8-puzzle database file.
+     */
+    private static final int FILE_MAGIC_NUMBER = 0x38504431;  // "8PD1"
+
+    public static final int BOARD_SIZE = 3;
+
+    private static final int POSITION_COUNT = BOARD_SIZE * BOARD_SIZE;
+
+    /**
+     * The number of ways to place the pieces on the board, i.e., 9!
+     */
+    private static final int STATE_COUNT = 362880;
+
+    /**
+     * The value of a table entry for a board that can't be solved
+     */
+    private static final int UNREACHABLE = 15;
+
+    /**
+     * The distances are stored modulo this number
+     */
+    private static final int DISTANCE_MODULUS = 15;
+
+    /**
+     * n! for n from 0 to 8, the place values of the ranks
+     */
+    private static final int[] FACTORIALS = {1, 1, 2, 6, 24, 120, 720, 5040, 40320};
+
+    /**
+     * The distance of each board modulo {@link #DISTANCE_MODULUS}, 4 bits each, indexed by rank
+     */
+    private final byte[] distances;
+
+    private EightPuzzleDatabase(byte[] distances) {
+        this.distances = distances;
+    }
+
+    /**
+     * Builds the database with a breadth-first search backwards from the solved board. This takes well under a second.
+     */
+    public static EightPuzzleDatabase build() {
+        byte[] distances = new byte[STATE_COUNT / 2];
+        Arrays.fill(distances, (byte) 0xFF);
+        EightPuzzleDatabase database = new EightPuzzleDatabase(distances);
+
+        // The boards of the search in order, which is also the queue of boards to expand. Half of all boards can be
+        // solved.
+        int[] queue = new int[STATE_COUNT / 2];
+        int queueSize = 0;
+        int[] pieces = new int[POSITION_COUNT];
+        int[] solved = new int[POSITION_COUNT];
+        for (int i = 0; i < POSITION_COUNT; i++) {
+            solved[i] = i + 1;
+        }
+        queue[queueSize++] = rank(solved);
+        database.setDistance(queue[0], 0);
+
+        BoardTables tables = BoardTables.forSize(BOARD_SIZE);
+        for (int head = 0; head < queueSize; head++) {
+            int state = queue[head];
+            int nextDistance = (database.getStoredDistance(state) + 1) % DISTANCE_MODULUS;
+            unrank(state, pieces);
+            int emptyPieceIndex = BoardTables.indexOf(pieces, POSITION_COUNT);
+            for (int pieceIndex : tables.getMoves(emptyPieceIndex)) {
+                swap(pieces, emptyPieceIndex, pieceIndex);
+                int nextState = rank(pieces);
+                if (database.getStoredDistance(nextState) == UNREACHABLE) {
+                    database.setDistance(nextState, nextDistance);
+                    queue[queueSize++] = nextState;
+                }
+                swap(pieces, emptyPieceIndex, pieceIndex);
+            }
+        }
+        return database;
+    }
+
+    /**
+     * Loads a database from a file saved with {@link #save(File)}.
+     *
+     * @throws IOException if the file can't be read or isn't an 8-puzzle database
+     */
+    public static EightPuzzleDatabase load(File file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != FILE_MAGIC_NUMBER) {
+                throw new IOException("Not an 8-puzzle database: " + file);
+            }
+            byte[] distances = new byte[STATE_COUNT / 2];
+            input.readFully(distances);
+            return new EightPuzzleDatabase(distances);
+        }
+    }
+
+    /**
+     * Saves this database to the given file, so that it can be loaded with {@link #load(File)}.
+     */
+    public void save(File file) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(FILE_MAGIC_NUMBER);
+            output.write(distances);
+        }
+    }
+
+    /**
+     * @param pieces the pieces on a 3x3 board, in order from top-left to bottom-right
+     * @return <code>true</code> if the board can be solved; otherwise <code>false</code>
+     */
+    public boolean isSolvable(int[] pieces) {
+        return getStoredDistance(rank(pieces)) != UNREACHABLE;
+    }
+
+    /**
+     * Finds the moves of a fastest solution, by repeatedly making a move to a board one move closer to the solution.
+     *
+     * @param pieces the pieces on a 3x3 board, in order from top-left to bottom-right. This array isn't changed.
+     * @return the pieces moved to get to the solution, in order, or <code>null</code> if the board can't be solved
+     */
+    public int[] getSolutionMoves(int[] pieces) {
+        if (pieces.length != POSITION_COUNT) {
+            throw new IllegalArgumentException();
+        }
+        int[] board = pieces.clone();
+        int storedDistance = getStoredDistance(rank(board));
+        if (storedDistance == UNREACHABLE) {
+            return null;
+        }
+
+        BoardTables tables = BoardTables.forSize(BOARD_SIZE);
+        int[] movedPieces = new int[32];
+        int moveCount = 0;
+        int emptyPieceIndex = BoardTables.indexOf(board, POSITION_COUNT);
+        while (storedDistance != 0 || !isSolved(board)) {
+            int closerDistance = (storedDistance + DISTANCE_MODULUS - 1) % DISTANCE_MODULUS;
+            for (int pieceIndex : tables.getMoves(emptyPieceIndex)) {
+                swap(board, emptyPieceIndex, pieceIndex);
+                if (getStoredDistance(rank(board)) == closerDistance) {
+                    if (moveCount == movedPieces.length) {
+                        movedPieces = Arrays.copyOf(movedPieces, moveCount * 2);
+                    }
+                    movedPieces[moveCount++] = board[emptyPieceIndex];
+                    emptyPieceIndex = pieceIndex;
+                    storedDistance = closerDistance;
+                    break;
+                }
+                swap(board, emptyPieceIndex, pieceIndex);
+            }
+        }
+        return Arrays.copyOf(movedPieces, moveCount);
+    }
+
+    /**
+     * @param pieces the pieces on a 3x3 board, in order from top-left to bottom-right
+     * @return the number of moves of a fastest solution, or -1 if the board can't be solved
+     */
+    public int getDistance(int[] pieces) {
+        int[] moves = getSolutionMoves(pieces);
+        return moves != null ? moves.length : -1;
+    }
+
+    /**
+     * Ranks the pieces of a 3x3 board as a permutation into a unique index between 0 and 9! - 1. Each piece is counted
+     * among the pieces not placed before it (its Lehmer code digit), which gives a factorial-base number.
+     *
+     * @param pieces the pieces on the board, in order from top-left to bottom-right
+     * @return the rank of the board
+     */
+    public static int rank(int[] pieces) {
+        int rank = 0;
+        int placedPieces = 0;
+        for (int i = 0; i < POSITION_COUNT - 1; i++) {
+            int piece = pieces[i] - 1;
+            int smallerUnplacedPieces = piece - Integer.bitCount(placedPieces & ((1 << piece) - 1));
+            rank += smallerUnplacedPieces * FACTORIALS[POSITION_COUNT - 1 - i];
+            placedPieces |= 1 << piece;
+        }
+        return rank;
+    }
+
+    /**
+     * The reverse of {@link #rank(int[])}.
+     *
+     * @param rank   the rank of a board
+     * @param pieces the array to write the pieces of the board into
+     */
+    static void unrank(int rank, int[] pieces) {
+        int placedPieces = 0;
+        for (int i = 0; i < POSITION_COUNT; i++) {
+            int smallerUnplacedPieces = rank / FACTORIALS[POSITION_COUNT - 1 - i];
+            rank %= FACTORIALS[POSITION_COUNT - 1 - i];
+            int piece = -1;
+            for (int unplaced = smallerUnplacedPieces; unplaced >= 0; unplaced--) {
+                do {
+                    piece++;
+                } while ((placedPieces & (1 << piece)) != 0);
+            }
+            pieces[i] = piece + 1;
+            placedPieces |= 1 << piece;
+        }
+    }
+
+    private int getStoredDistance(int rank) {
+        return (distances[rank >>> 1] >>> ((rank & 1) * 4)) & 0xF;
+    }
+
+    private void setDistance(int rank, int storedDistance) {
+        int shift = (rank & 1) * 4;
+        distances[rank >>> 1] = (byte) ((distances[rank >>> 1] & ~(0xF << shift)) | (storedDistance << shift));
+    }
+
+    private static boolean isSolved(int[] pieces) {
+        for (int i = 0; i < pieces.length; i++) {
+            if (pieces[i] != i + 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void swap(int[] pieces, int first, int second) {
+        int piece = pieces[first];
+        pieces[first] = pieces[second];
+        pieces[second] = piece;
+    }
+}
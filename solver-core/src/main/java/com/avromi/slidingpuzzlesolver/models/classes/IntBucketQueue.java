@@ -0,0 +1,121 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import java.util.Arrays;
+
+/**
+ * A {@link BucketQueue} of int values, such as the indices of nodes in a {@link NodeArena}. The values are kept in
+ * arrays of primitives, so each value takes up 4 bytes, and the priority and tie-breaking value of each are given
+ * when it is added instead of being calculated from it.
+ * <p>
+ * Values are removed lowest priority first. Among values with the same priority, values with the highest tie-breaking
+ * value are removed first, and among those, the last added is removed first.
+ */
+public class IntBucketQueue {
+    /**
+     * The bucket for each priority, or <code>null</code> for priorities that were never used
+     */
+    private Bucket[] buckets = new Bucket[64];
+
+    /**
+     * No bucket before this one has any values
+     */
+    private int lowestPriority = 0;
+
+    private int size = 0;
+
+    /**
+     * Add a value to the queue.
+     *
+     * @param value    the value to add
+     * @param priority the priority of the value, where lower priorities are removed first
+     * @param tieBreak the tie-breaking value, where higher values are removed first among values with the same priority
+     * @throws IllegalArgumentException if the priority or tie-breaking value is negative
+     */
+    public void offer(int value, int priority, int tieBreak) {
+        if (priority < 0 || tieBreak < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (priority >= buckets.length) {
+            buckets = Arrays.copyOf(buckets, Math.max(buckets.length * 2, priority + 1));
+        }
+        if (buckets[priority] == null) {
+            buckets[priority] = new Bucket();
+        }
+        buckets[priority].push(tieBreak, value);
+        if (priority < lowestPriority) {
+            lowestPriority = priority;
+        }
+        size++;
+    }
+
+    /**
+     * Remove the value with the lowest priority. Only valid if the queue isn't empty.
+     *
+     * @return the value removed
+     */
+    public int poll() {
+        size--;
+        return findLowestBucket().pop();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the non-empty bucket with the lowest priority. Only valid if the queue isn't empty.
+     */
+    private Bucket findLowestBucket() {
+        while (buckets[lowestPriority] == null || buckets[lowestPriority].isEmpty()) {
+            lowestPriority++;
+        }
+        return buckets[lowestPriority];
+    }
+
+    /**
+     * The values with one priority, in a stack per tie-breaking value.
+     */
+    private static final class Bucket {
+        private int[][] stacks = new int[16][];
+        private int[] stackSizes = new int[16];
+
+        /**
+         * No stack after this one has any values, or -1 if the bucket is empty
+         */
+        private int highestTieBreak = -1;
+
+        void push(int tieBreak, int value) {
+            if (tieBreak >= stacks.length) {
+                int length = Math.max(stacks.length * 2, tieBreak + 1);
+                stacks = Arrays.copyOf(stacks, length);
+                stackSizes = Arrays.copyOf(stackSizes, length);
+            }
+            if (stacks[tieBreak] == null) {
+                stacks[tieBreak] = new int[16];
+            } else if (stackSizes[tieBreak] == stacks[tieBreak].length) {
+                stacks[tieBreak] = Arrays.copyOf(stacks[tieBreak], stacks[tieBreak].length * 2);
+            }
+            stacks[tieBreak][stackSizes[tieBreak]++] = value;
+            if (tieBreak > highestTieBreak) {
+                highestTieBreak = tieBreak;
+            }
+        }
+
+        int pop() {
+            int value = stacks[highestTieBreak][--stackSizes[highestTieBreak]];
+            // Move down to the next non-empty stack, if this one is now empty
+            while (highestTieBreak >= 0 && stackSizes[highestTieBreak] == 0) {
+                highestTieBreak--;
+            }
+            return value;
+        }
+
+        boolean isEmpty() {
+            return highestTieBreak == -1;
+        }
+    }
+}
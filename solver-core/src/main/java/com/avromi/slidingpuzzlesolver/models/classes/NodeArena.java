@@ -0,0 +1,142 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+
+import java.util.Arrays;
+
+/**
+ * Stores the nodes of a search as parallel arrays of primitives instead of as objects. Each node is identified by its
+ * index in the arena, and links to its parent by the parent's index, so a node takes up a fixed 17 bytes (its packed
+ * state, parent index, G-value, H-value and moved piece) and the garbage collector has no pointers to follow. A
+ * {@link SlidingPuzzleNode}, by comparison, takes around 56 bytes plus the references to it.
+ * <p>
+ * The arrays grow in chunks of {@link #CHUNK_SIZE} nodes, so growing never copies the nodes already added. Only nodes
+ * with a packed state (see {@link Node#hasPackedState()}) can be stored.
+ */
+public class NodeArena {
+    /**
+     * The parent index of a node without a parent, i.e., the node a search started from
+     */
+    public static final int NO_PARENT = -1;
+
+    /**
+     * The number of nodes in each chunk. This is a power of 2, so that an index can be split into its chunk and its
+     * position in the chunk with bit operations.
+     */
+    public static final int CHUNK_SIZE = 1 << 16;
+
+    private static final int CHUNK_SHIFT = Integer.numberOfTrailingZeros(CHUNK_SIZE);
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private long[][] packedStates = new long[1][];
+    private int[][] parentIndices = new int[1][];
+    private short[][] gValues = new short[1][];
+    private short[][] hValues = new short[1][];
+    private byte[][] movedPieces = new byte[1][];
+
+    private int size = 0;
+
+    /**
+     * Add the given node to the arena.
+     *
+     * @param node        the node to add, which must have a packed state
+     * @param parentIndex the index of the node's parent, or {@link #NO_PARENT} if it has none
+     * @return the index of the node
+     */
+    public int add(Node node, int parentIndex) {
+        return add(node.getPackedState(), parentIndex, node.getGValue(), node.getHValue(), node.getMovedPiece());
+    }
+
+    /**
+     * Add a node to the arena.
+     *
+     * @param packedState the packed state of the node (see {@link Node#getPackedState()})
+     * @param parentIndex the index of the node's parent, or {@link #NO_PARENT} if it has none
+     * @param gValue      the G-value of the node
+     * @param hValue      the H-value of the node
+     * @param movedPiece  the piece moved to get to the node
+     * @return the index of the node
+     * @throws IllegalStateException if the arena is full
+     */
+    public int add(long packedState, int parentIndex, int gValue, int hValue, int movedPiece) {
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many nodes to store");
+        }
+        int chunk = size >>> CHUNK_SHIFT;
+        if (chunk == packedStates.length) {
+            int chunks = chunk * 2;
+            packedStates = Arrays.copyOf(packedStates, chunks);
+            parentIndices = Arrays.copyOf(parentIndices, chunks);
+            gValues = Arrays.copyOf(gValues, chunks);
+            hValues = Arrays.copyOf(hValues, chunks);
+            movedPieces = Arrays.copyOf(movedPieces, chunks);
+        }
+        if (packedStates[chunk] == null) {
+            packedStates[chunk] = new long[CHUNK_SIZE];
+            parentIndices[chunk] = new int[CHUNK_SIZE];
+            gValues[chunk] = new short[CHUNK_SIZE];
+            hValues[chunk] = new short[CHUNK_SIZE];
+            movedPieces[chunk] = new byte[CHUNK_SIZE];
+        }
+        int offset = size & CHUNK_MASK;
+        packedStates[chunk][offset] = packedState;
+        parentIndices[chunk][offset] = parentIndex;
+        gValues[chunk][offset] = (short) gValue;
+        hValues[chunk][offset] = (short) hValue;
+        movedPieces[chunk][offset] = (byte) movedPiece;
+        return size++;
+    }
+
+    /**
+     * @return the number of nodes in the arena
+     */
+    public int size() {
+        return size;
+    }
+
+    public long getPackedState(int index) {
+        return packedStates[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    /**
+     * @return the index of the parent of the node at the given index, or {@link #NO_PARENT} if it has none
+     */
+    public int getParentIndex(int index) {
+        return parentIndices[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    public int getGValue(int index) {
+        return gValues[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    public int getHValue(int index) {
+        return hValues[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    public int getFValue(int index) {
+        return getGValue(index) + getHValue(index);
+    }
+
+    public int getMovedPiece(int index) {
+        return movedPieces[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    /**
+     * Walks the parent indices from the node at the given index back to the node without a parent.
+     *
+     * @return the pieces moved to get from the node without a parent to the node at the given index, in order
+     */
+    public int[] getMovedPieces(int index) {
+        int length = 0;
+        for (int curr = index; getParentIndex(curr) != NO_PARENT; curr = getParentIndex(curr)) {
+            length++;
+        }
+        int[] moves = new int[length];
+        int curr = index;
+        for (int i = length - 1; i >= 0; i--) {
+            moves[i] = getMovedPiece(curr);
+            curr = getParentIndex(curr);
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,127 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+/**
+ * Helper methods for boards packed into a single long. Each position on the board takes up 4 bits, starting from the
+ * lowest bits for the top-left position, and stores the piece number at that position minus 1. This allows boards up to
+ * 4x4 (16 positions * 4 bits = 64 bits) to be stored, compared and moved without allocating any arrays.
+ */
+public final class PackedBoard {
+    /**
+     * The largest board size (number of rows/columns) that can be packed into a long.
+     */
+    public static final int MAX_BOARD_SIZE = 4;
+
+    /**
+     * The number of bits used to store each piece.
+     */
+    private static final int BITS_PER_PIECE = 4;
+
+    private static final long PIECE_MASK = (1L << BITS_PER_PIECE) - 1;
+
+    private PackedBoard() {
+    }
+
+    /**
+     * @return <code>true</code> if a board of the given size can be packed into a long; otherwise <code>false</code>
+     */
+    public static boolean canPack(int boardSize) {
+        return boardSize <= MAX_BOARD_SIZE;
+    }
+
+    /**
+     * Packs the given pieces into a long. The pieces are expected to already be validated.
+     *
+     * @param pieces the pieces on the board, in order from top-left to bottom-right
+     * @return the packed board
+     */
+    public static long pack(int[][] pieces) {
+        long packed = 0L;
+        int index = 0;
+        for (int[] row : pieces) {
+            for (int piece : row) {
+                packed |= (piece - 1L) << (index * BITS_PER_PIECE);
+                index++;
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * @return the pieces of the given packed board, in order from top-left to bottom-right
+     */
+    public static int[][] unpack(long packed, int boardSize) {
+        int[][] pieces = new int[boardSize][boardSize];
+        for (int i = 0; i < boardSize; i++) {
+            for (int j = 0; j < boardSize; j++) {
+                pieces[i][j] = getPiece(packed, i * boardSize + j);
+            }
+        }
+        return pieces;
+    }
+
+    /**
+     * @return the pieces of the given packed board in a single array, in order from top-left to bottom-right
+     */
+    public static int[] unpackFlat(long packed, int boardSize) {
+        int[] pieces = new int[boardSize * boardSize];
+        for (int i = 0; i < pieces.length; i++) {
+            pieces[i] = getPiece(packed, i);
+        }
+        return pieces;
+    }
+
+    /**
+     * @param packed the packed board
+     * @param index  the position on the board, counting from the top-left, row by row. 0 indexed.
+     * @return the piece number at the given position
+     */
+    public static int getPiece(long packed, int index) {
+        return (int) ((packed >>> (index * BITS_PER_PIECE)) & PIECE_MASK) + 1;
+    }
+
+    /**
+     * @param packed    the packed board
+     * @param piece     the piece number to look for
+     * @param boardSize the number of rows/columns in the board
+     * @return the position of the given piece on the board, counting from the top-left, row by row, or -1 if it isn't
+     * on the board
+     */
+    public static int indexOf(long packed, int piece, int boardSize) {
+        for (int i = 0; i < boardSize * boardSize; i++) {
+            if (getPiece(packed, i) == piece) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Swaps the pieces at the two given positions. Moving a piece into the empty space is a swap of the piece with the
+     * empty piece.
+     *
+     * @return the packed board with the two pieces swapped
+     */
+    public static long swapPieces(long packed, int firstIndex, int secondIndex) {
+        int firstShift = firstIndex * BITS_PER_PIECE;
+        int secondShift = secondIndex * BITS_PER_PIECE;
+        // XOR-ing each position with the difference of the two pieces turns each piece into the other
+        long difference = ((packed >>> firstShift) ^ (packed >>> secondShift)) & PIECE_MASK;
+        return packed ^ (difference << firstShift) ^ (difference << secondShift);
+    }
+
+    /**
+     * Mixes the bits of a packed board (with the finalizer of MurmurHash3), so that similar boards get very different
+     * hashes. Packed boards only differ in a few bits after a move, so they can't be used as hashes directly.
+     *
+     * @return the hash of the given packed board, all 64 bits of which are well mixed
+     */
+    public static long hash(long packed) {
+        long hash = packed;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
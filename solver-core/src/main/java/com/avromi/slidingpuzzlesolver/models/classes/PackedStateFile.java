@@ -0,0 +1,194 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A file of packed states (see {@link PackedBoard}), 8 bytes each. The file is read and written through memory-mapped
+ * windows of {@link #WINDOW_SIZE} states, so the states are paged in and out by the operating system and take up no
+ * heap space, however many there are.
+ */
+public final class PackedStateFile {
+    /**
+     * The number of states in each mapped window of the file
+     */
+    public static final int WINDOW_SIZE = 1 << 20;
+
+    private static final int STATE_BYTES = Long.BYTES;
+
+    private final File file;
+    private final long size;
+
+    private PackedStateFile(File file, long size) {
+        this.file = file;
+        this.size = size;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return the number of states in the file
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return a reader of the states in the file, which must be closed when done
+     */
+    public Reader openReader() throws IOException {
+        return new Reader(this);
+    }
+
+    /**
+     * Deletes the file.
+     */
+    public void delete() {
+        file.delete();
+    }
+
+    /**
+     * Writes states to a new file, one after another.
+     */
+    public static final class Writer implements Closeable {
+        private final File file;
+        private final RandomAccessFile randomAccessFile;
+        private final FileChannel channel;
+        private MappedByteBuffer window;
+        private long windowStart = 0;
+        private long size = 0;
+
+        /**
+         * @param file the file to write to, which is replaced if it exists
+         */
+        public Writer(File file) throws IOException {
+            this.file = file;
+            this.randomAccessFile = new RandomAccessFile(file, "rw");
+            this.randomAccessFile.setLength(0);
+            this.channel = randomAccessFile.getChannel();
+            this.window = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) WINDOW_SIZE * STATE_BYTES);
+        }
+
+        public void write(long state) throws IOException {
+            if (!window.hasRemaining()) {
+                windowStart += WINDOW_SIZE;
+                window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart * STATE_BYTES,
+                        (long) WINDOW_SIZE * STATE_BYTES);
+            }
+            window.putLong(state);
+            size++;
+        }
+
+        /**
+         * @return the number of states written so far
+         */
+        public long size() {
+            return size;
+        }
+
+        /**
+         * Closes the file, cutting off the part of the last window that wasn't written.
+         *
+         * @return the file written
+         */
+        public PackedStateFile finish() throws IOException {
+            close();
+            return new PackedStateFile(file, size);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (window == null) {
+                return;
+            }
+            window = null;
+            try {
+                channel.truncate(size * STATE_BYTES);
+            } finally {
+                randomAccessFile.close();
+            }
+        }
+    }
+
+    /**
+     * Reads the states of a file, either one after another or by index.
+     */
+    public static final class Reader implements Closeable {
+        private final RandomAccessFile randomAccessFile;
+        private final FileChannel channel;
+        private final long size;
+        private MappedByteBuffer window;
+        private long windowStart = -1;
+
+        /**
+         * The index of the next state to read with {@link #next()}
+         */
+        private long position = 0;
+
+        private Reader(PackedStateFile file) throws IOException {
+            this.randomAccessFile = new RandomAccessFile(file.file, "r");
+            this.channel = randomAccessFile.getChannel();
+            this.size = file.size;
+        }
+
+        /**
+         * @return <code>true</code> if there are states left to read with {@link #next()}; otherwise <code>false</code>
+         */
+        public boolean hasNext() {
+            return position < size;
+        }
+
+        /**
+         * @return the next state of the file. Only valid if {@link #hasNext()} is <code>true</code>.
+         */
+        public long next() throws IOException {
+            return get(position++);
+        }
+
+        /**
+         * @return the state at the given index of the file
+         */
+        public long get(long index) throws IOException {
+            if (index < windowStart || index >= windowStart + WINDOW_SIZE || windowStart < 0) {
+                windowStart = index / WINDOW_SIZE * WINDOW_SIZE;
+                long length = Math.min(WINDOW_SIZE, size - windowStart) * STATE_BYTES;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart * STATE_BYTES, length);
+            }
+            return window.getLong((int) (index - windowStart) * STATE_BYTES);
+        }
+
+        /**
+         * Searches a file of states sorted in increasing order for the given state, with a binary search.
+         *
+         * @return <code>true</code> if the file has the given state; otherwise <code>false</code>
+         */
+        public boolean containsSorted(long state) throws IOException {
+            long low = 0;
+            long high = size - 1;
+            while (low <= high) {
+                long middle = (low + high) >>> 1;
+                long middleState = get(middle);
+                if (middleState < state) {
+                    low = middle + 1;
+                } else if (middleState > state) {
+                    high = middle - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            window = null;
+            randomAccessFile.close();
+        }
+    }
+}
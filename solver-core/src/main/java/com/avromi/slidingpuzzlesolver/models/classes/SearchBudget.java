@@ -0,0 +1,88 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+/**
+ * The limits a search must stay within: how long it may run, how many nodes it may expand and how much memory it may
+ * use. A search that reaches any of its limits stops, and returns a result with the outcome
+ * {@link SearchResult.Outcome#BUDGET_EXHAUSTED}.
+ * <p>
+ * Budgets are immutable; each of the <code>with</code> methods returns a new budget, e.g.:
+ * <pre>
+ * SearchBudget.UNLIMITED.withTimeLimit(2000).withMaxMemory(64L &lt;&lt; 20)
+ * </pre>
+ */
+public final class SearchBudget {
+    /**
+     * A budget without limits
+     */
+    public static final SearchBudget UNLIMITED = new SearchBudget(Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final long timeLimitMs;
+    private final long maxExpansions;
+    private final long maxMemoryBytes;
+
+    private SearchBudget(long timeLimitMs, long maxExpansions, long maxMemoryBytes) {
+        this.timeLimitMs = timeLimitMs;
+        this.maxExpansions = maxExpansions;
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    /**
+     * @param timeLimitMs the longest a search may run, from when it starts
+     * @return this budget with the given time limit
+     */
+    public SearchBudget withTimeLimit(long timeLimitMs) {
+        return new SearchBudget(requirePositive(timeLimitMs), maxExpansions, maxMemoryBytes);
+    }
+
+    /**
+     * @param maxExpansions the most nodes a search may expand
+     * @return this budget with the given limit on expansions
+     */
+    public SearchBudget withMaxExpansions(long maxExpansions) {
+        return new SearchBudget(timeLimitMs, requirePositive(maxExpansions), maxMemoryBytes);
+    }
+
+    /**
+     * @param maxMemoryBytes the most heap memory a search may take up, on top of what was in use when it started. Heap
+     *                       use includes garbage not collected yet, so this is an upper bound of the search's memory.
+     * @return this budget with the given limit on memory
+     */
+    public SearchBudget withMaxMemory(long maxMemoryBytes) {
+        return new SearchBudget(timeLimitMs, maxExpansions, requirePositive(maxMemoryBytes));
+    }
+
+    /**
+     * @return the longest a search may run in milliseconds, or {@link Long#MAX_VALUE} if there is no limit
+     */
+    public long getTimeLimitMs() {
+        return timeLimitMs;
+    }
+
+    /**
+     * @return the most nodes a search may expand, or {@link Long#MAX_VALUE} if there is no limit
+     */
+    public long getMaxExpansions() {
+        return maxExpansions;
+    }
+
+    /**
+     * @return the most heap memory a search may take up in bytes, or {@link Long#MAX_VALUE} if there is no limit
+     */
+    public long getMaxMemoryBytes() {
+        return maxMemoryBytes;
+    }
+
+    /**
+     * @return <code>true</code> if there is no limit at all; otherwise <code>false</code>
+     */
+    public boolean isUnlimited() {
+        return timeLimitMs == Long.MAX_VALUE && maxExpansions == Long.MAX_VALUE && maxMemoryBytes == Long.MAX_VALUE;
+    }
+
+    private static long requirePositive(long limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limits must be positive");
+        }
+        return limit;
+    }
+}
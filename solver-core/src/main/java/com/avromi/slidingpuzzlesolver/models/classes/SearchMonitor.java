@@ -0,0 +1,121 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides when a running search should stop: when it is cancelled (by its {@link CancellationToken} or by
+ * {@link #stop()}) or when it reaches a limit of its {@link SearchBudget}. A search makes a new monitor each time it
+ * runs, so nothing carries over from one search to the next, and calls {@link #shouldStop(int)} as it goes.
+ * <p>
+ * The cancellation token is checked on every call. The budget is only checked every {@link #CHECK_INTERVAL}
+ * expansions, since reading the clock and the heap size costs more than an expansion, so a search can go slightly past
+ * its budget. Searches on multiple threads share one monitor.
+ */
+public class SearchMonitor {
+    /**
+     * The number of expansions between checks of the budget
+     */
+    public static final int CHECK_INTERVAL = 256;
+
+    private final CancellationToken token;
+    private final long maxExpansions;
+    private final long maxMemoryBytes;
+    private final long deadlineNanos;
+    private final long startMemoryBytes;
+    private final boolean isLimited;
+
+    /**
+     * The number of expansions so far, which may be added to by multiple threads
+     */
+    private final LongAdder expansions = new LongAdder();
+
+    /**
+     * The number of expansions since the budget was last checked. Threads may overwrite each other's updates, which
+     * only changes when the next check is.
+     */
+    private int expansionsUntilCheck = CHECK_INTERVAL;
+
+    /**
+     * Why the search was stopped, or <code>null</code> if it wasn't
+     */
+    private volatile SearchResult.Outcome stopOutcome;
+
+    /**
+     * Construct a monitor for a search that is starting now.
+     */
+    public SearchMonitor(SearchBudget budget, CancellationToken token) {
+        this.token = token;
+        this.maxExpansions = budget.getMaxExpansions();
+        this.maxMemoryBytes = budget.getMaxMemoryBytes();
+        this.isLimited = !budget.isUnlimited();
+        long timeLimitNanos = budget.getTimeLimitMs() < Long.MAX_VALUE / 1_000_000L
+                ? budget.getTimeLimitMs() * 1_000_000L : Long.MAX_VALUE;
+        long now = System.nanoTime();
+        this.deadlineNanos = timeLimitNanos < Long.MAX_VALUE - now ? now + timeLimitNanos : Long.MAX_VALUE;
+        this.startMemoryBytes = maxMemoryBytes != Long.MAX_VALUE ? getUsedMemoryBytes() : 0;
+    }
+
+    /**
+     * Records the given number of expansions, and checks whether the search should stop.
+     *
+     * @param expansions the number of nodes expanded since the last call
+     * @return <code>true</code> if the search should stop; otherwise <code>false</code>
+     */
+    public boolean shouldStop(int expansions) {
+        if (stopOutcome != null) {
+            return true;
+        }
+        if (token.isCancelled()) {
+            stopOutcome = SearchResult.Outcome.CANCELLED;
+            return true;
+        }
+        if (isLimited) {
+            this.expansions.add(expansions);
+            expansionsUntilCheck -= expansions;
+            if (expansionsUntilCheck <= 0) {
+                expansionsUntilCheck = CHECK_INTERVAL;
+                checkBudget();
+            }
+        }
+        return stopOutcome != null;
+    }
+
+    /**
+     * Stops the search, as if it were cancelled.
+     */
+    public void stop() {
+        if (stopOutcome == null) {
+            stopOutcome = SearchResult.Outcome.CANCELLED;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the search was stopped; otherwise <code>false</code>
+     */
+    public boolean isStopped() {
+        return stopOutcome != null;
+    }
+
+    /**
+     * @return the outcome of a search that ended without a solution: why it was stopped, or
+     * {@link SearchResult.Outcome#NOT_FOUND} if it wasn't stopped
+     */
+    public SearchResult.Outcome getUnsolvedOutcome() {
+        SearchResult.Outcome stopOutcome = this.stopOutcome;
+        return stopOutcome != null ? stopOutcome : SearchResult.Outcome.NOT_FOUND;
+    }
+
+    private void checkBudget() {
+        boolean budgetIsExhausted = expansions.sum() >= maxExpansions
+                || (deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos >= 0)
+                || (maxMemoryBytes != Long.MAX_VALUE && getUsedMemoryBytes() - startMemoryBytes >= maxMemoryBytes);
+        if (budgetIsExhausted && stopOutcome == null) {
+            stopOutcome = SearchResult.Outcome.BUDGET_EXHAUSTED;
+        }
+    }
+
+    private static long getUsedMemoryBytes() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,341 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a search result to be returned from a search method.
+ * @param <T> the puzzle type (an implementation of Node)
+ */
+public class SearchResult<T extends Node> {
+    /**
+     * How a search ended
+     */
+    public enum Outcome {
+        /**
+         * A solution was found
+         */
+        SOLVED,
+        /**
+         * The board can't be solved at all, so no search was run
+         */
+        UNSOLVABLE,
+        /**
+         * The search ended without finding a solution, e.g., because it has a depth limit
+         */
+        NOT_FOUND,
+        /**
+         * The search reached a limit of its {@link SearchBudget}
+         */
+        BUDGET_EXHAUSTED,
+        /**
+         * The search was cancelled
+         */
+        CANCELLED
+    }
+
+    /**
+     * Indicate if a solution was found
+     */
+    private boolean solutionWasFound = false;
+
+    /**
+     * How the search ended
+     */
+    private Outcome outcome;
+
+    /**
+     * The nodes from the start to the solution, or to the closest node to a solution if the search stopped without one.
+     * For results made from a start node and moves, this is only built when it is first needed.
+     */
+    private T[] solutionPath;
+
+    /**
+     * The node the path starts from and the pieces moved to get from it to the end of the path, if the path hasn't
+     * been built yet
+     */
+    private T start;
+    private int[] movedPieces;
+
+    /**
+     * The work done by the search. A saved solution (see {@link CompactSolution}) doesn't include it, as it only
+     * describes the search that found the solution.
+     */
+    private SearchStatistics statistics;
+
+    /**
+     * The search method chosen to find this result, if it was found by a search method that chooses between others.
+     * Like the statistics, a saved solution doesn't include it.
+     */
+    private AlgorithmChoice algorithmChoice;
+
+    /**
+     * No-args constructor
+     */
+    public SearchResult(boolean solutionWasFound) {
+        this.solutionWasFound = solutionWasFound;
+        this.outcome = solutionWasFound ? Outcome.SOLVED : Outcome.NOT_FOUND;
+    }
+
+    /**
+     * Constructs a search result object without a solution path
+     *
+     * @param solutionWasFound whether a solution was found
+     * @param statistics       the work done by the search
+     */
+    public SearchResult(boolean solutionWasFound, SearchStatistics statistics) {
+        this(solutionWasFound);
+        this.statistics = statistics;
+    }
+
+    /**
+     * Constructs a search result object for a search that didn't find a solution
+     *
+     * @param outcome    why no solution was found
+     * @param statistics the work done by the search
+     * @throws IllegalArgumentException if the outcome is {@link Outcome#SOLVED}
+     */
+    public SearchResult(Outcome outcome, SearchStatistics statistics) {
+        if (outcome == Outcome.SOLVED) {
+            throw new IllegalArgumentException("A solved result needs a solution");
+        }
+        this.outcome = outcome;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Constructs a search result object
+     *
+     * @param solutionWasFound whether a solution was found
+     * @param solution         the solution node
+     * @param statistics       the work done by the search
+     */
+    public SearchResult(boolean solutionWasFound, T solution, SearchStatistics statistics) {
+        this(solutionWasFound, solution);
+        this.statistics = statistics;
+    }
+
+    /**
+     * Constructs a search result object
+     *
+     * @param solutionWasFound whether a solution was found
+     * @param solution         the solution node
+     */
+    public SearchResult(boolean solutionWasFound, T solution) {
+        this(solutionWasFound);
+        if (solutionWasFound) {
+            setPathTo(solution);
+        }
+    }
+
+    /**
+     * Constructs a search result object for a search that stopped without a solution, with the path to the closest
+     * node to a solution it found (see {@link #getPartialPath()}).
+     *
+     * @param outcome    why no solution was found
+     * @param closest    the node closest to a solution, or <code>null</code> if there is none
+     * @param statistics the work done by the search
+     * @throws IllegalArgumentException if the outcome is {@link Outcome#SOLVED}
+     */
+    public SearchResult(Outcome outcome, T closest, SearchStatistics statistics) {
+        this(outcome, statistics);
+        if (closest != null) {
+            setPathTo(closest);
+        }
+    }
+
+    /**
+     * Constructs a search result object for a search that stored its nodes in an arena and stopped without a solution,
+     * with the path to the closest node to a solution it found (see {@link #getPartialPath()}).
+     *
+     * @param outcome      why no solution was found
+     * @param start        the node the search started from, which has no parent in the arena
+     * @param arena        the nodes of the search
+     * @param closestIndex the index of the closest node in the arena, or {@link ClosestNodeTracker#NO_INDEX} if there
+     *                     is none
+     * @param statistics   the work done by the search
+     * @throws IllegalArgumentException if the outcome is {@link Outcome#SOLVED}
+     */
+    public SearchResult(Outcome outcome, T start, NodeArena arena, int closestIndex, SearchStatistics statistics) {
+        this(outcome, statistics);
+        if (closestIndex != ClosestNodeTracker.NO_INDEX) {
+            this.start = start;
+            this.movedPieces = arena.getMovedPieces(closestIndex);
+        }
+    }
+
+    /**
+     * Constructs a search result object for a solution found by a search that stored its nodes in an arena. The
+     * solution path is rebuilt by walking the parent indices from the solution back to the start of the search.
+     *
+     * @param start         the node the search started from, which has no parent in the arena
+     * @param arena         the nodes of the search
+     * @param solutionIndex the index of the solution node in the arena
+     * @param statistics    the work done by the search
+     */
+    public SearchResult(T start, NodeArena arena, int solutionIndex, SearchStatistics statistics) {
+        this(start, arena.getMovedPieces(solutionIndex), statistics);
+    }
+
+    /**
+     * Constructs a search result object for a solution found as the moves from the start node, without building its
+     * nodes.
+     *
+     * @param start       the node the solution starts from
+     * @param movedPieces the pieces moved to get from the start node to the solution, in order
+     * @param statistics  the work done by the search
+     */
+    public SearchResult(T start, int[] movedPieces, SearchStatistics statistics) {
+        this(start, movedPieces);
+        this.statistics = statistics;
+    }
+
+    /**
+     * Constructs a search result object for a solution given as the moves from a start node, such as a saved solution.
+     * The nodes of the solution path are only built by making the moves when the path is first needed.
+     *
+     * @param start       the node the solution starts from
+     * @param movedPieces the pieces moved to get from the start node to the solution, in order
+     */
+    public SearchResult(T start, int[] movedPieces) {
+        this(true);
+        this.start = start;
+        this.movedPieces = movedPieces;
+    }
+
+    /**
+     * @return a search result for a board that can't be solved, which is returned without searching
+     */
+    public static <T extends Node> SearchResult<T> unsolvable() {
+        SearchStatistics statistics = new SearchStatistics();
+        statistics.finish();
+        return new SearchResult<>(Outcome.UNSOLVABLE, statistics);
+    }
+
+    public boolean getSolutionWasFound() {
+        return solutionWasFound;
+    }
+
+    /**
+     * @return <code>true</code> if the board searched can't be solved; otherwise <code>false</code>
+     */
+    public boolean getBoardIsUnsolvable() {
+        return outcome == Outcome.UNSOLVABLE;
+    }
+
+    /**
+     * @return how the search ended
+     */
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * @return the work done by the search, or <code>null</code> if this result was loaded from storage
+     */
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * @return the search method chosen to find this result and why, or <code>null</code> if it was found by a search
+     * method that doesn't choose between others, or was loaded from storage
+     */
+    public AlgorithmChoice getAlgorithmChoice() {
+        return algorithmChoice;
+    }
+
+    public void setAlgorithmChoice(AlgorithmChoice algorithmChoice) {
+        this.algorithmChoice = algorithmChoice;
+    }
+
+    public List<T> getSolutionPath() {
+        if (!solutionWasFound) {
+            return Collections.emptyList();
+        }
+        return getPath();
+    }
+
+    /**
+     * A search that stops without a solution (e.g., because it was cancelled or ran out of its budget) returns the path
+     * to the node closest to a solution it found, i.e., the one with the lowest heuristic value. It can be shown as
+     * progress, or searched on from, so that the work done isn't thrown away. Only some search methods return one.
+     *
+     * @return the nodes from the start to the closest node found, or an empty list if a solution was found or the
+     * search didn't return a partial path
+     */
+    public List<T> getPartialPath() {
+        if (solutionWasFound || (this.solutionPath == null && this.start == null)) {
+            return Collections.emptyList();
+        }
+        return getPath();
+    }
+
+    /**
+     * @return the node the solution (or partial path) starts from. Only valid if there is one.
+     */
+    public T getStartNode() {
+        return this.solutionPath == null ? this.start : this.solutionPath[0];
+    }
+
+    /**
+     * @return the pieces moved to get from the start node to the end of the solution (or partial path), in order. Only
+     * valid if there is one.
+     */
+    public int[] getMovedPieces() {
+        if (this.solutionPath == null) {
+            return this.movedPieces.clone();
+        }
+        int[] result = new int[this.solutionPath.length - 1];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = this.solutionPath[i + 1].getMovedPiece();
+        }
+        return result;
+    }
+
+    private List<T> getPath() {
+        if (this.solutionPath == null) {
+            buildSolutionPath();
+        }
+        return Arrays.asList(this.solutionPath);
+    }
+
+    /**
+     * Sets the path to the nodes from the start of the search to the given node, by following their parents.
+     */
+    @SuppressWarnings("unchecked")  // the parents of a T are Ts too, and the array only ever holds Ts
+    private void setPathTo(T last) {
+        this.solutionPath = (T[]) new Node[last.getLevel() + 1];
+        Node curr = last;
+        for (int i = last.getLevel(); i >= 0; i--) {
+            this.solutionPath[i] = (T) curr;
+            curr = curr.getParent();
+        }
+    }
+
+    /**
+     * Builds the path by making each of the moved pieces' moves from the start node.
+     */
+    @SuppressWarnings("unchecked")  // the children of a T are Ts too, and the array only ever holds Ts
+    private void buildSolutionPath() {
+        T[] path = (T[]) new Node[this.movedPieces.length + 1];
+        path[0] = this.start;
+        for (int i = 0; i < this.movedPieces.length; i++) {
+            for (Node child : path[i].getNextNodes()) {
+                if (child.getMovedPiece() == this.movedPieces[i]) {
+                    path[i + 1] = (T) child;
+                    break;
+                }
+            }
+            if (path[i + 1] == null) {
+                throw new IllegalStateException("Piece " + this.movedPieces[i] + " can't be moved");
+            }
+        }
+        this.solutionPath = path;
+        this.start = null;
+        this.movedPieces = null;
+    }
+}
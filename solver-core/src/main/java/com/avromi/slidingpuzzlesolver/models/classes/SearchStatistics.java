@@ -0,0 +1,124 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import java.util.Locale;
+
+/**
+ * Counts the work done by a search, to explain why a search was fast or slow. The counters are plain fields updated
+ * once per node, so they are cheap enough to always keep on. An instance is only updated by one thread; searches on
+ * multiple threads keep one per thread and add them up at the end.
+ */
+public class SearchStatistics {
+    private final long startTimeNanos = System.nanoTime();
+    private long wallTimeNanos;
+    private long nodesGenerated;
+    private long nodesExpanded;
+    private long duplicatesPruned;
+    private int peakOpenListSize;
+    private int peakClosedSetSize;
+
+    /**
+     * Records the expansion of a node, i.e., generating the nodes that follow it.
+     *
+     * @param nodesGenerated the number of nodes generated from the expanded node
+     */
+    public void addExpandedNode(int nodesGenerated) {
+        this.nodesExpanded++;
+        this.nodesGenerated += nodesGenerated;
+    }
+
+    /**
+     * Records a generated node that was dropped because its state was already found.
+     */
+    public void addDuplicatePruned() {
+        this.duplicatesPruned++;
+    }
+
+    /**
+     * Records the current sizes of the search's open list (the nodes waiting to be expanded) and closed set (the states
+     * already found), if they are the largest so far.
+     */
+    public void updatePeakSizes(int openListSize, int closedSetSize) {
+        if (openListSize > this.peakOpenListSize) {
+            this.peakOpenListSize = openListSize;
+        }
+        if (closedSetSize > this.peakClosedSetSize) {
+            this.peakClosedSetSize = closedSetSize;
+        }
+    }
+
+    /**
+     * Adds the counts of an earlier part of the same search, such as an earlier iteration. Since the parts ran one
+     * after another, the peak sizes are the largest of either.
+     */
+    public void add(SearchStatistics other) {
+        this.nodesGenerated += other.nodesGenerated;
+        this.nodesExpanded += other.nodesExpanded;
+        this.duplicatesPruned += other.duplicatesPruned;
+        updatePeakSizes(other.peakOpenListSize, other.peakClosedSetSize);
+    }
+
+    /**
+     * Adds the counts of a part of the same search that ran at the same time, such as another thread. The peak sizes
+     * are added up too, since the parts' lists were all in memory together.
+     */
+    public void addConcurrent(SearchStatistics other) {
+        this.nodesGenerated += other.nodesGenerated;
+        this.nodesExpanded += other.nodesExpanded;
+        this.duplicatesPruned += other.duplicatesPruned;
+        this.peakOpenListSize += other.peakOpenListSize;
+        this.peakClosedSetSize += other.peakClosedSetSize;
+    }
+
+    /**
+     * Records the time since these statistics were created as the search's wall time.
+     */
+    public void finish() {
+        this.wallTimeNanos = System.nanoTime() - this.startTimeNanos;
+    }
+
+    public long getNodesGenerated() {
+        return nodesGenerated;
+    }
+
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    public long getDuplicatesPruned() {
+        return duplicatesPruned;
+    }
+
+    public int getPeakOpenListSize() {
+        return peakOpenListSize;
+    }
+
+    public int getPeakClosedSetSize() {
+        return peakClosedSetSize;
+    }
+
+    public long getWallTimeMs() {
+        return wallTimeNanos / 1_000_000L;
+    }
+
+    /**
+     * @return the number of nodes expanded per second of wall time
+     */
+    public long getExpansionsPerSecond() {
+        return wallTimeNanos > 0 ? (long) (nodesExpanded * 1e9 / wallTimeNanos) : 0L;
+    }
+
+    /**
+     * @return a one-line summary of the statistics, e.g., "12,345 nodes expanded in 0.42s (29,393/s)"
+     */
+    public String getSummary() {
+        return String.format(Locale.US, "%,d nodes expanded in %.2fs (%,d/s)",
+                nodesExpanded, wallTimeNanos / 1e9, getExpansionsPerSecond());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%s, %,d generated, %,d duplicates pruned, peak open list %,d, "
+                        + "peak closed set %,d", getSummary(), nodesGenerated, duplicatesPruned, peakOpenListSize,
+                peakClosedSetSize);
+    }
+}
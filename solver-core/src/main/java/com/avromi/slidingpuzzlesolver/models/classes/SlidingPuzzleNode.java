@@ -0,0 +1,548 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import com.avromi.slidingpuzzlesolver.models.heuristics.ManhattanDistance;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Heuristic;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class represents the state of a sliding-puzzle board. It implements the Interfaces.INode interface for use in searching for
+ * solutions.
+ */
+public class SlidingPuzzleNode implements Node {
+    /**
+     * The number of rows/columns in the board. For a 4x4 board this is 4.
+     */
+    private final int BOARD_SIZE;
+
+    /**
+     * The board pieces. This is only used for boards too large to be packed, and is <code>null</code> otherwise.
+     */
+    private final int[][] boardPieces;
+
+    /**
+     * The board pieces packed into a long, for boards that are small enough (see {@link PackedBoard}).
+     */
+    private final long packedPieces;
+
+    /**
+     * The number used to represent the empty space on the board. This is represented by the next
+     * number on the board internally. For example, on a 4x4 board, 16 represents the empty space.
+     */
+    private final int emptyPieceNumber;
+
+    /**
+     * The position of the empty piece in the board, counting from the top-left, row by row. This is saved for when
+     * calculating the next move, as all next moves must swap with the empty piece.
+     */
+    private int emptyPieceIndex;
+
+    /**
+     * The level at which this node was encountered
+     */
+    private final int level;
+
+    /**
+     * The parent node of this node.
+     */
+    private final SlidingPuzzleNode parent;
+
+    /**
+     * The piece the parent moved to get to this board
+     */
+    private final int movedPiece;
+
+    /**
+     * The heuristic value of this board (see {@link #getHValue()}). This is calculated once, when the board is
+     * constructed, since it is read many times while searching (e.g., on every comparison in a priority queue).
+     */
+    private final int hValue;
+
+    /**
+     * The heuristic used to calculate the heuristic value of this board and all boards that follow it. This is not
+     * saved with the board, as it is only needed while searching.
+     */
+    private final transient Heuristic heuristic;
+
+    /**
+     * The heuristic used when none is given.
+     */
+    private static final Heuristic DEFAULT_HEURISTIC = new ManhattanDistance();
+
+    /**
+     * Construct a new initial board
+     */
+    public SlidingPuzzleNode(int[][] pieces) {
+        this(pieces, DEFAULT_HEURISTIC);
+    }
+
+    /**
+     * Construct a new initial board, using the given heuristic to estimate its distance from a solution.
+     */
+    public SlidingPuzzleNode(int[][] pieces, Heuristic heuristic) {
+        this(pieces, null, 0, -1, heuristic);
+    }
+
+    /**
+     * Construct a new board.
+     *
+     * @param pieces     the pieces on the board, in order from top-left to bottom-right
+     * @param parent     the board that led to this board
+     * @param level      the level that this board was encountered at
+     * @param movedPiece the piece moved to get to this board
+     */
+    public SlidingPuzzleNode(int[][] pieces, SlidingPuzzleNode parent, int level, int movedPiece) {
+        this(pieces, parent, level, movedPiece, parent != null ? parent.getHeuristic() : DEFAULT_HEURISTIC);
+    }
+
+    /**
+     * Construct a new board.
+     *
+     * @param pieces     the pieces on the board, in order from top-left to bottom-right
+     * @param parent     the board that led to this board
+     * @param level      the level that this board was encountered at
+     * @param movedPiece the piece moved to get to this board
+     * @param heuristic  the heuristic used to estimate the distance of this board and the boards that follow it
+     */
+    public SlidingPuzzleNode(int[][] pieces, SlidingPuzzleNode parent, int level, int movedPiece, Heuristic heuristic) {
+        this.BOARD_SIZE = pieces.length;
+        this.emptyPieceNumber = this.BOARD_SIZE * this.BOARD_SIZE;
+        this.movedPiece = movedPiece;
+        this.parent = parent;
+        this.level = level;
+        this.heuristic = heuristic;
+        this.emptyPieceIndex = validateBoardPieces(pieces);
+        if (PackedBoard.canPack(this.BOARD_SIZE)) {
+            this.boardPieces = null;
+            this.packedPieces = PackedBoard.pack(pieces);
+        } else {
+            this.boardPieces = new int[pieces.length][];
+            for (int i = 0; i < pieces.length; i++) {
+                this.boardPieces[i] = Arrays.copyOf(pieces[i], pieces[i].length);
+            }
+            this.packedPieces = 0L;
+        }
+        this.hValue = heuristic.evaluate(getFlatPieces(), this.BOARD_SIZE);
+    }
+
+    /**
+     * Construct a new board from an already validated board. This is used when moving from one board to the next,
+     * so that the pieces don't need to be copied or validated again.
+     *
+     * @param boardSize       the number of rows/columns in the board
+     * @param packedPieces    the packed pieces on the board, if the board can be packed
+     * @param boardPieces     the pieces on the board, if the board can't be packed; otherwise <code>null</code>
+     * @param emptyPieceIndex the position of the empty piece on the board
+     * @param parent          the board that led to this board
+     * @param level           the level that this board was encountered at
+     * @param movedPiece      the piece moved to get to this board
+     * @param hValue          the heuristic value of the board
+     * @param heuristic       the heuristic used to estimate the distance of the board
+     */
+    private SlidingPuzzleNode(int boardSize, long packedPieces, int[][] boardPieces, int emptyPieceIndex,
+                              SlidingPuzzleNode parent, int level, int movedPiece, int hValue, Heuristic heuristic) {
+        this.BOARD_SIZE = boardSize;
+        this.emptyPieceNumber = boardSize * boardSize;
+        this.packedPieces = packedPieces;
+        this.boardPieces = boardPieces;
+        this.emptyPieceIndex = emptyPieceIndex;
+        this.parent = parent;
+        this.level = level;
+        this.movedPiece = movedPiece;
+        this.hValue = hValue;
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Checks that the given array contains all valid numbers, i.e., that it is a square board containing each number
+     * from 1 to the number of positions exactly once.
+     *
+     * @return the position of the empty piece, counting from the top-left, row by row
+     * @throws IllegalArgumentException if the given array does not contain all valid numbers
+     * */
+    public static int validateBoardPieces(int[][] pieces) {
+        int maxBoardNumber = pieces.length * pieces.length;
+        int emptyPieceIndex = -1;
+        boolean[] piecesAdded = new boolean[maxBoardNumber + 1];
+
+        for (int i = 0; i < pieces.length; i++) {
+            if (pieces[i].length != pieces.length) {  // only allowing square boards for now
+                throw new IllegalArgumentException();
+            }
+
+            for (int j = 0; j < pieces[i].length; j++) {
+                int pieceNumber = pieces[i][j];
+                if (pieceNumber < 1 || pieceNumber > maxBoardNumber || piecesAdded[pieceNumber]) {
+                    throw new IllegalArgumentException();
+                }
+                piecesAdded[pieceNumber] = true;
+
+                // Save the position of the blank piece for future use.
+                if (pieceNumber == maxBoardNumber) {
+                    emptyPieceIndex = i * pieces.length + j;
+                }
+            }
+        }
+        return emptyPieceIndex;
+    }
+
+    /**
+     * @param index the position on the board, counting from the top-left, row by row. 0 indexed.
+     * @return the piece at the given position
+     */
+    private int getPiece(int index) {
+        if (boardPieces == null) {
+            return PackedBoard.getPiece(packedPieces, index);
+        }
+        BoardTables tables = BoardTables.forSize(BOARD_SIZE);
+        return boardPieces[tables.getRow(index)][tables.getColumn(index)];
+    }
+
+    /**
+     * @return the pieces on this board in a single array, in order from top-left to bottom-right
+     */
+    public int[] getFlatPieces() {
+        if (boardPieces == null) {
+            return PackedBoard.unpackFlat(packedPieces, BOARD_SIZE);
+        }
+        int[] pieces = new int[BOARD_SIZE * BOARD_SIZE];
+        for (int i = 0; i < pieces.length; i++) {
+            pieces[i] = getPiece(i);
+        }
+        return pieces;
+    }
+
+    /**
+     * @return the heuristic used for this board. Boards loaded from storage don't have one, so they use the default.
+     */
+    public Heuristic getHeuristic() {
+        return heuristic != null ? heuristic : DEFAULT_HEURISTIC;
+    }
+
+    /**
+     * @return the pieces on this board
+     */
+    public int[][] getBoardPieces() {
+        if (this.boardPieces == null) {
+            return PackedBoard.unpack(this.packedPieces, BOARD_SIZE);
+        }
+        int[][] result = new int[this.boardPieces.length][this.boardPieces.length];
+        for (int i = 0; i < this.boardPieces.length; i++) {
+            result[i] = Arrays.copyOf(this.boardPieces[i], this.boardPieces[i].length);
+        }
+        return result;
+    }
+
+    /**
+     * @return the positions of the pieces that can be moved into the empty space on this board
+     */
+    private int[] getMoves() {
+        return BoardTables.forSize(BOARD_SIZE).getMoves(emptyPieceIndex);
+    }
+
+    /**
+     * @return a list of the next board nodes. Meaning, it returns all possible boards that can result from
+     * 1 move forward from this position.
+     */
+    @Override
+    public List<Node> getNextNodes() {
+        int[] moves = getMoves();
+        List<Node> nodes = new ArrayList<>(moves.length);
+
+        // The pieces of this board, which each move is applied to (and undone from) to calculate the heuristic values
+        int[] pieces = getFlatPieces();
+        for (int pieceToSwapsIndex : moves) {
+            nodes.add(createChild(pieces, pieceToSwapsIndex));
+        }
+        return nodes;
+    }
+
+    @Override
+    public int getMoveCount() {
+        return getMoves().length;
+    }
+
+    @Override
+    public long getPackedStateAfterMove(int move) {
+        return PackedBoard.swapPieces(packedPieces, emptyPieceIndex, getMoves()[move]);
+    }
+
+    /**
+     * Packed boards are moved without any arrays: the long is swapped, and the heuristic is given the packed board.
+     * Only boards too large to be packed need their pieces in an array.
+     */
+    @Override
+    public SlidingPuzzleNode applyMove(int move) {
+        int pieceToSwapsIndex = getMoves()[move];
+        if (boardPieces != null) {
+            return createChild(getFlatPieces(), pieceToSwapsIndex);
+        }
+        Heuristic heuristic = getHeuristic();
+        int pieceToSwap = PackedBoard.getPiece(packedPieces, pieceToSwapsIndex);
+        long childPieces = PackedBoard.swapPieces(packedPieces, emptyPieceIndex, pieceToSwapsIndex);
+        int childHValue = heuristic.evaluateMove(hValue, childPieces, BOARD_SIZE, pieceToSwap, pieceToSwapsIndex,
+                emptyPieceIndex);
+        return new SlidingPuzzleNode(BOARD_SIZE, childPieces, null, pieceToSwapsIndex,
+                this, level + 1, pieceToSwap, childHValue, heuristic);
+    }
+
+    /**
+     * Creates the board that follows from this one by moving the piece at the given position into the empty space.
+     *
+     * @param pieces            the pieces of this board in a single array, which the move is applied to (and undone
+     *                          from) to calculate the heuristic value of the new board
+     * @param pieceToSwapsIndex the position of the piece to move
+     * @return the new board
+     */
+    private SlidingPuzzleNode createChild(int[] pieces, int pieceToSwapsIndex) {
+        Heuristic heuristic = getHeuristic();
+        int pieceToSwap = getPiece(pieceToSwapsIndex);
+
+        pieces[emptyPieceIndex] = pieceToSwap;
+        pieces[pieceToSwapsIndex] = emptyPieceNumber;
+        int childHValue = heuristic.evaluateMove(hValue, pieces, BOARD_SIZE, pieceToSwap,
+                pieceToSwapsIndex, emptyPieceIndex);
+        pieces[pieceToSwapsIndex] = pieceToSwap;
+        pieces[emptyPieceIndex] = emptyPieceNumber;
+
+        if (boardPieces == null) {
+            // Packed boards are swapped with bit operations, without copying any arrays
+            long childPieces = PackedBoard.swapPieces(packedPieces, emptyPieceIndex, pieceToSwapsIndex);
+            return new SlidingPuzzleNode(BOARD_SIZE, childPieces, null, pieceToSwapsIndex,
+                    this, level + 1, pieceToSwap, childHValue, heuristic);
+        }
+        // Copy the board with the pieces swapped
+        int[][] boardCopy = new int[boardPieces.length][];
+        for (int row = 0; row < boardPieces.length; row++) {
+            boardCopy[row] = boardPieces[row].clone();
+        }
+        BoardTables tables = BoardTables.forSize(BOARD_SIZE);
+        boardCopy[tables.getRow(pieceToSwapsIndex)][tables.getColumn(pieceToSwapsIndex)] = emptyPieceNumber;
+        boardCopy[tables.getRow(emptyPieceIndex)][tables.getColumn(emptyPieceIndex)] = pieceToSwap;
+
+        return new SlidingPuzzleNode(BOARD_SIZE, 0L, boardCopy, pieceToSwapsIndex,
+                this, level + 1, pieceToSwap, childHValue, heuristic);
+    }
+
+    /**
+     * @return the level that this board was encountered at.
+     */
+    @Override
+    public int getLevel() {
+        return level;
+    }
+
+
+    /**
+     * @return the parent board, i.e., the board that after 1 move, led to this board.
+     */
+    @Override
+    public Node getParent() {
+        // Parent is a SlidingPuzzleMove but that implements Interfaces.INode, so it can be returned polymorphically.
+        return parent;
+    }
+
+
+    /**
+     * @return <code>true</code> if this node is a solved board; otherwise <code>false</code>
+     */
+    @Override
+    public boolean isSolution() {
+        if (getHValue() != 0) {
+            return false;
+        }
+        // Every heuristic is 0 for a solved board, so only boards with a value of 0 need to be checked piece by piece
+        for (int i = 0; i < BOARD_SIZE * BOARD_SIZE; i++) {
+            if (getPiece(i) != i + 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * @return the solved board of the same size, which uses the same heuristic as this board
+     */
+    @Override
+    public SlidingPuzzleNode getSolutionNode() {
+        int[][] pieces = new int[BOARD_SIZE][BOARD_SIZE];
+        for (int i = 0; i < BOARD_SIZE * BOARD_SIZE; i++) {
+            pieces[i / BOARD_SIZE][i % BOARD_SIZE] = i + 1;
+        }
+        return new SlidingPuzzleNode(pieces, getHeuristic());
+    }
+
+    /**
+     * @return <code>true</code> if this board can be solved; otherwise <code>false</code> (see
+     * {@link #isSolvable(int[], int)})
+     */
+    @Override
+    public boolean isSolvable() {
+        return isSolvable(getFlatPieces(), BOARD_SIZE);
+    }
+
+    /**
+     * Checks whether a board can be solved. Every move swaps the empty piece with a neighbor, which flips the parity of
+     * the permutation of the pieces (counting the empty piece) and of the empty piece's distance from its solved
+     * position. The solved board has both even, so a board can only be solved if both parities are the same, and every
+     * such board can be solved. The parity of the permutation is found by counting its cycles, which takes one pass.
+     *
+     * @param pieces    the pieces on the board, in order from top-left to bottom-right
+     * @param boardSize the number of rows/columns in the board
+     * @return <code>true</code> if the board can be solved; otherwise <code>false</code>
+     */
+    public static boolean isSolvable(int[] pieces, int boardSize) {
+        int emptyPieceNumber = getEmptyPieceNumber(boardSize);
+        boolean[] visited = new boolean[pieces.length];
+        int parity = 0;
+        int emptyPieceIndex = -1;
+
+        for (int i = 0; i < pieces.length; i++) {
+            if (pieces[i] == emptyPieceNumber) {
+                emptyPieceIndex = i;
+            }
+            if (visited[i]) {
+                continue;
+            }
+            // A cycle of length k takes k - 1 swaps
+            int cycleLength = 0;
+            for (int j = i; !visited[j]; j = pieces[j] - 1) {
+                visited[j] = true;
+                cycleLength++;
+            }
+            parity ^= (cycleLength - 1) & 1;
+        }
+
+        int emptyPieceDistance = ManhattanDistance.distance(emptyPieceNumber, emptyPieceIndex, boardSize);
+        return parity == (emptyPieceDistance & 1);
+    }
+
+    /**
+     * Returns the total estimated cost of using this node to get to the solution, which is the level (G-value) + the
+     * estimated cost of getting to the solution (H-value).
+     *
+     * @return the total estimated cost of using this node to get to the solution.
+     */
+    public int getFValue() {
+        return getGValue() + getHValue();
+    }
+
+
+    /**
+     * Returns the minimum number of moves REMAINING to get from this node to a solution, as estimated by the board's
+     * heuristic (see {@link Heuristic}).
+     *
+     * @return the minimum number of moves REMAINING to get from this node to a solution.
+     */
+    @Override
+    public int getHValue() {
+        return hValue;
+    }
+
+
+    /**
+     * @return the actual cost (number of moves) used to get to this node, which is the level here.
+     */
+    @Override
+    public int getGValue() {
+        return getLevel();
+    }
+
+    /**
+     * @return the last piece moved to get to this board.
+     */
+    public int getMovedPiece() {
+        return movedPiece;
+    }
+
+    /**
+     * @return the value that represents the empty pieces on this board
+     */
+    public int getEmptyPieceNumber() {
+        return this.emptyPieceNumber;
+    }
+
+    /**
+     * @return <code>true</code> if this board is packed into a long, which is the case for boards up to
+     * {@link PackedBoard#MAX_BOARD_SIZE}.
+     */
+    @Override
+    public boolean hasPackedState() {
+        return boardPieces == null;
+    }
+
+    /**
+     * @return the pieces on this board packed into a long (see {@link PackedBoard}). Only valid if
+     * {@link #hasPackedState()} is <code>true</code>.
+     */
+    @Override
+    public long getPackedState() {
+        return packedPieces;
+    }
+
+    /**
+     * @return the board with the given packed pieces, which uses the same heuristic as this board. Only valid if
+     * {@link #hasPackedState()} is <code>true</code>.
+     */
+    @Override
+    public SlidingPuzzleNode getNodeWithPackedState(long packedState, int level, int hValue) {
+        int emptyPieceIndex = PackedBoard.indexOf(packedState, emptyPieceNumber, BOARD_SIZE);
+        return new SlidingPuzzleNode(BOARD_SIZE, packedState, null, emptyPieceIndex, null, level, -1, hValue,
+                getHeuristic());
+    }
+
+    public static int getEmptyPieceNumber(int boardSize) {
+        return boardSize * boardSize;
+    }
+
+    /**
+     * Boards are equal if all pieces are in the same order.
+     */
+    @Override
+    public boolean equals(Object board) {
+        if (board == null || board.getClass() != SlidingPuzzleNode.class) {
+            return false;
+        }
+        SlidingPuzzleNode other = (SlidingPuzzleNode) board;
+        if (this.boardPieces == null || other.boardPieces == null) {
+            return this.BOARD_SIZE == other.BOARD_SIZE && this.boardPieces == other.boardPieces
+                    && this.packedPieces == other.packedPieces;
+        }
+        return Arrays.deepEquals(this.boardPieces, other.boardPieces);
+    }
+
+    /**
+     * The hashcode is solely based on the layout of the pieces on the board, as boards are only considered unique by
+     * the layout of their pieces so that search can ignore duplicate positions already evaluated.
+     */
+    @Override
+    public int hashCode() {
+        if (this.boardPieces == null) {
+            return (int) PackedBoard.hash(this.packedPieces);
+        }
+        return Arrays.deepHashCode(this.boardPieces);
+    }
+
+    @Override
+    public String toString() {
+        // todo update method to use string.join
+        StringBuilder result = new StringBuilder();
+
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            for (int j = 0; j < BOARD_SIZE; j++) {
+                result.append(getPiece(i * BOARD_SIZE + j));
+
+                // Add '-' if it's not the last element
+                if (i != BOARD_SIZE - 1 || j != BOARD_SIZE - 1) {
+                    result.append("-");
+                }
+            }
+        }
+
+        return result.toString();
+    }
+}
@@ -0,0 +1,505 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers the solutions found for boards, so that solving a board again doesn't need a search. The most recently used
+ * boards are kept in memory, and all solutions are also appended to a file, so that they are remembered between runs.
+ * <p>
+ * Each board on a fastest solution's path also has a known fastest solution: the rest of the path. So a fastest
+ * solution is remembered for every board on its path, all sharing the one list of moves. The moves are kept as the
+ * directions the empty piece moves in, 2 bits each.
+ * <p>
+ * A board and its mirror image across the top-left to bottom-right diagonal (with the pieces renumbered to match) take
+ * the same moves to solve, mirrored. Both are stored as whichever of the two comes first, so a solution of one is also
+ * found for the other.
+ */
+public class SolutionCache {
+    /**
+     * Identifies a solution cache file.
+     */
+    private static final int FILE_MAGIC_NUMBER = 0x534F4C31;  // "SOL1"
+
+    private static final String FILE_NAME = "solution_cache";
+
+    /**
+     * The default number of boards to keep in memory and in the file
+     */
+    public static final int DEFAULT_CAPACITY = 10_000;
+    public static final int DEFAULT_FILE_CAPACITY = 100_000;
+
+    /**
+     * Solutions with more moves than this are not stored.
+     */
+    private static final int MAX_MOVE_COUNT = 0xFFFF;
+
+    private static final int BITS_PER_MOVE = BoardTables.BITS_PER_DIRECTION;
+    private static final int MOVES_PER_BYTE = 8 / BITS_PER_MOVE;
+
+    /**
+     * The file the solutions are appended to, or <code>null</code> to keep them in memory only
+     */
+    private final File file;
+
+    /**
+     * The most boards to index in the file. Once there are more, only the newest solutions are kept.
+     */
+    private final int fileCapacity;
+
+    /**
+     * The most recently used boards, least recently used first
+     */
+    private final LinkedHashMap<Key, CachedSolution> entries;
+
+    /**
+     * Where the solution of each board in the file is, as the offset of its record, the index of the board's first
+     * move in the record and its flags (see {@link #toFileLocation(long, int, boolean, boolean)}). This is only read
+     * from the file the first time it is needed.
+     */
+    private Map<Key, Long> fileIndex;
+
+    /**
+     * Construct a solution cache that keeps the given number of boards in memory only.
+     */
+    public SolutionCache(int capacity) {
+        this(capacity, null, 0);
+    }
+
+    /**
+     * Construct a solution cache that also keeps its solutions in a file in the given directory.
+     *
+     * @param capacity     the most boards to keep in memory
+     * @param directory    the directory to keep the file in, or <code>null</code> to keep the solutions in memory only
+     * @param fileCapacity the most boards to keep in the file
+     */
+    public SolutionCache(int capacity, File directory, int fileCapacity) {
+        this.file = directory != null ? new File(directory, FILE_NAME) : null;
+        this.fileCapacity = fileCapacity;
+        this.entries = new LinkedHashMap<Key, CachedSolution>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedSolution> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Find a remembered solution of the given board.
+     *
+     * @param node        the board to find a solution for
+     * @param fastestOnly whether only a fastest solution should be returned
+     * @return the solution, or <code>null</code> if none is remembered
+     */
+    public synchronized SearchResult<SlidingPuzzleNode> get(SlidingPuzzleNode node, boolean fastestOnly) {
+        SearchStatistics statistics = new SearchStatistics();
+        int[] pieces = node.getFlatPieces();
+        Key key = Key.of(pieces);
+
+        CachedSolution entry = entries.get(key);
+        if (entry == null) {
+            entry = readFromFile(key);
+            if (entry != null) {
+                entries.put(key, entry);
+            }
+        }
+        if (entry == null || (fastestOnly && !entry.isFastest)) {
+            return null;
+        }
+
+        int[] movedPieces = new int[entry.moveCount];
+        BoardTables tables = BoardTables.forSize((int) Math.sqrt(pieces.length));
+        int emptyPieceIndex = BoardTables.indexOf(pieces, pieces.length);
+        boolean mirrored = entry.isMirrored != key.isMirrored;
+        for (int i = 0; i < movedPieces.length; i++) {
+            int direction = getDirection(entry.moves, entry.firstMove + i);
+            int pieceIndex = tables.move(pieces, emptyPieceIndex,
+                    mirrored ? BoardTables.getMirroredDirection(direction) : direction);
+            movedPieces[i] = pieces[emptyPieceIndex];
+            emptyPieceIndex = pieceIndex;
+        }
+        statistics.finish();
+        return new SearchResult<>(node, movedPieces, statistics);
+    }
+
+    /**
+     * Remember the solution of the given result, if it has one. For a fastest solution, the rest of the solution is
+     * remembered for every board on its path too.
+     *
+     * @param result    the result of a search
+     * @param isFastest whether the solution is a fastest solution
+     */
+    public synchronized void put(SearchResult<SlidingPuzzleNode> result, boolean isFastest) {
+        if (!result.getSolutionWasFound()) {
+            return;
+        }
+        int[] movedPieces = result.getMovedPieces();
+        if (movedPieces.length > MAX_MOVE_COUNT) {
+            return;
+        }
+        int[] pieces = result.getStartNode().getFlatPieces();
+        BoardTables tables = BoardTables.forSize((int) Math.sqrt(pieces.length));
+        int[] startPieces = pieces.clone();
+
+        // Make the moves once to find their directions and the boards on the path
+        byte[] moves = new byte[(movedPieces.length + MOVES_PER_BYTE - 1) / MOVES_PER_BYTE];
+        Key[] keys = new Key[isFastest ? Math.max(movedPieces.length, 1) : 1];
+        keys[0] = Key.of(pieces);
+        int emptyPieceIndex = BoardTables.indexOf(pieces, pieces.length);
+        for (int i = 0; i < movedPieces.length; i++) {
+            if (i > 0 && i < keys.length) {
+                keys[i] = Key.of(pieces);
+            }
+            int direction = tables.findDirection(pieces, emptyPieceIndex, movedPieces[i]);
+            moves[i / MOVES_PER_BYTE] |= (byte) (direction << (i % MOVES_PER_BYTE * BITS_PER_MOVE));
+            emptyPieceIndex = tables.move(pieces, emptyPieceIndex, direction);
+        }
+
+        for (int i = 0; i < keys.length; i++) {
+            CachedSolution entry = new CachedSolution(moves, i, movedPieces.length - i, isFastest, keys[i].isMirrored);
+            CachedSolution existing = entries.get(keys[i]);
+            if (existing == null || entry.isBetterThan(existing)) {
+                entries.put(keys[i], entry);
+            }
+        }
+        writeToFile(startPieces, moves, movedPieces.length, isFastest, keys);
+    }
+
+    /**
+     * @return the number of boards in memory
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Loads the index of the file ahead of time, so that the first lookup doesn't have to. This reads the whole file,
+     * so it should not be done on the UI thread.
+     */
+    public synchronized void prepare() {
+        getFileIndex();
+    }
+
+    private CachedSolution readFromFile(Key key) {
+        Map<Key, Long> fileIndex = getFileIndex();
+        Long location = fileIndex != null ? fileIndex.get(key) : null;
+        if (location == null) {
+            return null;
+        }
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            input.seek(location >>> 18);
+            Record record = Record.read(input);
+            int firstMove = (int) (location >>> 2) & 0xFFFF;
+            return new CachedSolution(record.moves, firstMove, record.moveCount - firstMove, (location & 1) != 0,
+                    (location & 2) != 0);
+        } catch (IOException e) {
+            // The file is unusable, so it is only used from memory from now on
+            this.fileIndex = null;
+            return null;
+        }
+    }
+
+    private void writeToFile(int[] pieces, byte[] moves, int moveCount, boolean isFastest, Key[] keys) {
+        Map<Key, Long> fileIndex = getFileIndex();
+        if (fileIndex == null) {
+            return;
+        }
+        try {
+            long offset = file.length();
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(file, true)))) {
+                if (offset == 0) {
+                    output.writeInt(FILE_MAGIC_NUMBER);
+                    offset = Integer.BYTES;
+                }
+                new Record(pieces, moves, moveCount, isFastest).write(output);
+            }
+            indexRecord(fileIndex, offset, isFastest, keys);
+            if (fileIndex.size() > fileCapacity) {
+                compactFile();
+            }
+        } catch (IOException e) {
+            // Saving is only an optimization for next time, so the solution is still kept in memory
+            this.fileIndex = null;
+        }
+    }
+
+    /**
+     * @return the index of the file, read from the file the first time, or <code>null</code> if there is no usable file
+     */
+    private Map<Key, Long> getFileIndex() {
+        if (this.fileIndex != null || file == null) {
+            return this.fileIndex;
+        }
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            return null;
+        }
+        Map<Key, Long> fileIndex = new HashMap<>();
+        if (file.exists()) {
+            try {
+                long end = Integer.BYTES;
+                for (Map.Entry<Long, Record> record : readAllRecords().entrySet()) {
+                    indexRecord(fileIndex, record.getKey(), record.getValue().isFastest, record.getValue().getKeys());
+                    end = record.getKey() + record.getValue().getSize();
+                }
+                if (file.length() > end) {
+                    // Drop a record that was only partly written, so that new records are appended after whole ones
+                    try (RandomAccessFile output = new RandomAccessFile(file, "rw")) {
+                        output.setLength(end);
+                    }
+                }
+            } catch (IOException e) {
+                // The file is unusable, so it is started again
+                if (!file.delete()) {
+                    return null;
+                }
+                fileIndex.clear();
+            }
+        }
+        this.fileIndex = fileIndex;
+        return fileIndex;
+    }
+
+    /**
+     * Rewrites the file with only the newest solutions, which take up half the file's capacity.
+     */
+    private void compactFile() throws IOException {
+        List<Record> records = new ArrayList<>(readAllRecords().values());
+        int keptBoards = 0;
+        int firstKept = records.size();
+        while (firstKept > 0 && keptBoards + records.get(firstKept - 1).getBoardCount() <= fileCapacity / 2) {
+            firstKept--;
+            keptBoards += records.get(firstKept).getBoardCount();
+        }
+
+        // Write to a temporary file first, so that a partly written file is never read
+        File temporaryFile = new File(file.getParentFile(), FILE_NAME + ".tmp");
+        Map<Key, Long> fileIndex = new HashMap<>();
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(temporaryFile)))) {
+            output.writeInt(FILE_MAGIC_NUMBER);
+            for (Record record : records.subList(firstKept, records.size())) {
+                indexRecord(fileIndex, output.size(), record.isFastest, record.getKeys());
+                record.write(output);
+            }
+        }
+        if (!temporaryFile.renameTo(file)) {
+            temporaryFile.delete();
+            throw new IOException("Couldn't replace " + file);
+        }
+        this.fileIndex = fileIndex;
+    }
+
+    /**
+     * @return the records of the file, oldest first, by their offsets
+     */
+    private LinkedHashMap<Long, Record> readAllRecords() throws IOException {
+        LinkedHashMap<Long, Record> records = new LinkedHashMap<>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != FILE_MAGIC_NUMBER) {
+                throw new IOException("Not a solution cache: " + file);
+            }
+            long offset = Integer.BYTES;
+            while (true) {
+                Record record;
+                try {
+                    record = Record.read(input);
+                } catch (EOFException e) {
+                    // Either the end of the file, or a record that was only partly written
+                    break;
+                }
+                records.put(offset, record);
+                offset += record.getSize();
+            }
+        }
+        return records;
+    }
+
+    private static void indexRecord(Map<Key, Long> fileIndex, long offset, boolean isFastest, Key[] keys) {
+        for (int i = 0; i < keys.length; i++) {
+            Long existing = fileIndex.get(keys[i]);
+            // Newer solutions replace older ones, unless only the older one is a fastest solution
+            if (existing == null || isFastest || (existing & 1) == 0) {
+                fileIndex.put(keys[i], toFileLocation(offset, i, isFastest, keys[i].isMirrored));
+            }
+        }
+    }
+
+    /**
+     * @return the offset of a record, the index of a board's first move in the record and its flags, packed into a long
+     */
+    private static long toFileLocation(long offset, int firstMove, boolean isFastest, boolean isMirrored) {
+        return offset << 18 | (long) firstMove << 2 | (isMirrored ? 2 : 0) | (isFastest ? 1 : 0);
+    }
+
+    private static int getDirection(byte[] moves, int index) {
+        int shift = index % MOVES_PER_BYTE * BITS_PER_MOVE;
+        return (moves[index / MOVES_PER_BYTE] >>> shift) & ((1 << BITS_PER_MOVE) - 1);
+    }
+
+    /**
+     * A board, packed into a byte per piece, as whichever of the board and its mirror image comes first.
+     */
+    private static final class Key {
+        private final byte[] pieces;
+        private final int hashCode;
+
+        /**
+         * Whether the key is the mirror image of the board it was made from
+         */
+        private final boolean isMirrored;
+
+        private Key(byte[] pieces, boolean isMirrored) {
+            this.pieces = pieces;
+            this.hashCode = Arrays.hashCode(pieces);
+            this.isMirrored = isMirrored;
+        }
+
+        static Key of(int[] pieces) {
+            int boardSize = (int) Math.sqrt(pieces.length);
+            byte[] board = new byte[pieces.length];
+            byte[] mirror = new byte[pieces.length];
+            for (int i = 0; i < pieces.length; i++) {
+                board[i] = (byte) pieces[i];
+                // The piece at row r and column c moves to row c and column r, and the piece that belongs at row r
+                // and column c is renumbered to the piece that belongs at row c and column r
+                int goalIndex = pieces[i] - 1;
+                int mirroredPiece = goalIndex % boardSize * boardSize + goalIndex / boardSize + 1;
+                mirror[i % boardSize * boardSize + i / boardSize] = (byte) mirroredPiece;
+            }
+            for (int i = 0; i < pieces.length; i++) {
+                if (board[i] != mirror[i]) {
+                    return board[i] < mirror[i] ? new Key(board, false) : new Key(mirror, true);
+                }
+            }
+            return new Key(board, false);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(pieces, ((Key) o).pieces);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * The solution of a board: a range of a list of moves, which may be shared with other boards on the same path.
+     */
+    private static final class CachedSolution {
+        private final byte[] moves;
+        private final int firstMove;
+        private final int moveCount;
+        private final boolean isFastest;
+
+        /**
+         * Whether the moves were found for the mirror image of the key's board, i.e., whether the key was mirrored
+         */
+        private final boolean isMirrored;
+
+        CachedSolution(byte[] moves, int firstMove, int moveCount, boolean isFastest, boolean isMirrored) {
+            this.moves = moves;
+            this.firstMove = firstMove;
+            this.moveCount = moveCount;
+            this.isFastest = isFastest;
+            this.isMirrored = isMirrored;
+        }
+
+        boolean isBetterThan(CachedSolution other) {
+            if (isFastest != other.isFastest) {
+                return isFastest;
+            }
+            return moveCount < other.moveCount;
+        }
+    }
+
+    /**
+     * A solution as saved in the file: the start board, whether it is a fastest solution, and its moves.
+     */
+    private static final class Record {
+        private final int[] pieces;
+        private final byte[] moves;
+        private final int moveCount;
+        private final boolean isFastest;
+
+        Record(int[] pieces, byte[] moves, int moveCount, boolean isFastest) {
+            this.pieces = pieces;
+            this.moves = moves;
+            this.moveCount = moveCount;
+            this.isFastest = isFastest;
+        }
+
+        static Record read(DataInput input) throws IOException {
+            int positionCount = input.readUnsignedByte();
+            boolean isFastest = input.readBoolean();
+            int[] pieces = new int[positionCount];
+            for (int i = 0; i < positionCount; i++) {
+                pieces[i] = input.readUnsignedByte();
+            }
+            int moveCount = input.readUnsignedShort();
+            byte[] moves = new byte[(moveCount + MOVES_PER_BYTE - 1) / MOVES_PER_BYTE];
+            input.readFully(moves);
+            return new Record(pieces, moves, moveCount, isFastest);
+        }
+
+        void write(DataOutputStream output) throws IOException {
+            output.writeByte(pieces.length);
+            output.writeBoolean(isFastest);
+            for (int piece : pieces) {
+                output.writeByte(piece);
+            }
+            output.writeShort(moveCount);
+            output.write(moves);
+        }
+
+        /**
+         * @return the number of bytes the record takes up in the file
+         */
+        int getSize() {
+            return 2 + pieces.length + 2 + moves.length;
+        }
+
+        /**
+         * @return the number of boards the record has a solution for
+         */
+        int getBoardCount() {
+            return isFastest ? Math.max(moveCount, 1) : 1;
+        }
+
+        /**
+         * @return the keys of the boards the record has a solution for, in order along the path
+         */
+        Key[] getKeys() {
+            Key[] keys = new Key[getBoardCount()];
+            int[] board = pieces.clone();
+            BoardTables tables = BoardTables.forSize((int) Math.sqrt(board.length));
+            int emptyPieceIndex = BoardTables.indexOf(board, board.length);
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = Key.of(board);
+                if (i < moveCount) {
+                    emptyPieceIndex = tables.move(board, emptyPieceIndex, getDirection(moves, i));
+                }
+            }
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Keeps track of the states already visited during a search.
+ * <p>
+ * Nodes with a packed state (see {@link Node#getPackedState()}) are stored by their exact packed state in an
+ * open-addressing table of primitive longs, so there is no boxing, no string building, and no two distinct states can
+ * ever be mistaken for each other. The table takes 8 bytes per slot and is kept at most 3/4 full, so memory is
+ * predictable: e.g., 2^25 slots (256MB) hold up to ~25 million states. Nodes without a packed state fall back to a
+ * regular set that compares them using {@link Object#equals(Object)}.
+ */
+public class VisitedStateSet {
+    /**
+     * The default number of states to make room for initially.
+     */
+    public static final int DEFAULT_EXPECTED_SIZE = 1 << 16;
+
+    /**
+     * The largest number of slots the table can grow to.
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * The value used to mark an empty slot. A state that is packed into this value is tracked separately.
+     */
+    private static final long EMPTY_SLOT = 0L;
+
+    private long[] slots;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+    private boolean containsEmptySlotValue = false;
+
+    /**
+     * The states that can't be packed, which are compared with equals().
+     */
+    private HashSet<Node> unpackedStates;
+
+    /**
+     * Construct a set with room for the default number of states.
+     */
+    public VisitedStateSet() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Construct a set with room for the given number of states before it needs to grow.
+     *
+     * @param expectedSize the number of states expected to be added
+     */
+    public VisitedStateSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) Math.min(MAX_CAPACITY, expectedSize * 4L / 3)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Add the given node's state to the set.
+     *
+     * @return <code>true</code> if the state was not already in the set; otherwise <code>false</code>
+     */
+    public boolean add(Node node) {
+        if (node.hasPackedState()) {
+            return add(node.getPackedState());
+        }
+        if (unpackedStates == null) {
+            unpackedStates = new HashSet<>();
+        }
+        return unpackedStates.add(node);
+    }
+
+    /**
+     * @return <code>true</code> if the given node's state is in the set; otherwise <code>false</code>
+     */
+    public boolean contains(Node node) {
+        if (node.hasPackedState()) {
+            return contains(node.getPackedState());
+        }
+        return unpackedStates != null && unpackedStates.contains(node);
+    }
+
+    /**
+     * Checks whether the state that a move leads to is in the set, before the node it leads to is created (see
+     * {@link Node#applyMove(int)}). This can only be known for nodes with a packed state; for other nodes, the node
+     * the move leads to needs to be created and added to find out.
+     *
+     * @param node the node the move is made from
+     * @param move the number of the move
+     * @return <code>true</code> if the state after the move is known to be in the set; otherwise <code>false</code>
+     */
+    public boolean containsAfterMove(Node node, int move) {
+        return node.hasPackedState() && contains(node.getPackedStateAfterMove(move));
+    }
+
+    /**
+     * Add the given packed state to the set.
+     *
+     * @return <code>true</code> if the state was not already in the set; otherwise <code>false</code>
+     */
+    public boolean add(long packedState) {
+        if (packedState == EMPTY_SLOT) {
+            if (containsEmptySlotValue) {
+                return false;
+            }
+            containsEmptySlotValue = true;
+            size++;
+            return true;
+        }
+
+        int index = indexFor(packedState);
+        while (slots[index] != EMPTY_SLOT) {
+            if (slots[index] == packedState) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = packedState;
+        size++;
+        if (size > resizeThreshold) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> if the given packed state is in the set; otherwise <code>false</code>
+     */
+    public boolean contains(long packedState) {
+        if (packedState == EMPTY_SLOT) {
+            return containsEmptySlotValue;
+        }
+
+        int index = indexFor(packedState);
+        while (slots[index] != EMPTY_SLOT) {
+            if (slots[index] == packedState) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of states in the set
+     */
+    public int size() {
+        return size + (unpackedStates == null ? 0 : unpackedStates.size());
+    }
+
+    /**
+     * Remove all states from the set, keeping the memory already allocated.
+     */
+    public void clear() {
+        Arrays.fill(slots, EMPTY_SLOT);
+        size = 0;
+        containsEmptySlotValue = false;
+        unpackedStates = null;
+    }
+
+    private int indexFor(long packedState) {
+        // Mix the bits so that similar boards are spread out over the table
+        return (int) PackedBoard.hash(packedState) & mask;
+    }
+
+    private void allocate(int capacity) {
+        this.slots = new long[capacity];
+        this.mask = capacity - 1;
+        this.resizeThreshold = capacity == MAX_CAPACITY ? MAX_CAPACITY - 1 : capacity / 4 * 3;
+    }
+
+    private void grow() {
+        if (slots.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Too many states to keep track of");
+        }
+        long[] oldSlots = slots;
+        allocate(oldSlots.length * 2);
+        for (long packedState : oldSlots) {
+            if (packedState != EMPTY_SLOT) {
+                int index = indexFor(packedState);
+                while (slots[index] != EMPTY_SLOT) {
+                    index = (index + 1) & mask;
+                }
+                slots[index] = packedState;
+            }
+        }
+    }
+}
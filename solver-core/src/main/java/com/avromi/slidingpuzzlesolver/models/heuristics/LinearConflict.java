@@ -0,0 +1,103 @@
+package com.avromi.slidingpuzzlesolver.models.heuristics;
+
+import com.avromi.slidingpuzzlesolver.models.classes.BoardTables;
+import com.avromi.slidingpuzzlesolver.models.classes.PackedBoard;
+
+/**
+ * The manhattan distance heuristic plus linear conflicts. Two pieces are in a linear conflict if they are both in the
+ * row (or column) they belong in, but in the wrong order, since one of them has to leave the row to let the other pass,
+ * which costs at least 2 moves more than their manhattan distances. For each row and column, the number of pieces that
+ * have to leave is the number of pieces that belong there minus the longest run of them that are already in order.
+ */
+public class LinearConflict extends ManhattanDistance {
+
+    @Override
+    public int evaluate(int[] pieces, int boardSize) {
+        BoardTables tables = BoardTables.forSize(boardSize);
+        int conflicts = 0;
+        for (int line = 0; line < boardSize; line++) {
+            conflicts += lineConflicts(pieces, tables, line, true, -1, 0);
+            conflicts += lineConflicts(pieces, tables, line, false, -1, 0);
+        }
+        return super.evaluate(pieces, boardSize) + 2 * conflicts;
+    }
+
+    /**
+     * A move only changes the conflicts of the two lines the piece moved between: a vertical move changes the rows the
+     * piece left and entered, and a horizontal move changes the columns. The order of the pieces in the line the piece
+     * moved along stays the same, since the empty space doesn't count.
+     */
+    @Override
+    public int evaluateMove(int hValue, int[] pieces, int boardSize, int movedPiece, int fromIndex, int toIndex) {
+        BoardTables tables = BoardTables.forSize(boardSize);
+        int emptyPieceNumber = boardSize * boardSize;
+        boolean movedVertically = tables.getColumn(fromIndex) == tables.getColumn(toIndex);
+        int fromLine = movedVertically ? tables.getRow(fromIndex) : tables.getColumn(fromIndex);
+        int toLine = movedVertically ? tables.getRow(toIndex) : tables.getColumn(toIndex);
+
+        int conflictsBefore = lineConflicts(pieces, tables, fromLine, movedVertically, fromIndex, movedPiece)
+                + lineConflicts(pieces, tables, toLine, movedVertically, toIndex, emptyPieceNumber);
+        int conflictsAfter = lineConflicts(pieces, tables, fromLine, movedVertically, -1, 0)
+                + lineConflicts(pieces, tables, toLine, movedVertically, -1, 0);
+
+        return super.evaluateMove(hValue, pieces, boardSize, movedPiece, fromIndex, toIndex)
+                + 2 * (conflictsAfter - conflictsBefore);
+    }
+
+    /**
+     * Unlike the manhattan distance, the conflicts depend on the other pieces in the lines, so the board is unpacked.
+     */
+    @Override
+    public int evaluateMove(int hValue, long packedPieces, int boardSize, int movedPiece, int fromIndex,
+                            int toIndex) {
+        return evaluateMove(hValue, PackedBoard.unpackFlat(packedPieces, boardSize), boardSize, movedPiece, fromIndex,
+                toIndex);
+    }
+
+    /**
+     * Calculates the number of pieces that have to leave a row or column to resolve its linear conflicts.
+     *
+     * @param pieces        the pieces on the board
+     * @param tables        the tables of the board size
+     * @param line          the index of the row or column
+     * @param isRow         <code>true</code> to process a row; <code>false</code> to process a column
+     * @param overrideIndex a position to treat as holding <code>overridePiece</code> instead of its actual piece, or -1
+     * @param overridePiece the piece to use at <code>overrideIndex</code>
+     * @return the number of pieces that have to leave the line
+     */
+    private static int lineConflicts(int[] pieces, BoardTables tables, int line, boolean isRow,
+                                     int overrideIndex, int overridePiece) {
+        int boardSize = tables.getBoardSize();
+        int emptyPieceNumber = boardSize * boardSize;
+        int piecesInGoalLine = 0;
+        int longestInOrder = 0;
+
+        // The length of the longest in-order run ending at each goal position, 4 bits per position. Pieces that belong in
+        // the same line all have different goal positions, so each is only set once.
+        long runLengths = 0L;
+
+        for (int k = 0; k < boardSize; k++) {
+            int index = isRow ? line * boardSize + k : k * boardSize + line;
+            int piece = index == overrideIndex ? overridePiece : pieces[index];
+            if (piece == emptyPieceNumber) {
+                continue;
+            }
+
+            int goalRow = tables.getGoalRow(piece);
+            int goalColumn = tables.getGoalColumn(piece);
+            if ((isRow ? goalRow : goalColumn) != line) {
+                continue;
+            }
+            piecesInGoalLine++;
+
+            int goalPosition = isRow ? goalColumn : goalRow;
+            int runLength = 1;
+            for (int position = 0; position < goalPosition; position++) {
+                runLength = Math.max(runLength, (int) ((runLengths >>> (position * 4)) & 0xF) + 1);
+            }
+            runLengths |= (long) runLength << (goalPosition * 4);
+            longestInOrder = Math.max(longestInOrder, runLength);
+        }
+        return piecesInGoalLine - longestInOrder;
+    }
+}
@@ -0,0 +1,58 @@
+package com.avromi.slidingpuzzlesolver.models.heuristics;
+
+import com.avromi.slidingpuzzlesolver.models.classes.BoardTables;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Heuristic;
+
+/**
+ * The manhattan distance heuristic, which is the sum of the distances of all pieces from where they should be if the
+ * board were fully solved. The empty space is not counted, as it is not a piece that needs to be moved into place (and
+ * counting it would overestimate the moves remaining). The distances are looked up in the {@link BoardTables} of the
+ * board size.
+ */
+public class ManhattanDistance implements Heuristic {
+
+    @Override
+    public int evaluate(int[] pieces, int boardSize) {
+        BoardTables tables = BoardTables.forSize(boardSize);
+        int emptyPieceNumber = boardSize * boardSize;
+        int sum = 0;
+        for (int i = 0; i < pieces.length; i++) {
+            if (pieces[i] != emptyPieceNumber) {
+                sum += tables.getDistance(pieces[i], i);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Only the moved piece changed position, so only its distance needs to be updated.
+     */
+    @Override
+    public int evaluateMove(int hValue, int[] pieces, int boardSize, int movedPiece, int fromIndex, int toIndex) {
+        return hValue + BoardTables.forSize(boardSize).getDistanceChange(movedPiece, fromIndex, toIndex);
+    }
+
+    /**
+     * As with unpacked boards, only the moved piece is needed, so the board isn't unpacked.
+     */
+    @Override
+    public int evaluateMove(int hValue, long packedPieces, int boardSize, int movedPiece, int fromIndex,
+                            int toIndex) {
+        return hValue + BoardTables.forSize(boardSize).getDistanceChange(movedPiece, fromIndex, toIndex);
+    }
+
+    /**
+     * Calculate and return the manhattan distance of a given piece, which is its distance from where it should be if
+     * the board were fully solved.
+     * E.g., for a board where everything is solved but 1 is switched with 2's position, 1 and 2 will each have a
+     * manhattanDistance of 1 and the total manhattan distance of the board would be 2.
+     *
+     * @param pieceNumber the piece to process
+     * @param index       the position of the piece on the board, counting from the top-left, row by row. 0 indexed.
+     * @param boardSize   the number of rows/columns in the board
+     * @return The 'manhattanDistance' of a piece.
+     */
+    public static int distance(int pieceNumber, int index, int boardSize) {
+        return BoardTables.forSize(boardSize).getDistance(pieceNumber, index);
+    }
+}
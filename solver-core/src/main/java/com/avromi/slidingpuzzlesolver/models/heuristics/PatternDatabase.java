@@ -0,0 +1,411 @@
+package com.avromi.slidingpuzzlesolver.models.heuristics;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * An additive pattern database for a board size. The pieces are split into disjoint groups, and for every placement of
+ * a group's pieces and the empty piece on the board, a table stores the minimum number of moves of that group's pieces
+ * needed to get them all into place (moves of other pieces are free). Since only each group's own moves are counted,
+ * the values of all groups can be added together and still never overestimate the moves remaining. Keeping the position
+ * of the empty piece in the table also means that one move never changes the estimate by more than 1, which A* relies
+ * on to find the fastest solution.
+ * <p>
+ * The tables are built by searching backwards from the solved board, and take one byte per placement. They can be saved
+ * to a file once and memory-mapped when loaded, so they don't need to be built again or read into the heap.
+ */
+public class PatternDatabase {
+    /**
+     * Identifies a pattern database file.
+     */
+    private static final int FILE_MAGIC_NUMBER = 0x50444231;  // "PDB1"
+
+    /**
+     * The value of a table entry that was never reached.
+     */
+    private static final int UNREACHED = 0xFF;
+
+    private final int boardSize;
+    private final int[][] groups;
+    private final ByteBuffer[] tables;
+
+    /**
+     * The group that each piece belongs to, by piece number, or -1 for pieces not in any group (e.g., the empty piece).
+     */
+    private final int[] groupOfPiece;
+
+    /**
+     * The index of each piece within its group, by piece number.
+     */
+    private final int[] indexInGroup;
+
+    private PatternDatabase(int boardSize, int[][] groups, ByteBuffer[] tables) {
+        this.boardSize = boardSize;
+        this.groups = groups;
+        this.tables = tables;
+        this.groupOfPiece = new int[boardSize * boardSize + 1];
+        this.indexInGroup = new int[boardSize * boardSize + 1];
+        Arrays.fill(this.groupOfPiece, -1);
+        for (int group = 0; group < groups.length; group++) {
+            for (int i = 0; i < groups[group].length; i++) {
+                this.groupOfPiece[groups[group][i]] = group;
+                this.indexInGroup[groups[group][i]] = i;
+            }
+        }
+    }
+
+    /**
+     * Returns the groups used by default for the given board size. Larger groups give better estimates, but their
+     * tables grow quickly (a group of k pieces on a board with N positions has N * N!/(N-k)! placements), so these are
+     * kept small enough to be built on a phone: the default 5-5-5 split on a 4x4 board takes 3 tables of 8MB. Larger
+     * splits such as 6-6-3 on a 4x4 board can be built with {@link #build(int, int[][])} on a machine with more memory.
+     *
+     * @return the default groups, or <code>null</code> if the board size is too large for a pattern database
+     */
+    public static int[][] getDefaultGroups(int boardSize) {
+        switch (boardSize) {
+            case 2:
+                return new int[][]{{1, 2, 3}};
+            case 3:
+                return new int[][]{{1, 2, 3, 4}, {5, 6, 7, 8}};
+            case 4:
+                return new int[][]{{1, 2, 3, 5, 6}, {4, 7, 8, 11, 12}, {9, 10, 13, 14, 15}};
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Builds a pattern database by searching backwards from the solved board for each group.
+     *
+     * @param boardSize the number of rows/columns in the board
+     * @param groups    disjoint groups of pieces (not including the empty piece)
+     * @return the built pattern database
+     */
+    public static PatternDatabase build(int boardSize, int[][] groups) {
+        int emptyPieceNumber = boardSize * boardSize;
+        boolean[] pieceWasAdded = new boolean[emptyPieceNumber + 1];
+        for (int[] group : groups) {
+            for (int piece : group) {
+                if (piece < 1 || piece >= emptyPieceNumber || pieceWasAdded[piece]) {
+                    throw new IllegalArgumentException();
+                }
+                pieceWasAdded[piece] = true;
+            }
+        }
+
+        ByteBuffer[] tables = new ByteBuffer[groups.length];
+        for (int group = 0; group < groups.length; group++) {
+            tables[group] = ByteBuffer.wrap(buildTable(boardSize, groups[group]));
+        }
+        return new PatternDatabase(boardSize, groups, tables);
+    }
+
+    /**
+     * Loads a pattern database from a file saved with {@link #save(File)}. The file is memory-mapped, so the tables are
+     * read from it as they are used instead of being loaded into the heap.
+     *
+     * @throws IOException if the file can't be read or isn't a pattern database
+     */
+    public static PatternDatabase load(File file) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != FILE_MAGIC_NUMBER) {
+                throw new IOException("Not a pattern database: " + file);
+            }
+
+            int boardSize = buffer.getInt();
+            int[][] groups = new int[buffer.getInt()][];
+            for (int group = 0; group < groups.length; group++) {
+                groups[group] = new int[buffer.getInt()];
+                for (int i = 0; i < groups[group].length; i++) {
+                    groups[group][i] = buffer.getInt();
+                }
+            }
+
+            ByteBuffer[] tables = new ByteBuffer[groups.length];
+            for (int group = 0; group < groups.length; group++) {
+                int tableSize = getTableSize(boardSize * boardSize, groups[group].length);
+                if (buffer.remaining() < tableSize) {
+                    throw new IOException("Pattern database is incomplete: " + file);
+                }
+                tables[group] = buffer.slice();
+                ((Buffer) tables[group]).limit(tableSize);
+                ((Buffer) buffer).position(buffer.position() + tableSize);
+            }
+            return new PatternDatabase(boardSize, groups, tables);
+        }
+    }
+
+    /**
+     * Saves this pattern database to the given file, so that it can be loaded with {@link #load(File)}.
+     */
+    public void save(File file) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(FILE_MAGIC_NUMBER);
+            output.writeInt(boardSize);
+            output.writeInt(groups.length);
+            for (int[] group : groups) {
+                output.writeInt(group.length);
+                for (int piece : group) {
+                    output.writeInt(piece);
+                }
+            }
+            byte[] chunk = new byte[1 << 16];
+            for (ByteBuffer table : tables) {
+                ByteBuffer source = table.duplicate();
+                ((Buffer) source).rewind();
+                while (source.hasRemaining()) {
+                    int length = Math.min(chunk.length, source.remaining());
+                    source.get(chunk, 0, length);
+                    output.write(chunk, 0, length);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of rows/columns in the boards this pattern database is for
+     */
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    /**
+     * @return the sum of all groups' values for the given board
+     */
+    public int evaluate(int[] pieces) {
+        int sum = 0;
+        for (int group = 0; group < groups.length; group++) {
+            sum += evaluateGroup(pieces, group, -1, -1);
+        }
+        return sum;
+    }
+
+    /**
+     * @return the group the given piece belongs to, or -1 if it isn't in any group
+     */
+    public int getGroupOfPiece(int piece) {
+        return groupOfPiece[piece];
+    }
+
+    /**
+     * Looks up the value of one group for the given board.
+     *
+     * @param pieces     the pieces on the board
+     * @param group      the group to look up
+     * @param movedPiece a piece that was just moved, to look up the board as it was before the move, or -1 to look up
+     *                   the board as it is
+     * @param movedFrom  the position <code>movedPiece</code> was moved from
+     * @return the minimum number of moves of the group's pieces needed to get them into place
+     */
+    public int evaluateGroup(int[] pieces, int group, int movedPiece, int movedFrom) {
+        int emptyPieceNumber = pieces.length;
+
+        // Collect the position of each of the group's pieces, 5 bits each, in the group's order
+        long positions = 0L;
+        int emptyPosition = 0;
+        for (int position = 0; position < pieces.length; position++) {
+            int piece = pieces[position];
+            if (movedPiece != -1) {
+                // Undo the move by swapping the moved piece back with the empty space
+                if (position == movedFrom) {
+                    piece = movedPiece;
+                } else if (piece == movedPiece) {
+                    piece = emptyPieceNumber;
+                }
+            }
+
+            if (piece == emptyPieceNumber) {
+                emptyPosition = position;
+            } else if (groupOfPiece[piece] == group) {
+                positions |= (long) position << (indexInGroup[piece] * 5);
+            }
+        }
+
+        int state = rank(positions, groups[group].length, pieces.length) * pieces.length + emptyPosition;
+        int value = tables[group].get(state) & 0xFF;
+        return value == UNREACHED ? 0 : value;
+    }
+
+    /**
+     * Builds the table for one group with a breadth-first search backwards from the solved board. The search runs over
+     * (placement of the group's pieces, position of the empty piece) states, where moving one of the group's pieces
+     * costs 1 and moving any other piece costs 0.
+     */
+    private static byte[] buildTable(int boardSize, int[] group) {
+        int positionCount = boardSize * boardSize;
+        int pieceCount = group.length;
+
+        // The cost of each state, indexed by placement rank * positionCount + empty piece position
+        byte[] costs = new byte[getTableSize(positionCount, pieceCount)];
+        Arrays.fill(costs, (byte) UNREACHED);
+
+        long goalPositions = 0L;
+        for (int i = 0; i < pieceCount; i++) {
+            goalPositions |= (long) (group[i] - 1) << (i * 5);
+        }
+        int goalState = rank(goalPositions, pieceCount, positionCount) * positionCount + (positionCount - 1);
+        costs[goalState] = 0;
+
+        // States are processed one cost at a time. States reached with a free move join the current layer, and states
+        // reached by moving one of the group's pieces join the next one.
+        IntList currentLayer = new IntList();
+        IntList nextLayer = new IntList();
+        currentLayer.add(goalState);
+        int cost = 0;
+        while (currentLayer.size > 0) {
+            for (int i = 0; i < currentLayer.size; i++) {
+                int state = currentLayer.values[i];
+                if ((costs[state] & 0xFF) != cost) {
+                    continue;  // reached for free after it was added to this layer
+                }
+                int emptyPosition = state % positionCount;
+                long positions = unrank(state / positionCount, pieceCount, positionCount);
+
+                int row = emptyPosition / boardSize;
+                int column = emptyPosition % boardSize;
+                for (int direction = 0; direction < 4; direction++) {
+                    int neighbor;
+                    if (direction == 0 && row > 0) {
+                        neighbor = emptyPosition - boardSize;
+                    } else if (direction == 1 && column < boardSize - 1) {
+                        neighbor = emptyPosition + 1;
+                    } else if (direction == 2 && row < boardSize - 1) {
+                        neighbor = emptyPosition + boardSize;
+                    } else if (direction == 3 && column > 0) {
+                        neighbor = emptyPosition - 1;
+                    } else {
+                        continue;
+                    }
+
+                    int pieceIndex = indexOfPosition(positions, pieceCount, neighbor);
+                    if (pieceIndex == -1) {
+                        // Another piece moves into the empty space for free
+                        int nextState = state - emptyPosition + neighbor;
+                        if ((costs[nextState] & 0xFF) > cost) {
+                            costs[nextState] = (byte) cost;
+                            currentLayer.add(nextState);
+                        }
+                    } else {
+                        // One of the group's pieces moves into the empty space
+                        long nextPositions = positions & ~(0x1FL << (pieceIndex * 5))
+                                | ((long) emptyPosition << (pieceIndex * 5));
+                        int nextState = rank(nextPositions, pieceCount, positionCount) * positionCount + neighbor;
+                        if ((costs[nextState] & 0xFF) > cost + 1) {
+                            costs[nextState] = (byte) (cost + 1);
+                            nextLayer.add(nextState);
+                        }
+                    }
+                }
+            }
+
+            IntList processedLayer = currentLayer;
+            currentLayer = nextLayer;
+            nextLayer = processedLayer;
+            nextLayer.size = 0;
+            cost++;
+        }
+
+        return costs;
+    }
+
+    /**
+     * @return the number of placements of <code>pieceCount</code> pieces and the empty piece on
+     * <code>positionCount</code> positions (including impossible ones, where the empty piece is on top of a piece)
+     */
+    private static int getTableSize(int positionCount, int pieceCount) {
+        long size = positionCount;
+        for (int i = 0; i < pieceCount; i++) {
+            size *= positionCount - i;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Pattern group is too large");
+        }
+        return (int) size;
+    }
+
+    /**
+     * Ranks a placement of pieces into a unique index between 0 and the table size. Each piece's position is counted
+     * among the positions not taken by the pieces before it, which gives a mixed-radix number.
+     *
+     * @param positions     the position of each piece, 5 bits each
+     * @param pieceCount    the number of pieces
+     * @param positionCount the number of positions on the board
+     */
+    private static int rank(long positions, int pieceCount, int positionCount) {
+        int rank = 0;
+        int takenPositions = 0;
+        for (int i = 0; i < pieceCount; i++) {
+            int position = (int) ((positions >>> (i * 5)) & 0x1F);
+            int freePositionsBefore = position - Integer.bitCount(takenPositions & ((1 << position) - 1));
+            rank = rank * (positionCount - i) + freePositionsBefore;
+            takenPositions |= 1 << position;
+        }
+        return rank;
+    }
+
+    /**
+     * The reverse of {@link #rank(long, int, int)}.
+     *
+     * @return the position of each piece, 5 bits each
+     */
+    private static long unrank(int rank, int pieceCount, int positionCount) {
+        // Split the rank back into each piece's count of free positions, starting from the last piece
+        int[] freePositionsBefore = new int[pieceCount];
+        for (int i = pieceCount - 1; i >= 0; i--) {
+            freePositionsBefore[i] = rank % (positionCount - i);
+            rank /= positionCount - i;
+        }
+
+        long positions = 0L;
+        int takenPositions = 0;
+        for (int i = 0; i < pieceCount; i++) {
+            int position = -1;
+            for (int free = freePositionsBefore[i]; free >= 0; free--) {
+                do {
+                    position++;
+                } while ((takenPositions & (1 << position)) != 0);
+            }
+            positions |= (long) position << (i * 5);
+            takenPositions |= 1 << position;
+        }
+        return positions;
+    }
+
+    /**
+     * @return the index of the piece at the given position, or -1 if none of the pieces are there
+     */
+    private static int indexOfPosition(long positions, int pieceCount, int position) {
+        for (int i = 0; i < pieceCount; i++) {
+            if (((positions >>> (i * 5)) & 0x1F) == position) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A growable list of ints, used for the layers of the search without boxing.
+     */
+    private static class IntList {
+        private int[] values = new int[1024];
+        private int size = 0;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
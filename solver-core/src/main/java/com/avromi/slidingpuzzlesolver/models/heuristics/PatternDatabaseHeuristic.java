@@ -0,0 +1,102 @@
+package com.avromi.slidingpuzzlesolver.models.heuristics;
+
+import com.avromi.slidingpuzzlesolver.models.classes.DatabaseFiles;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Heuristic;
+
+import java.io.File;
+
+/**
+ * The additive pattern database heuristic (see {@link PatternDatabase}). The database for each board size is loaded
+ * the first time it is needed: from a saved file if there is one, otherwise it is built and saved for next time. Boards
+ * too large for a pattern database use linear conflicts instead.
+ */
+public class PatternDatabaseHeuristic implements Heuristic {
+    /**
+     * The directory the databases are saved to and loaded from, or <code>null</code> to keep them in memory only.
+     */
+    private final File directory;
+
+    /**
+     * The heuristic used for boards without a pattern database.
+     */
+    private final Heuristic fallback = new LinearConflict();
+
+    /**
+     * The most recently used database, which is checked first since searches use one board size at a time.
+     */
+    private volatile PatternDatabase database;
+
+    /**
+     * Construct a pattern database heuristic that builds its databases in memory each time.
+     */
+    public PatternDatabaseHeuristic() {
+        this(null);
+    }
+
+    /**
+     * Construct a pattern database heuristic that saves its databases to the given directory.
+     */
+    public PatternDatabaseHeuristic(File directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public int evaluate(int[] pieces, int boardSize) {
+        PatternDatabase database = getDatabase(boardSize);
+        if (database == null) {
+            return fallback.evaluate(pieces, boardSize);
+        }
+        return database.evaluate(pieces);
+    }
+
+    /**
+     * Only the group of the moved piece changed, so only its value needs to be looked up again.
+     */
+    @Override
+    public int evaluateMove(int hValue, int[] pieces, int boardSize, int movedPiece, int fromIndex, int toIndex) {
+        PatternDatabase database = getDatabase(boardSize);
+        if (database == null) {
+            return fallback.evaluateMove(hValue, pieces, boardSize, movedPiece, fromIndex, toIndex);
+        }
+        int group = database.getGroupOfPiece(movedPiece);
+        return hValue - database.evaluateGroup(pieces, group, movedPiece, fromIndex)
+                + database.evaluateGroup(pieces, group, -1, -1);
+    }
+
+    /**
+     * Loads or builds the database for the given board size ahead of time, so that the first search doesn't have to.
+     * This can take a few seconds the first time, so it should not be called on the UI thread.
+     */
+    public void prepare(int boardSize) {
+        getDatabase(boardSize);
+    }
+
+    /**
+     * @return the database for the given board size, or <code>null</code> if the size is too large for one
+     */
+    private PatternDatabase getDatabase(int boardSize) {
+        PatternDatabase database = this.database;
+        if (database != null && database.getBoardSize() == boardSize) {
+            return database;
+        }
+        if (PatternDatabase.getDefaultGroups(boardSize) == null) {
+            return null;
+        }
+        return loadDatabase(boardSize);
+    }
+
+    private synchronized PatternDatabase loadDatabase(int boardSize) {
+        // Another thread may have loaded it while this one was waiting
+        PatternDatabase database = this.database;
+        if (database != null && database.getBoardSize() == boardSize) {
+            return database;
+        }
+
+        File file = directory != null ? new File(directory, "pattern_database_" + boardSize + "x" + boardSize) : null;
+        int[][] groups = PatternDatabase.getDefaultGroups(boardSize);
+        database = DatabaseFiles.loadOrBuild(file, PatternDatabase::load,
+                () -> PatternDatabase.build(boardSize, groups), PatternDatabase::save);
+        this.database = database;
+        return database;
+    }
+}
@@ -0,0 +1,51 @@
+package com.avromi.slidingpuzzlesolver.models.interfaces;
+
+import com.avromi.slidingpuzzlesolver.models.classes.PackedBoard;
+
+/**
+ * Abstracts a heuristic for a sliding-puzzle board, which estimates the minimum number of moves REMAINING to get from a
+ * board to a solution. For search methods like A* to find the shortest solution, the estimate must never be more than
+ * the actual number of moves remaining (i.e., the heuristic must be admissible), and it must be 0 for a solved board.
+ * <p>
+ * Boards are given as their pieces in order from top-left to bottom-right, row by row, where the empty space is
+ * represented by the number of positions on the board (e.g., 16 on a 4x4 board).
+ */
+public interface Heuristic {
+
+    /**
+     * Calculates the heuristic value of a board from scratch.
+     *
+     * @param pieces    the pieces on the board
+     * @param boardSize the number of rows/columns in the board
+     * @return the estimated number of moves remaining
+     */
+    int evaluate(int[] pieces, int boardSize);
+
+    /**
+     * Calculates the heuristic value of a board after one move, based on the value before the move. This is called for
+     * every new board during a search, so implementations should only update the part of the value affected by the
+     * move where possible.
+     *
+     * @param hValue     the heuristic value of the board before the move
+     * @param pieces     the pieces on the board after the move
+     * @param boardSize  the number of rows/columns in the board
+     * @param movedPiece the piece that was moved into the empty space
+     * @param fromIndex  the position the piece was moved from, which is now the empty space
+     * @param toIndex    the position the piece was moved to
+     * @return the estimated number of moves remaining after the move
+     */
+    int evaluateMove(int hValue, int[] pieces, int boardSize, int movedPiece, int fromIndex, int toIndex);
+
+    /**
+     * Calculates the heuristic value of a packed board after one move (see {@link PackedBoard}), like
+     * {@link #evaluateMove(int, int[], int, int, int, int)}. By default the board is unpacked; heuristics that only
+     * need the moved piece should override this, so that moves on packed boards don't need any arrays.
+     *
+     * @param packedPieces the packed pieces on the board after the move
+     */
+    default int evaluateMove(int hValue, long packedPieces, int boardSize, int movedPiece, int fromIndex,
+                             int toIndex) {
+        return evaluateMove(hValue, PackedBoard.unpackFlat(packedPieces, boardSize), boardSize, movedPiece, fromIndex,
+                toIndex);
+    }
+}
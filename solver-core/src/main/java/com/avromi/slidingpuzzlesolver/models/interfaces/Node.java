@@ -0,0 +1,117 @@
+package com.avromi.slidingpuzzlesolver.models.interfaces;
+
+import java.util.List;
+
+/**
+ * This interface represents a node for a puzzle search.
+ */
+public interface Node {
+
+    /**
+     * @return all the nodes that can be (legally) reached within one move from this node.
+     */
+    List<Node> getNextNodes();
+
+    /**
+     * Returns the number of moves that can be made from this node. The moves are numbered from 0 to this number - 1, in
+     * the same order as the nodes returned by {@link #getNextNodes()}. Together with {@link #getPackedStateAfterMove(int)}
+     * and {@link #applyMove(int)}, this lets a search expand a node one move at a time, and skip moves that lead to
+     * states it already found before any node is created for them.
+     *
+     * @return the number of moves that can be made from this node
+     */
+    int getMoveCount();
+
+    /**
+     * Returns the packed state of the node that the given move leads to, without creating the node. Only valid if
+     * {@link #hasPackedState()} is <code>true</code>.
+     *
+     * @param move the number of the move, from 0 to {@link #getMoveCount()} - 1
+     * @return the packed state after the move
+     */
+    long getPackedStateAfterMove(int move);
+
+    /**
+     * Makes the given move. This node isn't changed, so the move is undone by going back to this node.
+     *
+     * @param move the number of the move, from 0 to {@link #getMoveCount()} - 1
+     * @return the node that the move leads to, whose parent is this node
+     */
+    Node applyMove(int move);
+
+    /**
+     * @return the level that the node was encountered at.
+     */
+    int getLevel();
+
+    /**
+     * @return the parent node, i.e., the node that after 1 move, led to this node.
+     */
+    Node getParent();
+
+
+    /**
+     * @return the piece moved to get to this node
+     */
+    int getMovedPiece();
+
+    boolean isSolution();
+
+    /**
+     * @return a solved node of the same puzzle, i.e., the node a search from this node is looking for
+     */
+    Node getSolutionNode();
+
+    /**
+     * @return <code>true</code> if a solution can be reached from this node; otherwise <code>false</code>. Searching
+     * from a node that can't be solved would visit every reachable node before giving up.
+     */
+    boolean isSolvable();
+
+    /**
+     * Returns the minimum number of moves REMAINING to get from this node to a solution.
+     *
+     * @return the minimum number of moves REMAINING to get from this node to a solution.
+     */
+    int getHValue();
+
+    /**
+     * @return the actual cost (number of moves) used to get to this node.
+     */
+    int getGValue();
+
+    /**
+     * Returns the total estimated cost of using this node to get to the solution, which is the level (G-value) + the
+     * estimated cost of getting to the solution from this node (H-value).
+     *
+     * @return the total estimated cost of using this node to get to the solution.
+     */
+    int getFValue();
+
+    /**
+     * @return <code>true</code> if this node's whole state is encoded by {@link #getPackedState()}; otherwise
+     * <code>false</code>
+     */
+    boolean hasPackedState();
+
+    /**
+     * Returns a compact encoding of this node's state, such as a board packed into a single long. Two nodes with packed
+     * states are in the same state if and only if their packed states are equal. Only valid if
+     * {@link #hasPackedState()} is <code>true</code>.
+     *
+     * @return the packed state of this node
+     */
+    long getPackedState();
+
+    /**
+     * Returns a node of the same puzzle as this node in the given packed state, without a parent. This lets a search
+     * store its nodes compactly by their packed states (e.g., in a
+     * {@link com.avromi.slidingpuzzlesolver.models.classes.NodeArena}), and only create a node to expand it.
+     *
+     * @param packedState the packed state of the node (see {@link #getPackedState()})
+     * @param level       the level that the node was encountered at
+     * @param hValue      the H-value of the node, as already calculated when the node was first found
+     * @return the node in the given state
+     */
+    Node getNodeWithPackedState(long packedState, int level, int hValue);
+}
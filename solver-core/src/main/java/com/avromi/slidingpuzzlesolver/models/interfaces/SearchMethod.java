@@ -0,0 +1,47 @@
+package com.avromi.slidingpuzzlesolver.models.interfaces;
+
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+
+/**
+ * Abstracts a puzzle search type, which must offer a search method.
+ * @param <T> the puzzle type (an implementation of Node)
+ * */
+public interface SearchMethod<T extends Node> {
+
+    /**
+     * Search for a solution to the puzzle with the given node, without limits.
+     *
+     * @param node the node to find a solution for
+     * @return the solution, if found
+     */
+    default SearchResult<T> search(T node) {
+        return search(node, SearchBudget.UNLIMITED, new CancellationToken());
+    }
+
+    /**
+     * Search for a solution to the puzzle with the given node, stopping if the search reaches a limit of the given
+     * budget or the given token is cancelled. The outcome of the result tells which of these happened.
+     *
+     * @param node   the node to find a solution for
+     * @param budget the limits the search must stay within
+     * @param token  the token to cancel the search with
+     * @return the solution, if found
+     */
+    SearchResult<T> search(T node, SearchBudget budget, CancellationToken token);
+
+    /**
+     * Terminate the search method, if running. A search that hasn't started yet isn't affected; to cancel a search
+     * that may not have started, give it a {@link CancellationToken}.
+     * */
+    void terminate();
+
+    /**
+     * @return <code>true</code> if every solution found is a fastest solution (in number of moves), given a heuristic
+     * that never overestimates; otherwise <code>false</code>
+     */
+    default boolean findsFastestSolutions() {
+        return false;
+    }
+}
@@ -0,0 +1,196 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+import com.avromi.slidingpuzzlesolver.models.classes.BucketQueue;
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.ClosestNodeTracker;
+import com.avromi.slidingpuzzlesolver.models.classes.IntBucketQueue;
+import com.avromi.slidingpuzzlesolver.models.classes.NodeArena;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchMonitor;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+import com.avromi.slidingpuzzlesolver.models.classes.VisitedStateSet;
+
+import java.util.Queue;
+
+/**
+ * Facilitates search with the A* informed search algorithm.
+ */
+public class AStar<T extends Node> implements SearchMethod<T> {
+    /**
+     * The monitor of the running search, or <code>null</code> if no search is running
+     */
+    private volatile SearchMonitor monitor;
+
+    /**
+     * The index returned when no solution is found in an arena
+     */
+    private static final int NO_SOLUTION = -1;
+
+    /**
+     * Search for a solution using the A* algorithm. The A* algorithm uses informed search to find the fastest solution
+     * (in number of moves), regardless of search speed. If it is stopped first, the result has the path to the closest
+     * node to a solution it expanded.
+     *
+     * @param node   the node to find the solution for
+     * @param budget the limits the search must stay within
+     * @param token  the token to cancel the search with
+     * @return the PuzzleSolution found
+     */
+    @Override
+    public SearchResult<T> search(T node, SearchBudget budget, CancellationToken token) {
+        if (!node.isSolvable()) {
+            return SearchResult.unsolvable();
+        }
+        SearchMonitor monitor = new SearchMonitor(budget, token);
+        this.monitor = monitor;
+
+        SearchStatistics statistics = new SearchStatistics();
+        SearchResult<T> result;
+        if (node.hasPackedState()) {
+            // Nodes with packed states are stored in an arena, which takes a fixed few bytes per node
+            NodeArena arena = new NodeArena();
+            ClosestNodeTracker<T> closest = new ClosestNodeTracker<>();
+            int solutionIndex = findSolution(node, arena, closest, monitor, statistics);
+            statistics.finish();
+            result = solutionIndex != NO_SOLUTION
+                    ? new SearchResult<>(node, arena, solutionIndex, statistics)
+                    : new SearchResult<>(monitor.getUnsolvedOutcome(), node, arena, closest.getIndex(), statistics);
+        } else {
+            // We construct a priority queue to sort the nodes based on their F values, which is the level + h value, or
+            // total estimated cost of using this node to get to a solution. F values are small integers, so a bucket
+            // queue is used, which also prefers the deepest of the nodes with the same F value.
+            BucketQueue<T> queue = BucketQueue.byFValue();
+            ClosestNodeTracker<T> closest = new ClosestNodeTracker<>();
+            T solution = findSolution(node, queue, closest, monitor, statistics);
+            statistics.finish();
+            result = solution != null
+                    ? new SearchResult<>(true, solution, statistics)
+                    : new SearchResult<>(monitor.getUnsolvedOutcome(), closest.getNode(), statistics);
+        }
+
+        this.monitor = null;
+        return result;
+    }
+
+    /**
+     * Find a solution from the given node, using the given queue, and return the solution if found. The algorithm used
+     * for A* here is the same as with BFS except that the nodes are checked for a solution when removed from the queue
+     * instead of when being put on. Likewise, a node is only marked as visited when it is removed from the queue, since
+     * a node can be put on the queue through a longer path before its shortest one. The first time a node is removed
+     * is through its shortest path, so any later copies of it are skipped.
+     *
+     * @param node  the node to search from
+     * @param queue the queue to use when searching. The queue's priority will determine the order of which nodes are evaluated first.
+     * @param closest the tracker to offer each expanded node to, for a partial result if no solution is found
+     * @param monitor the monitor to check for when to stop
+     * @param statistics the statistics to record the search's work in
+     * @return the solution node if found; otherwise null
+     */
+    private T findSolution(T node, Queue<T> queue, ClosestNodeTracker<T> closest, SearchMonitor monitor,
+                           SearchStatistics statistics) {
+        queue.offer(node);
+        VisitedStateSet colored = new VisitedStateSet();
+        // Search for a solution
+        while (!queue.isEmpty()) {
+            if (monitor.shouldStop(1)) {
+                break;
+            }
+
+            T curr = queue.poll();
+            if (!colored.add(curr)) {
+                statistics.addDuplicatePruned();
+                continue;  // already reached through a shorter path
+            }
+            // Check if the node is the solution when removing from the queue, so that nodes are evaluated in our queue's order
+            if (curr.isSolution()) {
+                return curr;
+            }
+            closest.offer(curr);
+            int moveCount = curr.getMoveCount();
+            statistics.addExpandedNode(moveCount);
+            for (int move = 0; move < moveCount; move++) {
+                if (colored.containsAfterMove(curr, move)) {
+                    statistics.addDuplicatePruned();
+                    continue;
+                }
+                @SuppressWarnings("unchecked")  // the children of a T are Ts too
+                T child = (T) curr.applyMove(move);
+                if (!colored.contains(child)) {
+                    queue.offer(child);
+                } else {
+                    statistics.addDuplicatePruned();
+                }
+            }
+            statistics.updatePeakSizes(queue.size(), colored.size());
+        }
+        return null;
+    }
+
+    /**
+     * Find a solution from the given node the same way as
+     * {@link #findSolution(Node, Queue, ClosestNodeTracker, SearchMonitor, SearchStatistics)}, but
+     * with the nodes stored in the given arena, and the open list holding their indices. A node object is only created
+     * for a node while it's being expanded.
+     *
+     * @param node       the node to search from, which must have a packed state
+     * @param arena      the arena to store the nodes in
+     * @param closest    the tracker to offer each expanded node's index to
+     * @param monitor    the monitor to check for when to stop
+     * @param statistics the statistics to record the search's work in
+     * @return the index of the solution node in the arena if found; otherwise {@link #NO_SOLUTION}
+     */
+    private int findSolution(T node, NodeArena arena, ClosestNodeTracker<T> closest, SearchMonitor monitor,
+                             SearchStatistics statistics) {
+        IntBucketQueue queue = new IntBucketQueue();
+        queue.offer(arena.add(node, NodeArena.NO_PARENT), node.getFValue(), node.getGValue());
+        VisitedStateSet colored = new VisitedStateSet();
+        // Search for a solution
+        while (!queue.isEmpty()) {
+            if (monitor.shouldStop(1)) {
+                break;
+            }
+
+            int currIndex = queue.poll();
+            if (!colored.add(arena.getPackedState(currIndex))) {
+                statistics.addDuplicatePruned();
+                continue;  // already reached through a shorter path
+            }
+            Node curr = node.getNodeWithPackedState(arena.getPackedState(currIndex), arena.getGValue(currIndex),
+                    arena.getHValue(currIndex));
+            if (curr.isSolution()) {
+                return currIndex;
+            }
+            closest.offer(currIndex, curr.getHValue());
+            int moveCount = curr.getMoveCount();
+            statistics.addExpandedNode(moveCount);
+            for (int move = 0; move < moveCount; move++) {
+                // Only moves to states not already expanded are made, so no node is created for the others
+                if (!colored.contains(curr.getPackedStateAfterMove(move))) {
+                    Node child = curr.applyMove(move);
+                    queue.offer(arena.add(child, currIndex), child.getFValue(), child.getGValue());
+                } else {
+                    statistics.addDuplicatePruned();
+                }
+            }
+            statistics.updatePeakSizes(queue.size(), colored.size());
+        }
+        return NO_SOLUTION;
+    }
+
+    @Override
+    public boolean findsFastestSolutions() {
+        return true;
+    }
+
+    @Override
+    public void terminate() {
+        SearchMonitor monitor = this.monitor;
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+}
+
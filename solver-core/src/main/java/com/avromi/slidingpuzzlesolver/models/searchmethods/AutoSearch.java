@@ -0,0 +1,266 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.classes.AlgorithmChoice;
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.EightPuzzleDatabase;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Chooses a search method for each board, from its size, its heuristic value and the memory available, and runs it.
+ * The search method chosen is the cheapest one expected to find a solution of the required quality:
+ * <ul>
+ *     <li>3x3 boards are looked up in an {@link EightPuzzleLookup}, which finds the fastest solution in microseconds
+ *     once its database is loaded.</li>
+ *     <li>If any solution will do, best-first search is run, since it finds a (long) solution after expanding few
+ *     nodes.</li>
+ *     <li>If the fastest solution is required, A* is run when it is expected to fit in memory: on boards close to
+ *     the goal, or on 4x4 boards when there is enough free memory. A* expands each board at most once, so it is
+ *     faster than IDA*, but it keeps every board it reaches in memory. IDA* is run otherwise, since it only keeps
+ *     the current path in memory. A* is given a memory limit, and if it reaches it, IDA* is run instead.</li>
+ * </ul>
+ * The search method chosen and the reason are reported with the result (see
+ * {@link SearchResult#getAlgorithmChoice()}).
+ */
+public class AutoSearch implements SearchMethod<SlidingPuzzleNode> {
+    /**
+     * Boards with up to this heuristic value are close enough to the goal that A* expands at most a few tens of
+     * thousands of nodes, whatever the board size
+     */
+    private static final int NEAR_GOAL_MAX_H_VALUE = 30;
+
+    /**
+     * The least free memory to run A* with on 4x4 boards that aren't close to the goal. Most of them are solved in
+     * under 3 million nodes (which take around 50 bytes each), though some take over 10 million.
+     */
+    private static final long A_STAR_MIN_FREE_MEMORY_BYTES = 128L << 20;
+
+    /**
+     * The approximate memory taken by each node A* reaches, counting its open list and closed set
+     */
+    private static final long A_STAR_BYTES_PER_NODE = 50;
+
+    /**
+     * The share of the free memory A* may take up before it is stopped, so the rest of the app still has memory
+     */
+    private static final double A_STAR_MEMORY_SHARE = 0.75;
+
+    private final boolean requireFastestSolution;
+    private final EightPuzzleLookup eightPuzzleLookup;
+
+    /**
+     * The search method of the running search, or <code>null</code> if no search is running
+     */
+    private volatile SearchMethod<SlidingPuzzleNode> running;
+
+    /**
+     * The token {@link #terminate()} cancels the running search with, or <code>null</code> if no search is running
+     */
+    private volatile CancellationToken searchToken;
+
+    /**
+     * Construct an auto search that builds its 8-puzzle database in memory the first time a 3x3 board is searched.
+     *
+     * @param requireFastestSolution whether to only accept the fastest solution (in number of moves)
+     */
+    public AutoSearch(boolean requireFastestSolution) {
+        this(requireFastestSolution, new EightPuzzleLookup());
+    }
+
+    /**
+     * Construct an auto search.
+     *
+     * @param requireFastestSolution whether to only accept the fastest solution (in number of moves)
+     * @param eightPuzzleLookup      the lookup to solve 3x3 boards with, which may be shared so that its database is
+     *                               only loaded once
+     */
+    public AutoSearch(boolean requireFastestSolution, EightPuzzleLookup eightPuzzleLookup) {
+        this.requireFastestSolution = requireFastestSolution;
+        this.eightPuzzleLookup = eightPuzzleLookup;
+    }
+
+    /**
+     * Search for a solution with the search method chosen for the board. The result reports which search method found
+     * it and why that one was chosen.
+     *
+     * @param node   the node to find the solution for
+     * @param budget the limits the search must stay within. If A* is run and reaches its memory limit, IDA* is given
+     *               what is left of the budget.
+     * @param token  the token to cancel the search with
+     * @return the PuzzleSolution found
+     */
+    @Override
+    public SearchResult<SlidingPuzzleNode> search(SlidingPuzzleNode node, SearchBudget budget,
+                                                  CancellationToken token) {
+        CancellationToken searchToken = new CancellationToken();
+        this.searchToken = searchToken;
+        try {
+            return chooseAndRun(node, budget, token);
+        } finally {
+            this.searchToken = null;
+        }
+    }
+
+    /**
+     * @return the lookup 3x3 boards are solved with, e.g., to load its database ahead of time
+     */
+    public EightPuzzleLookup getEightPuzzleLookup() {
+        return eightPuzzleLookup;
+    }
+
+    @Override
+    public boolean findsFastestSolutions() {
+        return requireFastestSolution;
+    }
+
+    @Override
+    public void terminate() {
+        CancellationToken searchToken = this.searchToken;
+        if (searchToken != null) {
+            searchToken.cancel();
+        }
+        SearchMethod<SlidingPuzzleNode> running = this.running;
+        if (running != null) {
+            running.terminate();
+        }
+    }
+
+    /**
+     * Choose the search method for the board, and search for a solution with it.
+     */
+    private SearchResult<SlidingPuzzleNode> chooseAndRun(SlidingPuzzleNode node, SearchBudget budget,
+                                                         CancellationToken token) {
+        if (!node.isSolvable()) {
+            return SearchResult.unsolvable();
+        }
+        int boardSize = node.getBoardPieces().length;
+        int hValue = node.getHValue();
+        String board = String.format(Locale.US, "%1$dx%1$d board with a heuristic value of %2$d", boardSize, hValue);
+
+        SearchResult<SlidingPuzzleNode> result;
+        if (boardSize == EightPuzzleDatabase.BOARD_SIZE) {
+            result = run(eightPuzzleLookup, node, budget, token, new AlgorithmChoice("8-puzzle lookup",
+                    "The fastest solutions of all 3x3 boards are in a database, so none has to be searched for"));
+        } else if (boardSize < EightPuzzleDatabase.BOARD_SIZE) {
+            result = run(new AStar<>(), node, budget, token, new AlgorithmChoice("A*",
+                    "A board this small has so few arrangements that any search finds its fastest solution at once"));
+        } else if (!requireFastestSolution) {
+            result = run(new BestFirst<>(), node, budget, token, new AlgorithmChoice("Best-first search",
+                    "Any solution will do, and best-first search finds one by heading straight for the goal"));
+        } else {
+            // Measured for each search, since the memory the rest of the app uses changes while it runs
+            long freeMemoryBytes = getFreeMemoryBytes();
+            String memory = String.format(Locale.US, "%d MB of free memory", freeMemoryBytes >> 20);
+            if (hValue <= NEAR_GOAL_MAX_H_VALUE) {
+                result = searchWithAStar(node, budget, token, freeMemoryBytes, new AlgorithmChoice("A*",
+                        "A " + board + " is close to the goal, so A* will only need a little memory"));
+            } else if (boardSize == 4 && freeMemoryBytes >= A_STAR_MIN_FREE_MEMORY_BYTES) {
+                result = searchWithAStar(node, budget, token, freeMemoryBytes, new AlgorithmChoice("A*",
+                        String.format(Locale.US, "With %s, A* has room for about %d million nodes, enough for most "
+                                        + "4x4 boards, and is faster than IDA*", memory,
+                                (long) (freeMemoryBytes * A_STAR_MEMORY_SHARE) / A_STAR_BYTES_PER_NODE / 1_000_000)));
+            } else {
+                result = run(new IDAStar(), node, budget, token, new AlgorithmChoice("IDA*", "A " + board + " with "
+                        + memory + " would likely run A* out of memory, and IDA* needs almost none"));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Search with A* within a share of the given free memory, and with IDA* if A* runs out of it first.
+     */
+    private SearchResult<SlidingPuzzleNode> searchWithAStar(SlidingPuzzleNode node, SearchBudget budget,
+                                                            CancellationToken token, long freeMemoryBytes,
+                                                            AlgorithmChoice choice) {
+        SearchStatistics statistics = new SearchStatistics();
+        long memoryLimitBytes = Math.max(1, Math.min(budget.getMaxMemoryBytes(),
+                (long) (freeMemoryBytes * A_STAR_MEMORY_SHARE)));
+        SearchResult<SlidingPuzzleNode> result = run(new AStar<>(), node, budget.withMaxMemory(memoryLimitBytes), token,
+                choice);
+        if (result.getOutcome() != SearchResult.Outcome.BUDGET_EXHAUSTED) {
+            return result;
+        }
+        SearchBudget remainingBudget = getRemainingBudget(budget, result.getStatistics());
+        if (remainingBudget == null) {
+            return result;
+        }
+
+        AlgorithmChoice fallbackChoice = new AlgorithmChoice("IDA*", String.format(Locale.US,
+                "A* ran out of its %d MB of memory after %d nodes, so IDA* was run instead, as it needs almost none",
+                memoryLimitBytes >> 20, result.getStatistics().getNodesExpanded()));
+        SearchResult<SlidingPuzzleNode> fallbackResult = run(new IDAStar(), node, remainingBudget, token,
+                fallbackChoice);
+
+        // The result has the work of both searches, and if IDA* didn't find a solution, the partial path A* found,
+        // since IDA* doesn't return one
+        statistics.add(result.getStatistics());
+        statistics.add(fallbackResult.getStatistics());
+        statistics.finish();
+        List<SlidingPuzzleNode> partialPath = result.getPartialPath();
+        SearchResult<SlidingPuzzleNode> combinedResult = fallbackResult.getSolutionWasFound()
+                ? new SearchResult<>(node, fallbackResult.getMovedPieces(), statistics)
+                : new SearchResult<>(fallbackResult.getOutcome(),
+                partialPath.isEmpty() ? null : partialPath.get(partialPath.size() - 1), statistics);
+        combinedResult.setAlgorithmChoice(fallbackChoice);
+        return combinedResult;
+    }
+
+    /**
+     * Run the given search method, unless this was terminated, and report the given choice with its result.
+     */
+    private SearchResult<SlidingPuzzleNode> run(SearchMethod<SlidingPuzzleNode> searchMethod, SlidingPuzzleNode node,
+                                                SearchBudget budget, CancellationToken token, AlgorithmChoice choice) {
+        SearchResult<SlidingPuzzleNode> result;
+        this.running = searchMethod;
+        // Checked after setting the running search method, so that a search method terminated in between is not run
+        if (this.searchToken.isCancelled()) {
+            SearchStatistics statistics = new SearchStatistics();
+            statistics.finish();
+            result = new SearchResult<>(SearchResult.Outcome.CANCELLED, statistics);
+        } else {
+            result = searchMethod.search(node, budget, token);
+        }
+        this.running = null;
+        result.setAlgorithmChoice(choice);
+        return result;
+    }
+
+    /**
+     * @return what is left of the given budget after a search that did the given work, or <code>null</code> if its
+     * time or expansions are used up
+     */
+    private static SearchBudget getRemainingBudget(SearchBudget budget, SearchStatistics statistics) {
+        SearchBudget remainingBudget = budget;
+        if (budget.getTimeLimitMs() != Long.MAX_VALUE) {
+            long remainingMs = budget.getTimeLimitMs() - statistics.getWallTimeMs();
+            if (remainingMs <= 0) {
+                return null;
+            }
+            remainingBudget = remainingBudget.withTimeLimit(remainingMs);
+        }
+        if (budget.getMaxExpansions() != Long.MAX_VALUE) {
+            long remainingExpansions = budget.getMaxExpansions() - statistics.getNodesExpanded();
+            if (remainingExpansions <= 0) {
+                return null;
+            }
+            remainingBudget = remainingBudget.withMaxExpansions(remainingExpansions);
+        }
+        return remainingBudget;
+    }
+
+    /**
+     * @return the heap memory that can still be used, including memory the heap hasn't grown into yet. Heap use
+     * includes garbage not collected yet, so A* may have more memory than this.
+     */
+    long getFreeMemoryBytes() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+    }
+}
@@ -0,0 +1,225 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.ClosestNodeTracker;
+import com.avromi.slidingpuzzlesolver.models.classes.NodeArena;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchMonitor;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+import com.avromi.slidingpuzzlesolver.models.classes.VisitedStateSet;
+
+import java.util.*;
+
+/**
+ * Facilitates breadth-first search.
+ */
+public class BFS<T extends Node> implements SearchMethod<T> {
+    /**
+     * The monitor of the running search, or <code>null</code> if no search is running
+     */
+    private volatile SearchMonitor monitor;
+
+    /**
+     * The index returned when no solution is found in an arena
+     */
+    private static final int NO_SOLUTION = -1;
+
+    /**
+     * Search for a solution to the given node using BFS
+     *
+     * @param node   the node to start the search from
+     * @param budget the limits the search must stay within
+     * @param token  the token to cancel the search with
+     * @return the solution found, if applicable
+     */
+    @Override
+    public SearchResult<T> search(T node, SearchBudget budget, CancellationToken token) {
+        if (!node.hasPackedState()) {
+            LinkedList<T> queue = new LinkedList<>();
+            return search(node, queue, budget, token);
+        }
+        if (!node.isSolvable()) {
+            return SearchResult.unsolvable();
+        }
+        // Nodes with packed states are stored in an arena, which takes a fixed few bytes per node
+        SearchMonitor monitor = new SearchMonitor(budget, token);
+        this.monitor = monitor;
+        SearchStatistics statistics = new SearchStatistics();
+        NodeArena arena = new NodeArena();
+        ClosestNodeTracker<T> closest = new ClosestNodeTracker<>();
+        int solutionIndex = findSolution(node, arena, closest, monitor, statistics);
+        statistics.finish();
+        this.monitor = null;
+
+        if (solutionIndex != NO_SOLUTION) {
+            return new SearchResult<>(node, arena, solutionIndex, statistics);
+        } else {
+            return new SearchResult<>(monitor.getUnsolvedOutcome(), node, arena, closest.getIndex(), statistics);
+        }
+    }
+
+    /**
+     * Search for a solution to the puzzle using the given queue, without limits.
+     *
+     * @param node  the node to start the search from
+     * @param queue the queue to store and pop the nodes in
+     * @return the solution found, if applicable
+     * @see #search(Node, Queue, SearchBudget, CancellationToken)
+     */
+    public SearchResult<T> search(T node, Queue<T> queue) {
+        return search(node, queue, SearchBudget.UNLIMITED, new CancellationToken());
+    }
+
+    /**
+     * Search for a solution to the puzzle using the given queue. If a LinkedList queue is provided,
+     * this runs regular BFS.
+     * Otherwise, a priority queue with any ordering (like heuristics) can be used.
+     * If the search stops without a solution, the result has the path to the closest node to a solution it expanded.
+     *
+     * @param node   the node to start the search from
+     * @param queue  the queue to store and pop the nodes in
+     * @param budget the limits the search must stay within
+     * @param token  the token to cancel the search with
+     * @return the solution found, if applicable
+     */
+    public SearchResult<T> search(T node, Queue<T> queue, SearchBudget budget, CancellationToken token) {
+        if (!node.isSolvable()) {
+            return SearchResult.unsolvable();
+        }
+        SearchMonitor monitor = new SearchMonitor(budget, token);
+        this.monitor = monitor;
+        SearchStatistics statistics = new SearchStatistics();
+        ClosestNodeTracker<T> closest = new ClosestNodeTracker<>();
+        T solution = findSolution(node, queue, closest, monitor, statistics);
+        statistics.finish();
+        this.monitor = null;
+
+        if (solution != null) {
+            return new SearchResult<>(true, solution, statistics);
+        } else {
+            return new SearchResult<>(monitor.getUnsolvedOutcome(), closest.getNode(), statistics);
+        }
+    }
+
+
+    /**
+     * Find a solution from the given node, using the given queue, and return the solution if found.
+     *
+     * @param node  the node to search from
+     * @param queue the queue to use when searching. The queue's priority will determine the order of which nodes are evaluated first.
+     * @param closest the tracker to offer each expanded node to, for a partial result if no solution is found
+     * @param monitor the monitor to check for when to stop
+     * @param statistics the statistics to record the search's work in
+     * @return the solution node if found; otherwise null
+     */
+    private T findSolution(T node, Queue<T> queue, ClosestNodeTracker<T> closest, SearchMonitor monitor,
+                           SearchStatistics statistics) {
+        queue.offer(node);
+        VisitedStateSet colored = new VisitedStateSet();
+        colored.add(node);
+
+        // Check if the given node is a solution before searching
+        if (node.isSolution()) {
+            return node;
+        } else {
+            // Search for a solution
+            while (!queue.isEmpty()) {
+                if (monitor.shouldStop(1)) {
+                    break;
+                }
+
+                T curr = queue.poll();
+                closest.offer(curr);
+                int moveCount = curr.getMoveCount();
+                statistics.addExpandedNode(moveCount);
+                for (int move = 0; move < moveCount; move++) {
+                    // Moves to states already found are skipped before a node is created for them
+                    if (colored.containsAfterMove(curr, move)) {
+                        statistics.addDuplicatePruned();
+                        continue;
+                    }
+                    @SuppressWarnings("unchecked")  // the children of a T are Ts too
+                    T child = (T) curr.applyMove(move);
+                    if (child.isSolution()) {
+                        return child;
+                    }
+                    if (colored.add(child)) {
+                        queue.offer(child);
+                    } else {
+                        statistics.addDuplicatePruned();
+                    }
+                }
+                statistics.updatePeakSizes(queue.size(), colored.size());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find a solution from the given node the same way as
+     * {@link #findSolution(Node, Queue, ClosestNodeTracker, SearchMonitor, SearchStatistics)}, but with the nodes
+     * stored in the given arena. Nodes are added to the arena in the order they are found, which is the order BFS
+     * expands them in, so the arena itself is the queue: the nodes after the next one to expand are the ones waiting to
+     * be expanded.
+     *
+     * @param node       the node to search from, which must have a packed state
+     * @param arena      the arena to store the nodes in
+     * @param closest    the tracker to offer each expanded node's index to
+     * @param monitor    the monitor to check for when to stop
+     * @param statistics the statistics to record the search's work in
+     * @return the index of the solution node in the arena if found; otherwise {@link #NO_SOLUTION}
+     */
+    private int findSolution(T node, NodeArena arena, ClosestNodeTracker<T> closest, SearchMonitor monitor,
+                             SearchStatistics statistics) {
+        int rootIndex = arena.add(node, NodeArena.NO_PARENT);
+        VisitedStateSet colored = new VisitedStateSet();
+        colored.add(node);
+
+        // Check if the given node is a solution before searching
+        if (node.isSolution()) {
+            return rootIndex;
+        }
+        // Search for a solution
+        for (int currIndex = rootIndex; currIndex < arena.size(); currIndex++) {
+            if (monitor.shouldStop(1)) {
+                break;
+            }
+
+            Node curr = node.getNodeWithPackedState(arena.getPackedState(currIndex), arena.getGValue(currIndex),
+                    arena.getHValue(currIndex));
+            closest.offer(currIndex, curr.getHValue());
+            int moveCount = curr.getMoveCount();
+            statistics.addExpandedNode(moveCount);
+            for (int move = 0; move < moveCount; move++) {
+                // Only moves to new states are made, so no node is created for the others
+                if (!colored.add(curr.getPackedStateAfterMove(move))) {
+                    statistics.addDuplicatePruned();
+                    continue;
+                }
+                Node child = curr.applyMove(move);
+                if (child.isSolution()) {
+                    return arena.add(child, currIndex);
+                }
+                arena.add(child, currIndex);
+            }
+            statistics.updatePeakSizes(arena.size() - currIndex - 1, colored.size());
+        }
+        return NO_SOLUTION;
+    }
+
+    @Override
+    public boolean findsFastestSolutions() {
+        return true;
+    }
+
+    @Override
+    public void terminate() {
+        SearchMonitor monitor = this.monitor;
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+}
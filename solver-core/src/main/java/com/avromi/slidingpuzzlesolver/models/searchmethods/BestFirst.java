@@ -0,0 +1,44 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+import com.avromi.slidingpuzzlesolver.models.classes.BucketQueue;
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+
+
+
+/**
+ * Facilitates search with the Best-First informed search algorithm.
+ */
+public class BestFirst<T extends Node> implements SearchMethod<T> {
+    /**
+     * The search that does the work, with a queue ordered by H-value instead of first in, first out
+     */
+    private final BFS<T> bfs = new BFS<>();
+
+    /**
+     * Search for a solution using the Best-First algorithm. The Best-First algorithm uses informed search to find the
+     * fastest solution it can find in terms of search speed, regardless of solution depth. If it is stopped first, the
+     * result has the path to the closest node to a solution it expanded.
+     *
+     * @param node   the node to find the solution for
+     * @param budget the limits the search must stay within
+     * @param token  the token to cancel the search with
+     * @return the PuzzleSolution found
+     */
+    @Override
+    public SearchResult<T> search(T node, SearchBudget budget, CancellationToken token) {
+        // We construct a priority queue to sort the nodes based on their H values or heuristic value, i.e., the estimated
+        // cost REMAINING from this node to get to any solution. H values are small integers, so a bucket queue is used.
+        BucketQueue<T> queue = BucketQueue.byHValue();
+        // aside from the queue, the algorithm is the same as BFS.
+        return bfs.search(node, queue, budget, token);
+    }
+
+    @Override
+    public void terminate() {
+        bfs.terminate();  // terminate the running bfs search
+    }
+}
@@ -0,0 +1,166 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchMonitor;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Facilitates bidirectional breadth-first search, which searches forward from the given node and backward from the
+ * solution at the same time until the two searches meet.
+ */
+public class BidirectionalBFS<T extends Node> implements SearchMethod<T> {
+    /**
+     * The monitor of the running search, or <code>null</code> if no search is running
+     */
+    private volatile SearchMonitor monitor;
+
+    /**
+     * Search for a solution using bidirectional BFS. Like BFS, it finds the fastest solution (in number of moves), but
+     * each side only has to search about half as deep, so far fewer nodes are visited.
+     *
+     * @param node   the node to find the solution for
+     * @param budget the limits the search must stay within
+     * @param token  the token to cancel the search with
+     * @return the PuzzleSolution found
+     */
+    @Override
+    public SearchResult<T> search(T node, SearchBudget budget, CancellationToken token) {
+        if (!node.isSolvable()) {
+            return SearchResult.unsolvable();
+        }
+        SearchMonitor monitor = new SearchMonitor(budget, token);
+        this.monitor = monitor;
+        SearchStatistics statistics = new SearchStatistics();
+        T solution = findSolution(node, monitor, statistics);
+        statistics.finish();
+        this.monitor = null;
+
+        if (solution != null) {
+            return new SearchResult<>(true, solution, statistics);
+        } else {
+            return new SearchResult<>(monitor.getUnsolvedOutcome(), statistics);
+        }
+    }
+
+    /**
+     * Find a solution from the given node and return the solution if found. Each step expands a whole level of
+     * whichever side has the smaller frontier. The first level in which the sides meet contains the fastest solution,
+     * but not necessarily at the first meeting found, so the whole level is checked for the shortest path through it.
+     *
+     * @param node       the node to search from
+     * @param monitor    the monitor to check for when to stop
+     * @param statistics the statistics to record the search's work in
+     * @return the solution node if found; otherwise null
+     */
+    private T findSolution(T node, SearchMonitor monitor, SearchStatistics statistics) {
+        if (node.isSolution()) {
+            return node;
+        }
+
+        // The nodes found from each side, keyed by their state. The backward nodes' parents lead to the solution.
+        Map<Node, Node> forwardNodes = new HashMap<>();
+        Map<Node, Node> backwardNodes = new HashMap<>();
+        List<Node> forwardFrontier = new ArrayList<>();
+        List<Node> backwardFrontier = new ArrayList<>();
+
+        Node solutionNode = node.getSolutionNode();
+        forwardNodes.put(node, node);
+        forwardFrontier.add(node);
+        backwardNodes.put(solutionNode, solutionNode);
+        backwardFrontier.add(solutionNode);
+
+        while (!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+            boolean expandForward = forwardFrontier.size() <= backwardFrontier.size();
+            Map<Node, Node> nodes = expandForward ? forwardNodes : backwardNodes;
+            Map<Node, Node> otherNodes = expandForward ? backwardNodes : forwardNodes;
+            List<Node> frontier = expandForward ? forwardFrontier : backwardFrontier;
+            List<Node> nextFrontier = new ArrayList<>();
+
+            // The meeting with the fastest solution in this level, from this side and from the other side
+            Node bestMeeting = null;
+            Node bestOtherMeeting = null;
+
+            for (Node curr : frontier) {
+                if (monitor.shouldStop(1)) {
+                    return null;
+                }
+                List<Node> children = curr.getNextNodes();
+                statistics.addExpandedNode(children.size());
+                for (Node child : children) {
+                    if (nodes.containsKey(child)) {
+                        statistics.addDuplicatePruned();
+                        continue;
+                    }
+                    nodes.put(child, child);
+                    nextFrontier.add(child);
+
+                    Node otherMeeting = otherNodes.get(child);
+                    if (otherMeeting != null && (bestMeeting == null
+                            || otherMeeting.getLevel() < bestOtherMeeting.getLevel())) {
+                        bestMeeting = child;
+                        bestOtherMeeting = otherMeeting;
+                    }
+                }
+            }
+
+            int otherFrontierSize = expandForward ? backwardFrontier.size() : forwardFrontier.size();
+            statistics.updatePeakSizes(frontier.size() + nextFrontier.size() + otherFrontierSize,
+                    nodes.size() + otherNodes.size());
+
+            if (bestMeeting != null) {
+                return expandForward ? joinPaths(bestMeeting, bestOtherMeeting)
+                        : joinPaths(bestOtherMeeting, bestMeeting);
+            }
+            if (expandForward) {
+                forwardFrontier = nextFrontier;
+            } else {
+                backwardFrontier = nextFrontier;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Joins the paths of the two searches where they met, by replaying the moves of the backward path from the end of
+     * the forward path.
+     *
+     * @param forwardNode  the meeting node found by the forward search
+     * @param backwardNode the same state, found by the backward search
+     * @return the solution node, whose parents lead back to the node the search started from
+     */
+    @SuppressWarnings("unchecked")  // every node reached from a T is a T, though Node doesn't say so
+    private T joinPaths(Node forwardNode, Node backwardNode) {
+        Node curr = forwardNode;
+        for (Node next = backwardNode.getParent(); next != null; next = next.getParent()) {
+            for (Node child : curr.getNextNodes()) {
+                if (child.equals(next)) {
+                    curr = child;
+                    break;
+                }
+            }
+        }
+        return (T) curr;
+    }
+
+    @Override
+    public boolean findsFastestSolutions() {
+        return true;
+    }
+
+    @Override
+    public void terminate() {
+        SearchMonitor monitor = this.monitor;
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+}
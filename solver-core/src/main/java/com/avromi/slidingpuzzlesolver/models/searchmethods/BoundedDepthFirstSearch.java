@@ -0,0 +1,182 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.classes.BoardTables;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Heuristic;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The depth-first search bounded by F-value that IDA* repeats with increasing bounds. The board is changed in place as
+ * moves are made and undone, so that no objects are allocated per node. Each instance searches one board at a time, so
+ * searches on multiple threads each need their own.
+ */
+class BoundedDepthFirstSearch {
+    /**
+     * Returned from a bounded search when the solution was found.
+     */
+    static final int FOUND = -1;
+
+    /**
+     * Returned from a bounded search when no node was cut off by the bound, i.e., there is nothing left to search.
+     */
+    static final int NOT_FOUND = Integer.MAX_VALUE;
+
+    /**
+     * The number of nodes to visit between checks of whether the search should stop.
+     */
+    static final int STOP_CHECK_INTERVAL = 1 << 12;
+
+    private final int boardSize;
+    private final BoardTables tables;
+    private final int emptyPieceNumber;
+    private final int[] pieces;
+    private final Heuristic heuristic;
+    private final BooleanSupplier shouldStop;
+    private final SearchStatistics statistics;
+    private int[] movedPieces;
+    private int solutionLength;
+    private int nodesUntilStopCheck = STOP_CHECK_INTERVAL;
+
+    /**
+     * Whether the search was stopped, so that every level of the search returns at once instead of going on with the
+     * rest of its moves
+     */
+    private boolean stopped = false;
+
+    /**
+     * @param pieces     the board to search from, in order from top-left to bottom-right. This array is used (and
+     *                   changed while searching) directly.
+     * @param boardSize  the number of rows/columns in the board
+     * @param heuristic  the heuristic to estimate the distance of each board with
+     * @param shouldStop checked every so often, to stop the search when it returns <code>true</code>
+     * @param statistics the statistics to record the search's work in. The open list of a depth-first search is its
+     *                   current path.
+     */
+    BoundedDepthFirstSearch(int[] pieces, int boardSize, Heuristic heuristic, BooleanSupplier shouldStop,
+                            SearchStatistics statistics) {
+        this.boardSize = boardSize;
+        this.tables = BoardTables.forSize(boardSize);
+        this.emptyPieceNumber = SlidingPuzzleNode.getEmptyPieceNumber(boardSize);
+        this.pieces = pieces;
+        this.heuristic = heuristic;
+        this.shouldStop = shouldStop;
+        this.statistics = statistics;
+        this.movedPieces = new int[64];
+    }
+
+    /**
+     * Depth-first search from the current board, without going past the given bound.
+     *
+     * @param gValue                  the number of moves made to get to the current board
+     * @param hValue                  the heuristic value of the current board
+     * @param bound                   the highest F-value to search
+     * @param emptyPieceIndex         the position of the empty piece on the current board
+     * @param previousEmptyPieceIndex the position of the empty piece before the last move, which is skipped so the last
+     *                                move isn't immediately undone (or -1 if there is none)
+     * @return {@link #FOUND} if the solution was found, otherwise the lowest F-value past the bound (or
+     * {@link #NOT_FOUND} if there is none, or if the search was stopped)
+     */
+    int search(int gValue, int hValue, int bound, int emptyPieceIndex, int previousEmptyPieceIndex) {
+        int fValue = gValue + hValue;
+        if (fValue > bound) {
+            return fValue;
+        }
+        if (hValue == 0 && isSolved(pieces)) {
+            solutionLength = gValue;
+            return FOUND;
+        }
+        if (--nodesUntilStopCheck == 0) {
+            nodesUntilStopCheck = STOP_CHECK_INTERVAL;
+            if (shouldStop.getAsBoolean()) {
+                stopped = true;
+                return NOT_FOUND;
+            }
+        }
+        if (gValue == movedPieces.length) {
+            movedPieces = Arrays.copyOf(movedPieces, movedPieces.length * 2);
+        }
+
+        int lowestFValuePastBound = NOT_FOUND;
+        int nodesGenerated = 0;
+        statistics.updatePeakSizes(gValue + 1, 0);
+        // Try moving the piece above, to the right, below, and to the left of the empty space into it.
+        for (int pieceToMoveIndex : tables.getMoves(emptyPieceIndex)) {
+            if (pieceToMoveIndex == previousEmptyPieceIndex) {
+                statistics.addDuplicatePruned();  // moving the piece back would return to the previous board
+                continue;
+            }
+
+            // Make the move
+            int pieceToMove = pieces[pieceToMoveIndex];
+            pieces[emptyPieceIndex] = pieceToMove;
+            pieces[pieceToMoveIndex] = emptyPieceNumber;
+            movedPieces[gValue] = pieceToMove;
+            int childHValue = heuristic.evaluateMove(hValue, pieces, boardSize, pieceToMove,
+                    pieceToMoveIndex, emptyPieceIndex);
+
+            nodesGenerated++;
+            int result = search(gValue + 1, childHValue, bound, pieceToMoveIndex, emptyPieceIndex);
+
+            // Undo the move
+            pieces[pieceToMoveIndex] = pieceToMove;
+            pieces[emptyPieceIndex] = emptyPieceNumber;
+
+            if (result == FOUND) {
+                statistics.addExpandedNode(nodesGenerated);
+                return FOUND;
+            }
+            if (stopped) {
+                statistics.addExpandedNode(nodesGenerated);
+                return NOT_FOUND;
+            }
+            lowestFValuePastBound = Math.min(lowestFValuePastBound, result);
+        }
+        statistics.addExpandedNode(nodesGenerated);
+        return lowestFValuePastBound;
+    }
+
+    /**
+     * @param fromGValue the G-value the last search started at
+     * @return the pieces moved from the board the last search started at to the solution, if it found one
+     */
+    int[] getSolutionMoves(int fromGValue) {
+        return Arrays.copyOfRange(movedPieces, fromGValue, solutionLength);
+    }
+
+    /**
+     * @return <code>true</code> if the given board is solved; otherwise <code>false</code>
+     */
+    static boolean isSolved(int[] pieces) {
+        for (int i = 0; i < pieces.length; i++) {
+            if (pieces[i] != i + 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds the nodes of a solution by replaying its moves from the given node. Nodes are only created here, once the
+     * solution is known.
+     *
+     * @param node        the node the search started from
+     * @param movedPieces the pieces moved to get from the node to the solution, in order
+     * @return the solution node
+     */
+    static SlidingPuzzleNode buildSolution(SlidingPuzzleNode node, int[] movedPieces) {
+        SlidingPuzzleNode curr = node;
+        for (int movedPiece : movedPieces) {
+            for (Node child : curr.getNextNodes()) {
+                if (child.getMovedPiece() == movedPiece) {
+                    curr = (SlidingPuzzleNode) child;
+                    break;
+                }
+            }
+        }
+        return curr;
+    }
+}
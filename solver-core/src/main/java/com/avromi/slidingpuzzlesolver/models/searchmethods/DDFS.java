@@ -0,0 +1,154 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.ClosestNodeTracker;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchMonitor;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+import com.avromi.slidingpuzzlesolver.models.classes.VisitedStateSet;
+
+import java.util.Stack;
+
+/**
+ * Facilitates search with depth-bounded DFS.
+ */
+public class DDFS<T extends Node> implements SearchMethod<T> {
+    /**
+     * The monitor of the running search, or <code>null</code> if no search is running
+     */
+    private volatile SearchMonitor monitor;
+
+    /**
+     * The maximum depth to search until. Once this depth is hit, the search terminates.
+     */
+    private final int DEFAULT_MAX_DEPTH = 10;
+
+    /**
+     * Search for a solution to the given node using DDFS
+     *
+     * @param node   the node to find the solution for
+     * @param budget the limits the search must stay within
+     * @param token  the token to cancel the search with
+     * @return the solution found, if applicable
+     */
+    @Override
+    public SearchResult<T> search(T node, SearchBudget budget, CancellationToken token) {
+        return search(node, DEFAULT_MAX_DEPTH, budget, token);
+    }
+
+    /**
+     * Search for a solution using the DDFS algorithm. DDFS performs DFS search up until the set
+     * maximum depth, terminating with no solution if it is not found by the set depth.
+     *
+     * @param node the node to find the solution for
+     * @return the PuzzleSolution found
+     */
+    public SearchResult<T> search(T node, int maxDepth) {
+        return search(node, maxDepth, SearchBudget.UNLIMITED, new CancellationToken());
+    }
+
+    /**
+     * Search for a solution using the DDFS algorithm, until the set maximum depth or until the budget runs out or the
+     * token is cancelled.
+     *
+     * @param node     the node to find the solution for
+     * @param maxDepth the maximum depth to search until
+     * @param budget   the limits the search must stay within
+     * @param token    the token to cancel the search with
+     * @return the PuzzleSolution found
+     */
+    public SearchResult<T> search(T node, int maxDepth, SearchBudget budget, CancellationToken token) {
+        return search(node, maxDepth, new SearchMonitor(budget, token));
+    }
+
+    /**
+     * Search for a solution using the DDFS algorithm, stopping when the given monitor says to. The monitor may be
+     * shared with other searches, so that {@link IDDFS} can hold all of its depths to one budget.
+     */
+    SearchResult<T> search(T node, int maxDepth, SearchMonitor monitor) {
+        if (!node.isSolvable()) {
+            return SearchResult.unsolvable();
+        }
+        this.monitor = monitor;
+        SearchStatistics statistics = new SearchStatistics();
+        ClosestNodeTracker<T> closest = new ClosestNodeTracker<>();
+        T solution = findSolution(node, maxDepth, closest, monitor, statistics);
+        statistics.finish();
+        this.monitor = null;
+
+        if (solution != null) {
+            return new SearchResult<>(true, solution, statistics);
+        } else {
+            return new SearchResult<>(monitor.getUnsolvedOutcome(), closest.getNode(), statistics);
+        }
+    }
+
+    /**
+     * Find a solution from the given node, up until the provided max depth, and return the solution if found.
+     *
+     * @param node     the node to search from
+     * @param maxDepth the maximum depth to search until
+     * @param closest  the tracker to offer each node popped to, for a partial result if no solution is found
+     * @param monitor  the monitor to check for when to stop
+     * @param statistics the statistics to record the search's work in
+     * @return the solution node if found; otherwise null
+     */
+    private T findSolution(T node, int maxDepth, ClosestNodeTracker<T> closest, SearchMonitor monitor,
+                           SearchStatistics statistics) {
+        Stack<T> stack = new Stack<>();
+        int depth;
+        stack.push(node);
+        VisitedStateSet colored = new VisitedStateSet();
+        colored.add(node);
+
+        // Check if the given node is a solution before searching
+        if (node.isSolution()) {
+            return node;
+        } else {
+            while (!stack.isEmpty()) {
+                if (monitor.shouldStop(1)) {
+                    break;
+                }
+
+                // Otherwise, search for a solution
+                T curr = stack.pop();
+                closest.offer(curr);
+                depth = curr.getLevel();
+                if (depth < maxDepth) { // *** Check that we are not past the max depth before we evaluate the children.
+                    int moveCount = curr.getMoveCount();
+                    statistics.addExpandedNode(moveCount);
+                    for (int move = 0; move < moveCount; move++) {
+                        // Moves to states already found are skipped before a node is created for them
+                        if (colored.containsAfterMove(curr, move)) {
+                            statistics.addDuplicatePruned();
+                            continue;
+                        }
+                        @SuppressWarnings("unchecked")  // the children of a T are Ts too
+                        T child = (T) curr.applyMove(move);
+                        if (child.isSolution()) {
+                            return child;
+                        }
+                        if (colored.add(child)) {
+                            stack.push(child);
+                        } else {
+                            statistics.addDuplicatePruned();
+                        }
+                    }
+                    statistics.updatePeakSizes(stack.size(), colored.size());
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void terminate() {
+        SearchMonitor monitor = this.monitor;
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchMonitor;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+import com.avromi.slidingpuzzlesolver.models.classes.VisitedStateSet;
+
+import java.util.*;
+
+/**
+ * Facilitates depth-first search on a puzzle.
+ */
+public class DFS<T extends Node> implements SearchMethod<T> {
+    /**
+     * The monitor of the running search, or <code>null</code> if no search is running
+     */
+    private volatile SearchMonitor monitor;
+
+    /**
+     * Search for a solution to the given node using DFS
+     *
+     * @param node   the node to find the solution for
+     * @param budget the limits the search must stay within
+     * @param token  the token to cancel the search with
+     * @return the solution found, if applicable
+     */
+    @Override
+    public SearchResult<T> search(T node, SearchBudget budget, CancellationToken token) {
+        Stack<T> stack = new Stack<>();
+        return search(node, stack, budget, token);
+    }
+
+    /**
+     * Search for a solution using the DFS algorithm, without limits.
+     *
+     * @param node  the node to find the solution for
+     * @param stack the stack to use in the search.
+     * @return the PuzzleSolution found
+     */
+    public SearchResult<T> search(T node, Stack<T> stack) {
+        return search(node, stack, SearchBudget.UNLIMITED, new CancellationToken());
+    }
+
+    /**
+     * Search for a solution using the DFS algorithm.
+     *
+     * @param node   the node to find the solution for
+     * @param stack  the stack to use in the search.
+     * @param budget the limits the search must stay within
+     * @param token  the token to cancel the search with
+     * @return the PuzzleSolution found
+     */
+    public SearchResult<T> search(T node, Stack<T> stack, SearchBudget budget, CancellationToken token) {
+        if (!node.isSolvable()) {
+            return SearchResult.unsolvable();
+        }
+        SearchMonitor monitor = new SearchMonitor(budget, token);
+        this.monitor = monitor;
+        SearchStatistics statistics = new SearchStatistics();
+        T solution = findSolution(node, stack, monitor, statistics);
+        statistics.finish();
+        this.monitor = null;
+
+        if (solution != null) {
+            return new SearchResult<>(true, solution, statistics);
+        } else {
+            return new SearchResult<>(monitor.getUnsolvedOutcome(), statistics);
+        }
+    }
+
+    /**
+     * Find a solution from the given node, using the given stack, and return the solution if found.
+     *
+     * @param node  the node to search from
+     * @param stack the stack to use in the search
+     * @param monitor the monitor to check for when to stop
+     * @param statistics the statistics to record the search's work in
+     * @return the solution node if found; otherwise null
+     */
+    private T findSolution(T node, Stack<T> stack, SearchMonitor monitor, SearchStatistics statistics) {
+        stack.push(node);
+        VisitedStateSet colored = new VisitedStateSet();
+        colored.add(node);
+
+        // Check if the given node is a solution before searching
+        if (node.isSolution()) {
+            return node;
+        } else {
+            while (!stack.isEmpty()) {
+                if (monitor.shouldStop(1)) {
+                    break;
+                }
+
+                // Otherwise, search for a solution
+                T curr = stack.pop();
+                int moveCount = curr.getMoveCount();
+                statistics.addExpandedNode(moveCount);
+                for (int move = 0; move < moveCount; move++) {
+                    // Moves to states already found are skipped before a node is created for them
+                    if (colored.containsAfterMove(curr, move)) {
+                        statistics.addDuplicatePruned();
+                        continue;
+                    }
+                    @SuppressWarnings("unchecked")  // the children of a T are Ts too
+                    T child = (T) curr.applyMove(move);
+                    if (child.isSolution()) {
+                        return child;
+                    }
+                    if (colored.add(child)) {
+                        stack.push(child);
+                    } else {
+                        statistics.addDuplicatePruned();
+                    }
+                }
+                statistics.updatePeakSizes(stack.size(), colored.size());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void terminate() {
+        SearchMonitor monitor = this.monitor;
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+}
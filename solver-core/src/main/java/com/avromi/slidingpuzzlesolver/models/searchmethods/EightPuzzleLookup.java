@@ -0,0 +1,118 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.DatabaseFiles;
+import com.avromi.slidingpuzzlesolver.models.classes.EightPuzzleDatabase;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+
+import java.io.File;
+
+/**
+ * Solves 3x3 boards without searching, by looking up the fastest solution in an {@link EightPuzzleDatabase}. The
+ * database is loaded the first time it is needed: from a saved file if there is one, otherwise it is built and saved
+ * for next time. Other board sizes are searched with IDA* instead.
+ */
+public class EightPuzzleLookup implements SearchMethod<SlidingPuzzleNode> {
+    private static final String FILE_NAME = "eight_puzzle_database";
+
+    /**
+     * The directory the database is saved to and loaded from, or <code>null</code> to keep it in memory only.
+     */
+    private final File directory;
+
+    /**
+     * The search method used for boards that aren't 3x3.
+     */
+    private final SearchMethod<SlidingPuzzleNode> fallback = new IDAStar();
+
+    private volatile EightPuzzleDatabase database;
+
+    /**
+     * Construct an 8-puzzle lookup that builds its database in memory each time.
+     */
+    public EightPuzzleLookup() {
+        this(null);
+    }
+
+    /**
+     * Construct an 8-puzzle lookup that saves its database to the given directory.
+     */
+    public EightPuzzleLookup(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Look up the fastest solution of a 3x3 board. This takes microseconds once the database is loaded, and boards that
+     * can't be solved are found in the database too.
+     *
+     * @param node   the node to find the solution for
+     * @param budget the limits a search of another board size must stay within. A lookup is within any budget.
+     * @param token  the token to cancel the search with
+     * @return the PuzzleSolution found
+     */
+    @Override
+    public SearchResult<SlidingPuzzleNode> search(SlidingPuzzleNode node, SearchBudget budget,
+                                                  CancellationToken token) {
+        int[][] board = node.getBoardPieces();
+        if (board.length != EightPuzzleDatabase.BOARD_SIZE) {
+            return fallback.search(node, budget, token);
+        }
+        SearchStatistics statistics = new SearchStatistics();
+        if (token.isCancelled()) {
+            statistics.finish();
+            return new SearchResult<>(SearchResult.Outcome.CANCELLED, statistics);
+        }
+
+        int[] movedPieces = getDatabase().getSolutionMoves(node.getFlatPieces());
+        statistics.finish();
+        if (movedPieces == null) {
+            return SearchResult.unsolvable();
+        }
+        return new SearchResult<>(node, movedPieces, statistics);
+    }
+
+    /**
+     * Loads or builds the database ahead of time, so that the first search doesn't have to. Building it takes under a
+     * second, but it should still not be done on the UI thread.
+     */
+    public void prepare() {
+        getDatabase();
+    }
+
+    @Override
+    public boolean findsFastestSolutions() {
+        return true;
+    }
+
+    /**
+     * A lookup can't be stopped part way, since it is over in microseconds, so only searches of other board sizes are
+     * terminated.
+     */
+    @Override
+    public void terminate() {
+        fallback.terminate();
+    }
+
+    private EightPuzzleDatabase getDatabase() {
+        EightPuzzleDatabase database = this.database;
+        return database != null ? database : loadDatabase();
+    }
+
+    private synchronized EightPuzzleDatabase loadDatabase() {
+        // Another thread may have loaded it while this one was waiting
+        EightPuzzleDatabase database = this.database;
+        if (database != null) {
+            return database;
+        }
+
+        File file = directory != null ? new File(directory, FILE_NAME) : null;
+        database = DatabaseFiles.loadOrBuild(file, EightPuzzleDatabase::load, EightPuzzleDatabase::build,
+                EightPuzzleDatabase::save);
+        this.database = database;
+        return database;
+    }
+}
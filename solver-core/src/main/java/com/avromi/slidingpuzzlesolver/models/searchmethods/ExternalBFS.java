@@ -0,0 +1,453 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.classes.BoardTables;
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.PackedBoard;
+import com.avromi.slidingpuzzlesolver.models.classes.PackedStateFile;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchMonitor;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Facilitates breadth-first search with the states kept in files instead of in memory, so that the memory used stays
+ * the same however large the search gets. Each depth (layer) of the search is a file of sorted packed states, read and
+ * written through memory-mapped windows (see {@link PackedStateFile}).
+ * <p>
+ * Duplicates are removed from a layer all at once, instead of checking each state as it is found: the states found from
+ * a layer are sorted in batches that fit the memory budget, and the batches are merged into the next layer, skipping
+ * repeats and any state in the two layers before it. A state found from a layer was either first found in the layer
+ * before, in the layer itself, or is new, so this is enough to keep each state in only the first layer it is found in.
+ * <p>
+ * Only boards that can be packed (up to 4x4) are searched this way; larger boards use {@link BFS}.
+ */
+public class ExternalBFS implements SearchMethod<SlidingPuzzleNode> {
+    /**
+     * The monitor of the running search, or <code>null</code> if no search is running
+     */
+    private volatile SearchMonitor monitor;
+
+    /**
+     * The default number of states to sort in memory at a time, which takes 8MB
+     */
+    public static final int DEFAULT_MEMORY_BUDGET = 1 << 20;
+
+    /**
+     * How often (in states) the monitor is checked
+     */
+    private static final int STOP_CHECK_INTERVAL = 4096;
+
+    /**
+     * The directory the layer files are made in
+     */
+    private final File directory;
+
+    /**
+     * The number of states to sort in memory at a time
+     */
+    private final int memoryBudget;
+
+    /**
+     * The number of states in each layer of the last search
+     */
+    private volatile long[] layerSizes = new long[0];
+
+    /**
+     * The search method used for boards too large to be packed
+     */
+    private final BFS<SlidingPuzzleNode> fallback = new BFS<>();
+
+    /**
+     * Construct an external BFS that keeps its files in the system's temporary directory.
+     */
+    public ExternalBFS() {
+        this(new File(System.getProperty("java.io.tmpdir")), DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Construct an external BFS.
+     *
+     * @param directory    the directory to keep the layer files in while searching
+     * @param memoryBudget the number of states to sort in memory at a time, which take 8 bytes each
+     */
+    public ExternalBFS(File directory, int memoryBudget) {
+        if (memoryBudget < 1) {
+            throw new IllegalArgumentException("The memory budget must be positive");
+        }
+        this.directory = directory;
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Search for a solution using BFS with the layers in files. Like BFS, it finds the fastest solution (in number of
+     * moves).
+     *
+     * @param node   the node to find the solution for
+     * @param budget the limits the search must stay within. Only the heap is counted as memory, not the files.
+     * @param token  the token to cancel the search with
+     * @return the PuzzleSolution found
+     * @throws UncheckedIOException if the layer files can't be written or read
+     */
+    @Override
+    public SearchResult<SlidingPuzzleNode> search(SlidingPuzzleNode node, SearchBudget budget,
+                                                  CancellationToken token) {
+        int boardSize = node.getBoardPieces().length;
+        if (!PackedBoard.canPack(boardSize)) {
+            return fallback.search(node, budget, token);
+        }
+        if (!node.isSolvable()) {
+            return SearchResult.unsolvable();
+        }
+        SearchMonitor monitor = new SearchMonitor(budget, token);
+        this.monitor = monitor;
+        SearchStatistics statistics = new SearchStatistics();
+        try {
+            int[] movedPieces = findSolution(node.getPackedState(), boardSize, true, monitor, statistics);
+            statistics.finish();
+            if (movedPieces != null) {
+                return new SearchResult<>(node, movedPieces, statistics);
+            }
+            return new SearchResult<>(monitor.getUnsolvedOutcome(), statistics);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.monitor = null;
+        }
+    }
+
+    /**
+     * Counts the states at each depth from the given board, by searching until every state reachable from it has been
+     * found. This is only feasible for boards up to 3x3, or with a terminate after enough layers.
+     *
+     * @param node the board to count from
+     * @return the number of states at each depth, starting with the board itself at depth 0
+     * @throws UncheckedIOException if the layer files can't be written or read
+     */
+    public long[] countLayers(SlidingPuzzleNode node) {
+        int boardSize = node.getBoardPieces().length;
+        if (!PackedBoard.canPack(boardSize)) {
+            throw new IllegalArgumentException("Only boards up to 4x4 can be searched in files");
+        }
+        SearchMonitor monitor = new SearchMonitor(SearchBudget.UNLIMITED, new CancellationToken());
+        this.monitor = monitor;
+        try {
+            findSolution(node.getPackedState(), boardSize, false, monitor, new SearchStatistics());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.monitor = null;
+        }
+        return getLayerSizes();
+    }
+
+    /**
+     * @return the number of states at each depth of the last search
+     */
+    public long[] getLayerSizes() {
+        return layerSizes.clone();
+    }
+
+    @Override
+    public boolean findsFastestSolutions() {
+        return true;
+    }
+
+    @Override
+    public void terminate() {
+        SearchMonitor monitor = this.monitor;
+        if (monitor != null) {
+            monitor.stop();
+        }
+        fallback.terminate();
+    }
+
+    /**
+     * Search layer by layer from the given state until the solution is found, and return the moves of the solution.
+     *
+     * @param start          the packed state to search from
+     * @param boardSize      the number of rows/columns in the board
+     * @param stopAtSolution whether to stop at the solution, or to go on until there are no new states
+     * @param monitor        the monitor to check for when to stop
+     * @param statistics     the statistics to record the search's work in
+     * @return the pieces moved to get to the solution, in order, if found; otherwise null
+     */
+    private int[] findSolution(long start, int boardSize, boolean stopAtSolution, SearchMonitor monitor,
+                               SearchStatistics statistics) throws IOException {
+        File layerDirectory = createLayerDirectory();
+        List<PackedStateFile> layers = new ArrayList<>();
+        List<Long> sizes = new ArrayList<>();
+        try {
+            BoardTables tables = BoardTables.forSize(boardSize);
+            long goal = PackedBoard.pack(getGoal(boardSize));
+
+            PackedStateFile.Writer firstLayer = new PackedStateFile.Writer(new File(layerDirectory, "layer_0"));
+            firstLayer.write(start);
+            layers.add(firstLayer.finish());
+            sizes.add(1L);
+            boolean solutionWasFound = start == goal;
+
+            long[] batch = new long[memoryBudget];
+            while (!(stopAtSolution && solutionWasFound)) {
+                if (monitor.shouldStop(0)) {
+                    return null;
+                }
+                int depth = layers.size() - 1;
+                List<PackedStateFile> runs = expandLayer(layers.get(depth), batch, tables, layerDirectory, monitor,
+                        statistics);
+                if (runs == null) {
+                    return null;
+                }
+                PackedStateFile previous = depth > 0 ? layers.get(depth - 1) : null;
+                File nextFile = new File(layerDirectory, "layer_" + (depth + 1));
+                solutionWasFound = mergeRuns(runs, previous, layers.get(depth), nextFile, goal, layers, statistics);
+                PackedStateFile nextLayer = layers.get(layers.size() - 1);
+                if (nextLayer.size() == 0) {
+                    layers.remove(layers.size() - 1);
+                    break;
+                }
+                sizes.add(nextLayer.size());
+                statistics.updatePeakSizes((int) Math.min(nextLayer.size(), Integer.MAX_VALUE),
+                        (int) Math.min(nextLayer.size() + layers.get(depth).size(), Integer.MAX_VALUE));
+            }
+
+            return solutionWasFound ? buildSolution(layers, goal, tables) : null;
+        } finally {
+            for (PackedStateFile layer : layers) {
+                layer.delete();
+            }
+            this.layerSizes = sizes.stream().mapToLong(Long::longValue).toArray();
+            deleteDirectory(layerDirectory);
+        }
+    }
+
+    /**
+     * Finds the states one move from the states of the given layer, and writes them to files in sorted batches.
+     *
+     * @return the batch files, or <code>null</code> if the search was stopped
+     */
+    private List<PackedStateFile> expandLayer(PackedStateFile layer, long[] batch, BoardTables tables,
+                                              File layerDirectory, SearchMonitor monitor, SearchStatistics statistics)
+            throws IOException {
+        List<PackedStateFile> runs = new ArrayList<>();
+        int batchSize = 0;
+        int boardSize = tables.getBoardSize();
+        int emptyPiece = SlidingPuzzleNode.getEmptyPieceNumber(boardSize);
+        long expanded = 0;
+        try (PackedStateFile.Reader reader = layer.openReader()) {
+            while (reader.hasNext()) {
+                if (++expanded % STOP_CHECK_INTERVAL == 0 && monitor.shouldStop(STOP_CHECK_INTERVAL)) {
+                    for (PackedStateFile run : runs) {
+                        run.delete();
+                    }
+                    return null;
+                }
+                long state = reader.next();
+                int emptyPieceIndex = PackedBoard.indexOf(state, emptyPiece, boardSize);
+                int[] moves = tables.getMoves(emptyPieceIndex);
+                statistics.addExpandedNode(moves.length);
+                for (int pieceIndex : moves) {
+                    if (batchSize == batch.length) {
+                        runs.add(writeRun(batch, batchSize, layerDirectory, runs.size(), statistics));
+                        batchSize = 0;
+                    }
+                    batch[batchSize++] = PackedBoard.swapPieces(state, emptyPieceIndex, pieceIndex);
+                }
+            }
+        }
+        runs.add(writeRun(batch, batchSize, layerDirectory, runs.size(), statistics));
+        return runs;
+    }
+
+    /**
+     * Sorts a batch of states and writes it to a file without repeats.
+     */
+    private static PackedStateFile writeRun(long[] batch, int batchSize, File layerDirectory, int runIndex,
+                                            SearchStatistics statistics) throws IOException {
+        Arrays.sort(batch, 0, batchSize);
+        PackedStateFile.Writer writer = new PackedStateFile.Writer(new File(layerDirectory, "run_" + runIndex));
+        for (int i = 0; i < batchSize; i++) {
+            if (i > 0 && batch[i] == batch[i - 1]) {
+                statistics.addDuplicatePruned();
+                continue;
+            }
+            writer.write(batch[i]);
+        }
+        return writer.finish();
+    }
+
+    /**
+     * Merges the sorted batches into the next layer, skipping repeats and the states of the previous two layers, and
+     * adds the next layer to the given list. The batch files are deleted afterwards.
+     *
+     * @return <code>true</code> if the next layer has the goal; otherwise <code>false</code>
+     */
+    private static boolean mergeRuns(List<PackedStateFile> runs, PackedStateFile previous, PackedStateFile current,
+                                     File nextFile, long goal, List<PackedStateFile> layers,
+                                     SearchStatistics statistics) throws IOException {
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Math.max(runs.size(), 1),
+                (first, second) -> Long.compare(first.state, second.state));
+        Cursor previousCursor = null;
+        Cursor currentCursor = null;
+        boolean goalWasFound = false;
+        try (PackedStateFile.Writer writer = new PackedStateFile.Writer(nextFile)) {
+            for (PackedStateFile run : runs) {
+                Cursor cursor = new Cursor(run.openReader());
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+            previousCursor = previous != null ? new Cursor(previous.openReader()) : null;
+            currentCursor = new Cursor(current.openReader());
+            if (previousCursor != null) {
+                previousCursor.advance();
+            }
+            currentCursor.advance();
+
+            long lastState = 0;
+            boolean hasLastState = false;
+            while (!queue.isEmpty()) {
+                Cursor cursor = queue.poll();
+                long state = cursor.state;
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                } else {
+                    cursor.close();
+                }
+
+                if ((hasLastState && state == lastState) || (previousCursor != null && previousCursor.skipTo(state))
+                        || currentCursor.skipTo(state)) {
+                    statistics.addDuplicatePruned();
+                    continue;
+                }
+                writer.write(state);
+                lastState = state;
+                hasLastState = true;
+                if (state == goal) {
+                    goalWasFound = true;
+                }
+            }
+            layers.add(writer.finish());
+        } finally {
+            for (Cursor cursor : queue) {
+                cursor.close();
+            }
+            if (previousCursor != null) {
+                previousCursor.close();
+            }
+            if (currentCursor != null) {
+                currentCursor.close();
+            }
+            for (PackedStateFile run : runs) {
+                run.delete();
+            }
+        }
+        return goalWasFound;
+    }
+
+    /**
+     * Builds the solution backwards from the goal: from each state, a move is made to a state of the layer before,
+     * which is found in the layer's file with a binary search.
+     *
+     * @return the pieces moved to get from the start to the goal, in order
+     */
+    private static int[] buildSolution(List<PackedStateFile> layers, long goal, BoardTables tables)
+            throws IOException {
+        int boardSize = tables.getBoardSize();
+        int emptyPiece = SlidingPuzzleNode.getEmptyPieceNumber(boardSize);
+        int[] movedPieces = new int[layers.size() - 1];
+        long state = goal;
+        for (int depth = layers.size() - 2; depth >= 0; depth--) {
+            int emptyPieceIndex = PackedBoard.indexOf(state, emptyPiece, boardSize);
+            try (PackedStateFile.Reader reader = layers.get(depth).openReader()) {
+                for (int pieceIndex : tables.getMoves(emptyPieceIndex)) {
+                    long parent = PackedBoard.swapPieces(state, emptyPieceIndex, pieceIndex);
+                    if (reader.containsSorted(parent)) {
+                        // The piece moved from the parent is the one where the empty space is now
+                        movedPieces[depth] = PackedBoard.getPiece(state, pieceIndex);
+                        state = parent;
+                        break;
+                    }
+                }
+            }
+        }
+        return movedPieces;
+    }
+
+    private File createLayerDirectory() throws IOException {
+        File layerDirectory = File.createTempFile("bfs", "", directory);
+        if (!layerDirectory.delete() || !layerDirectory.mkdir()) {
+            throw new IOException("Couldn't create " + layerDirectory);
+        }
+        return layerDirectory;
+    }
+
+    private static void deleteDirectory(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    private static int[][] getGoal(int boardSize) {
+        int[][] goal = new int[boardSize][boardSize];
+        for (int i = 0; i < boardSize * boardSize; i++) {
+            goal[i / boardSize][i % boardSize] = i + 1;
+        }
+        return goal;
+    }
+
+    /**
+     * The position of a merge in a sorted file.
+     */
+    private static final class Cursor {
+        private final PackedStateFile.Reader reader;
+        private long state;
+        private boolean hasState;
+
+        Cursor(PackedStateFile.Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Moves to the next state of the file.
+         *
+         * @return <code>true</code> if there was a next state; otherwise <code>false</code>
+         */
+        boolean advance() throws IOException {
+            hasState = reader.hasNext();
+            if (hasState) {
+                state = reader.next();
+            }
+            return hasState;
+        }
+
+        /**
+         * Moves past the states smaller than the given one.
+         *
+         * @return <code>true</code> if the file has the given state; otherwise <code>false</code>
+         */
+        boolean skipTo(long target) throws IOException {
+            while (hasState && state < target) {
+                advance();
+            }
+            return hasState && state == target;
+        }
+
+        void close() throws IOException {
+            reader.close();
+        }
+    }
+}
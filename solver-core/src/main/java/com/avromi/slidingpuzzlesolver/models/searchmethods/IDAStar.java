@@ -0,0 +1,95 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchMonitor;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+
+/**
+ * Facilitates search with the IDA* (iterative deepening A*) informed search algorithm.
+ */
+public class IDAStar implements SearchMethod<SlidingPuzzleNode> {
+    /**
+     * The monitor of the running search, or <code>null</code> if no search is running
+     */
+    private volatile SearchMonitor monitor;
+
+    /**
+     * Search for a solution using the IDA* algorithm. IDA* runs repeated depth-first searches, each bounded by a total
+     * estimated cost (F-value), and raises the bound to the lowest F-value that went past it until a solution is found.
+     * Like A*, it finds the fastest solution (in number of moves), but it only keeps the current path in memory.
+     *
+     * @param node   the node to find the solution for
+     * @param budget the limits the search must stay within
+     * @param token  the token to cancel the search with
+     * @return the PuzzleSolution found
+     */
+    @Override
+    public SearchResult<SlidingPuzzleNode> search(SlidingPuzzleNode node, SearchBudget budget,
+                                                  CancellationToken token) {
+        if (!node.isSolvable()) {
+            return SearchResult.unsolvable();
+        }
+        SearchMonitor monitor = new SearchMonitor(budget, token);
+        this.monitor = monitor;
+        SearchStatistics statistics = new SearchStatistics();
+        SlidingPuzzleNode solution = findSolution(node, monitor, statistics);
+        statistics.finish();
+        this.monitor = null;
+
+        if (solution != null) {
+            return new SearchResult<>(true, solution, statistics);
+        } else {
+            return new SearchResult<>(monitor.getUnsolvedOutcome(), statistics);
+        }
+    }
+
+    /**
+     * Find a solution from the given node by running bounded searches with increasing bounds, and return the solution
+     * if found.
+     *
+     * @param node       the node to search from
+     * @param monitor    the monitor to check for when to stop
+     * @param statistics the statistics to record the search's work in
+     * @return the solution node if found; otherwise null
+     */
+    private SlidingPuzzleNode findSolution(SlidingPuzzleNode node, SearchMonitor monitor,
+                                           SearchStatistics statistics) {
+        int boardSize = node.getBoardPieces().length;
+        int[] pieces = node.getFlatPieces();
+        int emptyPieceIndex = 0;
+        while (pieces[emptyPieceIndex] != SlidingPuzzleNode.getEmptyPieceNumber(boardSize)) {
+            emptyPieceIndex++;
+        }
+        BoundedDepthFirstSearch boundedSearch = new BoundedDepthFirstSearch(pieces, boardSize, node.getHeuristic(),
+                () -> monitor.shouldStop(BoundedDepthFirstSearch.STOP_CHECK_INTERVAL), statistics);
+
+        int bound = node.getHValue();
+        while (!monitor.shouldStop(0)) {
+            int result = boundedSearch.search(0, node.getHValue(), bound, emptyPieceIndex, -1);
+            if (result == BoundedDepthFirstSearch.FOUND) {
+                return BoundedDepthFirstSearch.buildSolution(node, boundedSearch.getSolutionMoves(0));
+            } else if (result == BoundedDepthFirstSearch.NOT_FOUND) {
+                break;
+            }
+            bound = result;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean findsFastestSolutions() {
+        return true;
+    }
+
+    @Override
+    public void terminate() {
+        SearchMonitor monitor = this.monitor;
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+}
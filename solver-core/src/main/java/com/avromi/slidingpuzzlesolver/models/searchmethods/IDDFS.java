@@ -0,0 +1,99 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.ClosestNodeTracker;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchMonitor;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+
+import java.util.List;
+
+/**
+ * Facilitates iterative-deepening depth-first search on a puzzle.
+ */
+public class IDDFS<T extends Node> implements SearchMethod<T> {
+    /**
+     * The monitor of the running search, or <code>null</code> if no search is running. It is shared by every depth's
+     * DDFS, so stopping it stops the active DDFS as well as the deepening.
+     */
+    private volatile SearchMonitor monitor;
+
+    /**
+     * The initial depth to start with
+     */
+    public final int DEFAULT_INITIAL_SEARCH_DEPTH = 20;
+
+    /**
+     * The amount to increment the depth by when a search fails to find a result
+     */
+    public final int DEFAULT_SEARCH_DEPTH_INCREMENT = 5;
+
+    /**
+     * Search for a solution using the default initial search depth and increment
+     * */
+    @Override
+    public SearchResult<T> search(T node, SearchBudget budget, CancellationToken token) {
+        return search(node, DEFAULT_INITIAL_SEARCH_DEPTH, DEFAULT_SEARCH_DEPTH_INCREMENT, budget, token);
+    }
+
+    /**
+     * Search for a solution using IDDFS. IDDFS performs depth bounded DFS (DDFS), but
+     * repeatedly increments the max depth if a solution isn't found. If it is stopped first, the result has the path to
+     * the closest node to a solution found at any depth.
+     *
+     * @param node the node to find the solution for
+     * @param initialSearchDepth the search depth to start with
+     * @param searchDepthIncrement the increment to increase the search depth by each time
+     * @param budget the limits the search must stay within, across all of its depths
+     * @param token the token to cancel the search with
+     * @return the PuzzleSolution found
+     */
+    public SearchResult<T> search(T node, int initialSearchDepth, int searchDepthIncrement, SearchBudget budget,
+                                  CancellationToken token) {
+        if (!node.isSolvable()) {
+            return SearchResult.unsolvable();
+        }
+        SearchMonitor monitor = new SearchMonitor(budget, token);
+        this.monitor = monitor;
+
+        SearchResult<T> solution = new SearchResult<>(false);
+        SearchStatistics statistics = new SearchStatistics();
+        DDFS<T> ddfs = new DDFS<>();
+        // The closest node to a solution of all the depths searched
+        ClosestNodeTracker<T> closest = new ClosestNodeTracker<>();
+
+        // Run until a solution is found or the search is stopped
+        int depth = initialSearchDepth;
+        while (!solution.getSolutionWasFound() && !monitor.isStopped()) {
+            solution = ddfs.search(node, depth, monitor);
+            statistics.add(solution.getStatistics());
+            List<T> partialPath = solution.getPartialPath();
+            if (!partialPath.isEmpty()) {
+                closest.offer(partialPath.get(partialPath.size() - 1));
+            }
+            depth += searchDepthIncrement;
+        }
+
+        this.monitor = null;
+        statistics.finish();
+
+        // Return the solution with the statistics of all the depths searched
+        if (solution.getSolutionWasFound()) {
+            List<T> solutionPath = solution.getSolutionPath();
+            return new SearchResult<>(true, solutionPath.get(solutionPath.size() - 1), statistics);
+        } else {
+            return new SearchResult<>(monitor.getUnsolvedOutcome(), closest.getNode(), statistics);
+        }
+    }
+
+    @Override
+    public void terminate() {
+        SearchMonitor monitor = this.monitor;
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+}
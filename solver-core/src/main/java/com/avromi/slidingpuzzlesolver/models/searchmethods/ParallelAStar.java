@@ -0,0 +1,373 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.classes.BucketQueue;
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.PackedBoard;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchMonitor;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Facilitates A* search on multiple threads, using hash-distributed A* (HDA*). Every state is owned by one thread,
+ * chosen by its hash, and only that thread keeps track of it and expands it. Nodes found by one thread that belong to
+ * another are sent to the other thread's inbox.
+ * <p>
+ * Each search runs its workers on its own pool of daemon threads, which is shut down when the search ends. A worker
+ * with nothing to expand sleeps until it is sent a node, so idle workers don't take up processors.
+ * <p>
+ * Each search keeps its state to itself, so several searches can run on one instance at once, though
+ * {@link #terminate()} only stops the last one started.
+ */
+public class ParallelAStar<T extends Node> implements SearchMethod<T> {
+    /**
+     * The longest (in milliseconds) an idle worker sleeps before checking whether the search should stop. Workers are
+     * woken as soon as they are sent a node or another worker ends the search, but not when the search is cancelled
+     * or runs out of time.
+     */
+    private static final long IDLE_WAIT_MS = 10;
+
+    /**
+     * The numbers of the pools made so far, to name their threads by
+     */
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    /**
+     * The monitor of the running search, or <code>null</code> if no search is running
+     */
+    private volatile SearchMonitor monitor;
+
+    /**
+     * The number of threads to search with
+     */
+    private final int threadCount;
+
+    /**
+     * Construct a parallel A* search that uses a thread for each available processor.
+     */
+    public ParallelAStar() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construct a parallel A* search that uses the given number of threads.
+     *
+     * @throws IllegalArgumentException if the number of threads is less than 1
+     */
+    public ParallelAStar(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Search for a solution using A* on multiple threads. Like A*, it finds the fastest solution (in number of moves).
+     *
+     * @param node   the node to find the solution for
+     * @param budget the limits the search must stay within
+     * @param token  the token to cancel the search with
+     * @return the PuzzleSolution found
+     */
+    @Override
+    public SearchResult<T> search(T node, SearchBudget budget, CancellationToken token) {
+        if (!node.isSolvable()) {
+            return SearchResult.unsolvable();
+        }
+        SearchMonitor monitor = new SearchMonitor(budget, token);
+        this.monitor = monitor;
+        SearchStatistics statistics = new SearchStatistics();
+        T solution;
+        try {
+            solution = new Search(monitor).findSolution(node, statistics);
+        } finally {
+            this.monitor = null;
+        }
+        statistics.finish();
+
+        if (solution != null) {
+            return new SearchResult<>(true, solution, statistics);
+        } else {
+            return new SearchResult<>(monitor.getUnsolvedOutcome(), statistics);
+        }
+    }
+
+    @Override
+    public boolean findsFastestSolutions() {
+        return true;
+    }
+
+    @Override
+    public void terminate() {
+        SearchMonitor monitor = this.monitor;
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+
+    private ExecutorService createExecutor() {
+        int poolNumber = POOL_NUMBER.incrementAndGet();
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "ParallelAStar-" + poolNumber + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * The state of one search, which is shared by its workers. Each search has its own, so that searches don't
+     * interfere with each other.
+     */
+    private class Search {
+        private final SearchMonitor monitor;
+        private final List<Worker> workers = new ArrayList<>(threadCount);
+
+        /**
+         * The number of nodes waiting in an inbox or a queue (see {@link #findSolution(Node, SearchStatistics)})
+         */
+        private final AtomicLong remainingWork = new AtomicLong(1);
+        private volatile T bestSolution;
+        private volatile int bestSolutionCost = Integer.MAX_VALUE;
+        private volatile Throwable workerError;
+
+        /**
+         * @param monitor the monitor to check for when to stop, shared by all threads
+         */
+        Search(SearchMonitor monitor) {
+            this.monitor = monitor;
+        }
+
+        /**
+         * Find a solution from the given node on all threads, and return the solution if found.
+         * <p>
+         * Since each thread expands its own nodes in its own order, the first solution found is not necessarily the
+         * fastest, so the search continues until no node left could lead to a faster one. To know when that is, the
+         * search counts the nodes that are waiting in an inbox or a queue: a node is counted before it is sent, and
+         * only uncounted once it has been expanded or dropped, after its children have been counted. The count can
+         * therefore only reach 0 once there is nothing left to search anywhere.
+         *
+         * @param node       the node to search from
+         * @param statistics the statistics to record the search's work in
+         * @return the solution node if found; otherwise null
+         */
+        T findSolution(T node, SearchStatistics statistics) {
+            for (int i = 0; i < threadCount; i++) {
+                workers.add(new Worker(i));
+            }
+            workers.get(ownerOf(node)).inbox.offer(node);
+
+            List<Callable<Object>> tasks = new ArrayList<>(threadCount);
+            for (Worker worker : workers) {
+                tasks.add(Executors.callable(worker));
+            }
+            ExecutorService executor = createExecutor();
+            try {
+                executor.invokeAll(tasks);
+            } catch (InterruptedException e) {
+                // Stop the workers, since nobody is waiting for their result anymore
+                monitor.stop();
+                Thread.currentThread().interrupt();
+            } finally {
+                executor.shutdown();
+            }
+
+            for (Worker worker : workers) {
+                statistics.addConcurrent(worker.statistics);
+            }
+            if (workerError != null) {
+                throw new RuntimeException(workerError);
+            }
+            if (monitor.isStopped()) {
+                return null;
+            }
+            return bestSolution;
+        }
+
+        /**
+         * Records a solution if it is faster than the fastest one found so far.
+         */
+        private synchronized void offerSolution(T solution) {
+            if (solution.getGValue() < bestSolutionCost) {
+                bestSolution = solution;
+                bestSolutionCost = solution.getGValue();
+            }
+        }
+
+        /**
+         * @return the index of the worker that owns the state of the given node
+         */
+        private int ownerOf(Node node) {
+            // Use the high bits of the hash, so that the owner doesn't depend on the bits the workers' hash maps use
+            long hash = PackedBoard.hash(node.hasPackedState() ? node.getPackedState() : node.hashCode());
+            return (int) ((hash >>> 33) % workers.size());
+        }
+
+        /**
+         * Searches the states owned by one thread.
+         */
+        private class Worker implements Runnable {
+            private final int index;
+
+            /**
+             * Nodes sent to this worker by other workers
+             */
+            private final Queue<T> inbox = new ConcurrentLinkedQueue<>();
+
+            /**
+             * The nodes waiting to be expanded, ordered by F-value (and the deepest first among the same F-value)
+             */
+            private final BucketQueue<T> queue = BucketQueue.byFValue();
+
+            /**
+             * The node with the lowest G-value found for each state owned by this worker. A state can be found through
+             * a shorter path after it was expanded, since the workers don't expand nodes in one shared order, in which
+             * case it is expanded again.
+             */
+            private final HashMap<Node, T> bestNodes = new HashMap<>();
+
+            private final SearchStatistics statistics = new SearchStatistics();
+
+            /**
+             * The thread the worker runs on, to wake it with when it is sleeping
+             */
+            private volatile Thread thread;
+
+            /**
+             * Whether the worker is sleeping (or about to), and needs to be woken when it is sent a node
+             */
+            private volatile boolean isIdle;
+
+            Worker(int index) {
+                this.index = index;
+            }
+
+            @Override
+            public void run() {
+                this.thread = Thread.currentThread();
+                try {
+                    search();
+                } catch (RuntimeException | Error e) {
+                    workerError = e;
+                } finally {
+                    // The search may have ended because of this worker (e.g., it expanded the last node), so the others
+                    // shouldn't sleep until they check again
+                    for (Worker worker : workers) {
+                        worker.wake();
+                    }
+                }
+            }
+
+            private void search() {
+                while (remainingWork.get() > 0 && !monitor.shouldStop(0) && workerError == null) {
+                    T received;
+                    while ((received = inbox.poll()) != null) {
+                        receive(received);
+                    }
+
+                    T curr = queue.poll();
+                    if (curr == null) {
+                        sleepUntilSentNodes();
+                        continue;
+                    }
+                    if (curr.getFValue() >= bestSolutionCost) {
+                        // Neither this node nor any node after it in the queue can lead to a faster solution
+                        remainingWork.addAndGet(-1 - queue.size());
+                        queue.clear();
+                        continue;
+                    }
+                    if (bestNodes.get(curr) != curr) {
+                        remainingWork.decrementAndGet();  // already reached through a shorter path
+                        statistics.addDuplicatePruned();
+                        continue;
+                    }
+                    if (curr.isSolution()) {
+                        offerSolution(curr);
+                        remainingWork.decrementAndGet();
+                        continue;
+                    }
+
+                    // Count the children in place of this node before sending any of them, with a single update
+                    List<Node> children = curr.getNextNodes();
+                    statistics.addExpandedNode(children.size());
+                    if (monitor.shouldStop(1)) {
+                        break;  // the other workers stop too, since they share the monitor
+                    }
+                    int costToBeat = bestSolutionCost;
+                    children.removeIf(child -> child.getFValue() >= costToBeat);
+                    remainingWork.addAndGet(children.size() - 1);
+                    for (Node node : children) {
+                        @SuppressWarnings("unchecked")  // the children of a T are Ts too
+                        T child = (T) node;
+                        int owner = ownerOf(child);
+                        if (owner == index) {
+                            receive(child);
+                        } else {
+                            workers.get(owner).send(child);
+                        }
+                    }
+                    statistics.updatePeakSizes(queue.size(), bestNodes.size());
+                }
+            }
+
+            /**
+             * Sleeps until this worker is sent a node, the search ends, or {@link #IDLE_WAIT_MS} passes.
+             */
+            private void sleepUntilSentNodes() {
+                this.isIdle = true;
+                // Checked after becoming idle, since a worker that sent a node before then didn't wake this one
+                if (inbox.isEmpty() && remainingWork.get() > 0) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(IDLE_WAIT_MS));
+                }
+                this.isIdle = false;
+            }
+
+            /**
+             * Sends a node owned by this worker to its inbox, and wakes the worker if it is sleeping.
+             */
+            private void send(T node) {
+                inbox.offer(node);
+                if (isIdle) {
+                    wake();
+                }
+            }
+
+            private void wake() {
+                Thread thread = this.thread;
+                if (thread != null) {
+                    LockSupport.unpark(thread);
+                }
+            }
+
+            /**
+             * Adds a node owned by this worker to its queue, unless its state was already found through a path that
+             * isn't longer.
+             */
+            private void receive(T node) {
+                T best = bestNodes.get(node);
+                if (best != null && best.getGValue() <= node.getGValue()) {
+                    remainingWork.decrementAndGet();
+                    statistics.addDuplicatePruned();
+                    return;
+                }
+                bestNodes.put(node, node);
+                queue.offer(node);
+            }
+        }
+    }
+}
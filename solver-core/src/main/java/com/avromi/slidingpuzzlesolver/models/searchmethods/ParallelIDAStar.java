@@ -0,0 +1,298 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.classes.BoardTables;
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchMonitor;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Heuristic;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Facilitates IDA* search on multiple threads. The search tree is split into subtrees a few moves deep, which are
+ * searched by a fork-join pool, so that threads that finish their subtrees early take over the work of busy threads.
+ */
+public class ParallelIDAStar implements SearchMethod<SlidingPuzzleNode> {
+    /**
+     * The monitor of the running search, or <code>null</code> if no search is running
+     */
+    private volatile SearchMonitor monitor;
+
+    /**
+     * The number of subtrees to split the search into for each thread. IDA* subtrees differ greatly in size, so having
+     * many of them keeps all threads busy until the end of each iteration.
+     */
+    private static final int SUBTREES_PER_THREAD = 64;
+
+    /**
+     * The deepest the subtrees are split at, for boards whose search tree doesn't grow wide enough (like 2x2 boards).
+     */
+    private static final int MAX_SPLIT_DEPTH = 20;
+
+    /**
+     * The number of threads to search with
+     */
+    private final int threadCount;
+
+    /**
+     * Construct a parallel IDA* search that uses a thread for each available processor.
+     */
+    public ParallelIDAStar() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construct a parallel IDA* search that uses the given number of threads.
+     *
+     * @throws IllegalArgumentException if the number of threads is less than 1
+     */
+    public ParallelIDAStar(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Search for a solution using IDA* on multiple threads. Like IDA*, it finds the fastest solution (in number of
+     * moves), and only keeps the current path of each thread in memory, besides the subtrees.
+     *
+     * @param node   the node to find the solution for
+     * @param budget the limits the search must stay within
+     * @param token  the token to cancel the search with
+     * @return the PuzzleSolution found
+     */
+    @Override
+    public SearchResult<SlidingPuzzleNode> search(SlidingPuzzleNode node, SearchBudget budget,
+                                                  CancellationToken token) {
+        if (!node.isSolvable()) {
+            return SearchResult.unsolvable();
+        }
+        SearchMonitor monitor = new SearchMonitor(budget, token);
+        this.monitor = monitor;
+        SearchStatistics statistics = new SearchStatistics();
+        SlidingPuzzleNode solution = findSolution(node, monitor, statistics);
+        statistics.finish();
+        this.monitor = null;
+
+        if (solution != null) {
+            return new SearchResult<>(true, solution, statistics);
+        } else {
+            return new SearchResult<>(monitor.getUnsolvedOutcome(), statistics);
+        }
+    }
+
+    /**
+     * Find a solution from the given node, and return the solution if found. The boards a few moves away are found
+     * level by level first, which finds any solution shorter than that directly. Each iteration then searches all
+     * subtrees from those boards with the same bound in parallel, and the lowest F-value past the bound of any subtree
+     * becomes the next bound. Any solution found within a bound is the fastest one, since there was none within the
+     * previous bound, so the first one found stops the other subtrees.
+     *
+     * @param node       the node to search from
+     * @param monitor    the monitor to check for when to stop, shared by all threads
+     * @param statistics the statistics to record the search's work in
+     * @return the solution node if found; otherwise null
+     */
+    private SlidingPuzzleNode findSolution(SlidingPuzzleNode node, SearchMonitor monitor,
+                                           SearchStatistics statistics) {
+        if (node.isSolution()) {
+            return node;
+        }
+        int boardSize = node.getBoardPieces().length;
+        BoardTables tables = BoardTables.forSize(boardSize);
+        Heuristic heuristic = node.getHeuristic();
+
+        int[] pieces = node.getFlatPieces();
+        int emptyPieceIndex = BoardTables.indexOf(pieces, SlidingPuzzleNode.getEmptyPieceNumber(boardSize));
+
+        List<Subtree> subtrees = new ArrayList<>();
+        subtrees.add(new Subtree(pieces, emptyPieceIndex, -1, node.getHValue(), new int[0]));
+        int depth = 0;
+        while (subtrees.size() < threadCount * SUBTREES_PER_THREAD && depth < MAX_SPLIT_DEPTH) {
+            List<Subtree> nextSubtrees = new ArrayList<>();
+            for (Subtree subtree : subtrees) {
+                int nodesGenerated = 0;
+                for (int pieceToMoveIndex : tables.getMoves(subtree.emptyPieceIndex)) {
+                    if (pieceToMoveIndex == subtree.previousEmptyPieceIndex) {
+                        continue;  // moving the piece back would return to the previous board
+                    }
+                    Subtree child = subtree.getChild(pieceToMoveIndex, boardSize, heuristic);
+                    if (child.hValue == 0 && BoundedDepthFirstSearch.isSolved(child.pieces)) {
+                        return BoundedDepthFirstSearch.buildSolution(node, child.movedPieces);
+                    }
+                    nextSubtrees.add(child);
+                    nodesGenerated++;
+                }
+                statistics.addExpandedNode(nodesGenerated);
+            }
+            subtrees = nextSubtrees;
+            statistics.updatePeakSizes(subtrees.size(), 0);
+            depth++;
+        }
+
+        int bound = Integer.MAX_VALUE;
+        for (Subtree subtree : subtrees) {
+            bound = Math.min(bound, depth + subtree.hValue);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threadCount);
+        try {
+            while (!monitor.shouldStop(0)) {
+                AtomicReference<int[]> solutionMoves = new AtomicReference<>();
+                AtomicInteger nextBound = new AtomicInteger(BoundedDepthFirstSearch.NOT_FOUND);
+                pool.invoke(new SubtreeSearch(subtrees, 0, subtrees.size(), depth, bound, boardSize, heuristic,
+                        monitor, solutionMoves, nextBound, statistics));
+
+                if (solutionMoves.get() != null) {
+                    return BoundedDepthFirstSearch.buildSolution(node, solutionMoves.get());
+                } else if (nextBound.get() == BoundedDepthFirstSearch.NOT_FOUND) {
+                    break;
+                }
+                bound = nextBound.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return null;
+    }
+
+    @Override
+    public boolean findsFastestSolutions() {
+        return true;
+    }
+
+    @Override
+    public void terminate() {
+        SearchMonitor monitor = this.monitor;
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+
+    /**
+     * A board a few moves from the board being searched, which the search tree is split at.
+     */
+    private static class Subtree {
+        private final int[] pieces;
+        private final int emptyPieceIndex;
+        private final int previousEmptyPieceIndex;
+        private final int hValue;
+
+        /**
+         * The pieces moved to get to this board
+         */
+        private final int[] movedPieces;
+
+        Subtree(int[] pieces, int emptyPieceIndex, int previousEmptyPieceIndex, int hValue, int[] movedPieces) {
+            this.pieces = pieces;
+            this.emptyPieceIndex = emptyPieceIndex;
+            this.previousEmptyPieceIndex = previousEmptyPieceIndex;
+            this.hValue = hValue;
+            this.movedPieces = movedPieces;
+        }
+
+        /**
+         * @return the subtree after moving the piece at the given position into the empty space
+         */
+        Subtree getChild(int pieceToMoveIndex, int boardSize, Heuristic heuristic) {
+            int pieceToMove = pieces[pieceToMoveIndex];
+            int[] childPieces = pieces.clone();
+            childPieces[emptyPieceIndex] = pieceToMove;
+            childPieces[pieceToMoveIndex] = SlidingPuzzleNode.getEmptyPieceNumber(boardSize);
+            int childHValue = heuristic.evaluateMove(hValue, childPieces, boardSize, pieceToMove,
+                    pieceToMoveIndex, emptyPieceIndex);
+
+            int[] childMovedPieces = Arrays.copyOf(movedPieces, movedPieces.length + 1);
+            childMovedPieces[movedPieces.length] = pieceToMove;
+            return new Subtree(childPieces, pieceToMoveIndex, emptyPieceIndex, childHValue, childMovedPieces);
+        }
+    }
+
+    /**
+     * Searches a range of subtrees with the same bound, by splitting the range in half until each task has a single
+     * subtree. Idle threads take over the halves that busy threads haven't started yet.
+     */
+    private static class SubtreeSearch extends RecursiveAction {
+        // Fork-join tasks are serializable, though these are never serialized
+        private static final long serialVersionUID = 1L;
+
+        private final List<Subtree> subtrees;
+        private final int from;
+        private final int to;
+        private final int depth;
+        private final int bound;
+        private final int boardSize;
+        private final Heuristic heuristic;
+        private final SearchMonitor monitor;
+        private final AtomicReference<int[]> solutionMoves;
+        private final AtomicInteger nextBound;
+
+        /**
+         * The statistics of the whole search, which each subtree's statistics are added to when it is done
+         */
+        private final SearchStatistics statistics;
+
+        SubtreeSearch(List<Subtree> subtrees, int from, int to, int depth, int bound, int boardSize,
+                      Heuristic heuristic, SearchMonitor monitor, AtomicReference<int[]> solutionMoves,
+                      AtomicInteger nextBound, SearchStatistics statistics) {
+            this.subtrees = subtrees;
+            this.from = from;
+            this.to = to;
+            this.depth = depth;
+            this.bound = bound;
+            this.boardSize = boardSize;
+            this.heuristic = heuristic;
+            this.monitor = monitor;
+            this.solutionMoves = solutionMoves;
+            this.nextBound = nextBound;
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SubtreeSearch(subtrees, from, middle, depth, bound, boardSize, heuristic,
+                                monitor, solutionMoves, nextBound, statistics),
+                        new SubtreeSearch(subtrees, middle, to, depth, bound, boardSize, heuristic,
+                                monitor, solutionMoves, nextBound, statistics));
+                return;
+            }
+            if (monitor.shouldStop(0) || solutionMoves.get() != null) {
+                return;
+            }
+
+            Subtree subtree = subtrees.get(from);
+            // The subtree's board is kept for the next iteration, so the search changes a copy of it
+            SearchStatistics subtreeStatistics = new SearchStatistics();
+            BoundedDepthFirstSearch boundedSearch = new BoundedDepthFirstSearch(subtree.pieces.clone(), boardSize,
+                    heuristic, () -> monitor.shouldStop(BoundedDepthFirstSearch.STOP_CHECK_INTERVAL)
+                    || solutionMoves.get() != null, subtreeStatistics);
+            int result = boundedSearch.search(depth, subtree.hValue, bound, subtree.emptyPieceIndex,
+                    subtree.previousEmptyPieceIndex);
+            synchronized (statistics) {
+                statistics.add(subtreeStatistics);
+            }
+
+            if (result == BoundedDepthFirstSearch.FOUND) {
+                int[] subtreeMoves = boundedSearch.getSolutionMoves(depth);
+                int[] moves = Arrays.copyOf(subtree.movedPieces, depth + subtreeMoves.length);
+                System.arraycopy(subtreeMoves, 0, moves, depth, subtreeMoves.length);
+                solutionMoves.compareAndSet(null, moves);
+            } else {
+                nextBound.accumulateAndGet(result, Math::min);
+            }
+        }
+    }
+}
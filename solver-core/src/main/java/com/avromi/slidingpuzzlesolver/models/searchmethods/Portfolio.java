@@ -0,0 +1,266 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Races several search methods on the same board, and returns the first acceptable result. Which search method is
+ * fastest depends heavily on the board, so racing them finds a solution about as fast as the best of them would have,
+ * without having to know which one that is.
+ * <p>
+ * The search methods run on a pool of named daemon threads that all portfolios share, so a portfolio holds no threads
+ * of its own and needn't be shut down. Once a result is accepted, the others are stopped through a cancellation token
+ * they all share, and any that haven't started yet aren't run. The pool's threads are only kept while searches are
+ * running.
+ * <p>
+ * Each search method runs with the whole budget given to the portfolio, so e.g. an expansion limit applies to each of
+ * them separately. The search methods must not be used elsewhere while the portfolio is searching.
+ */
+public class Portfolio<T extends Node> implements SearchMethod<T> {
+    /**
+     * How long (in milliseconds) to wait for a result before checking the caller's cancellation token again
+     */
+    private static final long TOKEN_CHECK_INTERVAL_MS = 20;
+
+    /**
+     * How long (in seconds) an idle thread of the pool is kept before it ends
+     */
+    private static final long IDLE_THREAD_TIMEOUT_S = 30;
+
+    /**
+     * The numbers of the pool's threads made so far, to name them by
+     */
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    /**
+     * The pool every portfolio runs its search methods on. It makes a thread for each search method running, so each
+     * portfolio limits how many of its own search methods run at a time.
+     */
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private final List<SearchMethod<T>> searchMethods;
+    private final boolean requireFastestSolution;
+
+    /**
+     * The most search methods to run at a time
+     */
+    private final int threadCount;
+
+    /**
+     * The token shared by the search methods of the running search, or <code>null</code> if no search is running
+     */
+    private volatile CancellationToken raceToken;
+
+    /**
+     * The search method whose result was returned by the last search
+     */
+    private volatile SearchMethod<T> lastWinner;
+
+    /**
+     * Construct a portfolio that accepts the first solution found by any of the given search methods, and runs all of
+     * them at once. With fewer processors than search methods, they take turns on the processors, which still lets a
+     * fast one finish before the slow ones.
+     *
+     * @throws IllegalArgumentException if there are no search methods
+     */
+    public Portfolio(List<? extends SearchMethod<T>> searchMethods) {
+        this(searchMethods, false, Math.max(searchMethods.size(), 1));
+    }
+
+    /**
+     * Construct a portfolio.
+     *
+     * @param searchMethods          the search methods to race
+     * @param requireFastestSolution whether to only accept the fastest solution (in number of moves). If so, only the
+     *                               search methods that find fastest solutions are run.
+     * @param threadCount            the most search methods to run at a time. The rest wait for a thread to be free.
+     * @throws IllegalArgumentException if there are no search methods to run, or the number of threads is less than 1
+     */
+    public Portfolio(List<? extends SearchMethod<T>> searchMethods, boolean requireFastestSolution, int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive");
+        }
+        List<SearchMethod<T>> methodsToRun = new ArrayList<>();
+        for (SearchMethod<T> searchMethod : searchMethods) {
+            if (!requireFastestSolution || searchMethod.findsFastestSolutions()) {
+                methodsToRun.add(searchMethod);
+            }
+        }
+        if (methodsToRun.isEmpty()) {
+            throw new IllegalArgumentException("There are no search methods to run");
+        }
+        this.searchMethods = Collections.unmodifiableList(methodsToRun);
+        this.requireFastestSolution = requireFastestSolution;
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Construct a portfolio of search methods that do well on different boards: A* (fast while it has memory to spare),
+     * IDA* (slower per node, but with almost no memory) and, unless the fastest solution is required, best-first (finds
+     * a long solution almost at once).
+     *
+     * @param requireFastestSolution whether to only accept the fastest solution (in number of moves)
+     */
+    public static Portfolio<SlidingPuzzleNode> createDefault(boolean requireFastestSolution) {
+        List<SearchMethod<SlidingPuzzleNode>> searchMethods = new ArrayList<>();
+        searchMethods.add(new AStar<>());
+        searchMethods.add(new IDAStar());
+        searchMethods.add(new BestFirst<>());
+        return new Portfolio<>(searchMethods, requireFastestSolution,
+                requireFastestSolution ? searchMethods.size() - 1 : searchMethods.size());
+    }
+
+    /**
+     * Search for a solution with all the search methods at once, and return the first acceptable result. If none of
+     * them finds an acceptable solution, the result with the closest partial path is returned (see
+     * {@link SearchResult#getPartialPath()}).
+     *
+     * @param node   the node to find the solution for
+     * @param budget the limits each search method must stay within
+     * @param token  the token to cancel the search with
+     * @return the PuzzleSolution found
+     * @throws RuntimeException if every search method failed with an exception
+     */
+    @Override
+    public SearchResult<T> search(T node, SearchBudget budget, CancellationToken token) {
+        this.lastWinner = null;
+        if (!node.isSolvable()) {
+            return SearchResult.unsolvable();
+        }
+        CancellationToken raceToken = new CancellationToken();
+        if (token.isCancelled()) {
+            // Otherwise a fast search method could finish before the token is next checked below
+            raceToken.cancel();
+        }
+        this.raceToken = raceToken;
+
+        ExecutorCompletionService<SearchResult<T>> completionService = new ExecutorCompletionService<>(EXECUTOR);
+        Map<Future<SearchResult<T>>, SearchMethod<T>> searches = new HashMap<>();
+        // The search methods that haven't started yet, since they wait for a thread to be free
+        Iterator<SearchMethod<T>> waiting = searchMethods.iterator();
+        int running = 0;
+
+        SearchResult<T> bestResult = null;
+        SearchMethod<T> bestMethod = null;
+        Throwable error = null;
+        try {
+            for (int remaining = searchMethods.size(); remaining > 0; ) {
+                for (; running < threadCount && waiting.hasNext(); running++) {
+                    SearchMethod<T> searchMethod = waiting.next();
+                    searches.put(completionService.submit(() -> searchMethod.search(node, budget, raceToken)),
+                            searchMethod);
+                }
+                Future<SearchResult<T>> done = completionService.poll(TOKEN_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (done == null) {
+                    if (token.isCancelled()) {
+                        raceToken.cancel();
+                    }
+                    continue;
+                }
+                remaining--;
+                running--;
+                SearchResult<T> result;
+                try {
+                    result = done.get();
+                } catch (ExecutionException e) {
+                    error = e.getCause();
+                    continue;
+                }
+                SearchMethod<T> searchMethod = searches.get(done);
+                if (result.getSolutionWasFound()) {
+                    // Any solution is acceptable, since only search methods that find the fastest solutions are run
+                    // if that's required
+                    bestResult = result;
+                    bestMethod = searchMethod;
+                    break;
+                }
+                if (bestResult == null || getPartialHValue(result) < getPartialHValue(bestResult)) {
+                    bestResult = result;
+                    bestMethod = searchMethod;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Stop the search methods, since nobody is waiting for their result anymore
+            Thread.currentThread().interrupt();
+        } finally {
+            raceToken.cancel();
+            this.raceToken = null;
+        }
+
+        if (bestResult == null) {
+            if (error != null) {
+                throw new RuntimeException(error);
+            }
+            SearchStatistics statistics = new SearchStatistics();
+            statistics.finish();
+            return new SearchResult<>(SearchResult.Outcome.CANCELLED, statistics);
+        }
+        this.lastWinner = bestMethod;
+        return bestResult;
+    }
+
+    /**
+     * @return the search methods raced by this portfolio
+     */
+    public List<SearchMethod<T>> getSearchMethods() {
+        return searchMethods;
+    }
+
+    /**
+     * @return the search method whose result was returned by the last search, or <code>null</code> if there is none
+     */
+    public SearchMethod<T> getLastWinner() {
+        return lastWinner;
+    }
+
+    @Override
+    public boolean findsFastestSolutions() {
+        return requireFastestSolution;
+    }
+
+    @Override
+    public void terminate() {
+        CancellationToken raceToken = this.raceToken;
+        if (raceToken != null) {
+            raceToken.cancel();
+        }
+    }
+
+    /**
+     * @return the heuristic value of the end of the result's partial path, or {@link Integer#MAX_VALUE} if it has none
+     */
+    private static int getPartialHValue(SearchResult<?> result) {
+        List<? extends Node> partialPath = result.getPartialPath();
+        return partialPath.isEmpty() ? Integer.MAX_VALUE : partialPath.get(partialPath.size() - 1).getHValue();
+    }
+
+    private static ExecutorService createExecutor() {
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, IDLE_THREAD_TIMEOUT_S,
+                TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "Portfolio-" + THREAD_NUMBER.incrementAndGet());
+            // The threads never keep the app running, and are ended when idle
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,131 @@
+package com.avromi.slidingpuzzlesolver.models;
+
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The fixed boards the tests solve, with the lengths of their fastest solutions, and helpers to check solutions with.
+ */
+public final class TestBoards {
+    /**
+     * 3x3 boards with fastest solutions of 20 to 24 moves (the same boards the benchmarks solve)
+     */
+    public static final int[][][] BOARDS_3X3 = {
+            {{4, 1, 6}, {3, 9, 7}, {2, 8, 5}},
+            {{1, 2, 5}, {4, 9, 8}, {6, 7, 3}},
+            {{5, 1, 4}, {6, 3, 8}, {7, 2, 9}},
+            {{2, 6, 1}, {7, 8, 5}, {9, 4, 3}},
+    };
+
+    /**
+     * The lengths of the fastest solutions of {@link #BOARDS_3X3}, as found by BFS
+     */
+    public static final int[] SOLUTION_LENGTHS_3X3 = {22, 20, 22, 24};
+
+    /**
+     * 4x4 boards with fastest solutions of 26 to 28 moves (the same boards the benchmarks solve)
+     */
+    public static final int[][][] BOARDS_4X4 = {
+            {{3, 6, 11, 4}, {9, 10, 2, 7}, {5, 14, 1, 8}, {13, 16, 15, 12}},
+            {{6, 1, 2, 8}, {13, 7, 4, 3}, {16, 15, 14, 11}, {5, 9, 10, 12}},
+            {{1, 11, 2, 12}, {5, 16, 4, 3}, {9, 10, 7, 8}, {13, 14, 6, 15}},
+            {{1, 10, 2, 4}, {5, 6, 7, 16}, {14, 3, 8, 11}, {9, 15, 13, 12}},
+    };
+
+    /**
+     * The lengths of the fastest solutions of {@link #BOARDS_4X4}
+     */
+    public static final int[] SOLUTION_LENGTHS_4X4 = {26, 28, 26, 28};
+
+    /**
+     * A 3x3 board with two pieces swapped, which can't be solved
+     */
+    public static final int[][] UNSOLVABLE_3X3 = {{2, 1, 3}, {4, 5, 6}, {7, 8, 9}};
+
+    private TestBoards() {
+    }
+
+    /**
+     * @return the solved board of the given size
+     */
+    public static int[][] goal(int boardSize) {
+        int[][] pieces = new int[boardSize][boardSize];
+        for (int i = 0; i < boardSize * boardSize; i++) {
+            pieces[i / boardSize][i % boardSize] = i + 1;
+        }
+        return pieces;
+    }
+
+    /**
+     * @return the board reached by making the given number of random moves from the solved board, which is always
+     * solvable. The same seed always gives the same board.
+     */
+    public static int[][] scramble(int boardSize, int moves, long seed) {
+        Random random = new Random(seed);
+        SlidingPuzzleNode node = new SlidingPuzzleNode(goal(boardSize));
+        for (int i = 0; i < moves; i++) {
+            List<Node> nextNodes = node.getNextNodes();
+            node = (SlidingPuzzleNode) nextNodes.get(random.nextInt(nextNodes.size()));
+        }
+        return node.getBoardPieces();
+    }
+
+    /**
+     * Counts the boards at each number of moves from the given board, with a breadth-first search in memory of every
+     * board reachable from it. This is only feasible for boards up to 3x3.
+     *
+     * @return the number of boards at each depth, starting with the board itself at depth 0
+     */
+    public static long[] countLayers(int[][] board) {
+        Map<SlidingPuzzleNode, Integer> depths = new HashMap<>();
+        ArrayDeque<SlidingPuzzleNode> queue = new ArrayDeque<>();
+        SlidingPuzzleNode start = new SlidingPuzzleNode(board);
+        depths.put(start, 0);
+        queue.add(start);
+        long[] layerSizes = new long[1];
+        while (!queue.isEmpty()) {
+            SlidingPuzzleNode node = queue.poll();
+            int depth = depths.get(node);
+            if (depth == layerSizes.length) {
+                layerSizes = Arrays.copyOf(layerSizes, depth + 1);
+            }
+            layerSizes[depth]++;
+            for (Node next : node.getNextNodes()) {
+                if (!depths.containsKey(next)) {
+                    depths.put((SlidingPuzzleNode) next, depth + 1);
+                    queue.add((SlidingPuzzleNode) next);
+                }
+            }
+        }
+        return layerSizes;
+    }
+
+    /**
+     * Checks that the given result is a solution of the given board: that it starts at the board, that each node
+     * follows from the one before it in one move, and that it ends at the solved board.
+     *
+     * @return the number of moves in the solution
+     */
+    public static int assertValidSolution(int[][] board, SearchResult<SlidingPuzzleNode> result) {
+        assertTrue("no solution was found", result.getSolutionWasFound());
+        List<SlidingPuzzleNode> path = result.getSolutionPath();
+        assertArrayEquals(board, path.get(0).getBoardPieces());
+        for (int i = 1; i < path.size(); i++) {
+            assertTrue("move " + i + " isn't a single move: " + Arrays.deepToString(path.get(i).getBoardPieces()),
+                    path.get(i - 1).getNextNodes().contains(path.get(i)));
+        }
+        assertTrue(path.get(path.size() - 1).isSolution());
+        return path.size() - 1;
+    }
+}
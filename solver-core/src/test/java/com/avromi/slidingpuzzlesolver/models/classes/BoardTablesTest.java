@@ -0,0 +1,105 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class BoardTablesTest {
+    @Test
+    public void tablesAreSharedByBoardsOfTheSameSize() {
+        assertSame(BoardTables.forSize(4), BoardTables.forSize(4));
+    }
+
+    @Test
+    public void neighborsAreInEachDirectionOnTheBoard() {
+        BoardTables tables = BoardTables.forSize(3);
+        // Up, right, down and left of the middle
+        assertEquals(1, tables.getNeighbor(4, 0));
+        assertEquals(5, tables.getNeighbor(4, 1));
+        assertEquals(7, tables.getNeighbor(4, 2));
+        assertEquals(3, tables.getNeighbor(4, 3));
+        // Off the board from the top-left corner
+        assertEquals(-1, tables.getNeighbor(0, 0));
+        assertEquals(-1, tables.getNeighbor(0, 3));
+    }
+
+    @Test
+    public void movesAreTheNeighborsOnTheBoard() {
+        for (int boardSize = 2; boardSize <= 5; boardSize++) {
+            BoardTables tables = BoardTables.forSize(boardSize);
+            for (int index = 0; index < boardSize * boardSize; index++) {
+                int[] moves = new int[4];
+                int moveCount = 0;
+                for (int direction = 0; direction < 4; direction++) {
+                    int neighbor = tables.getNeighbor(index, direction);
+                    if (neighbor != -1) {
+                        moves[moveCount++] = neighbor;
+                        assertEquals(1, Math.abs(tables.getRow(index) - tables.getRow(neighbor))
+                                + Math.abs(tables.getColumn(index) - tables.getColumn(neighbor)));
+                    }
+                }
+                assertArrayEquals(Arrays.copyOf(moves, moveCount), tables.getMoves(index));
+            }
+        }
+    }
+
+    @Test
+    public void distancesAreFromEachPiecesGoalPosition() {
+        for (int boardSize = 2; boardSize <= 6; boardSize++) {
+            BoardTables tables = BoardTables.forSize(boardSize);
+            for (int piece = 1; piece < boardSize * boardSize; piece++) {
+                int goalIndex = piece - 1;
+                assertEquals(goalIndex / boardSize, tables.getGoalRow(piece));
+                assertEquals(goalIndex % boardSize, tables.getGoalColumn(piece));
+                for (int index = 0; index < boardSize * boardSize; index++) {
+                    int distance = Math.abs(index / boardSize - goalIndex / boardSize)
+                            + Math.abs(index % boardSize - goalIndex % boardSize);
+                    assertEquals(distance, tables.getDistance(piece, index));
+                    for (int toIndex : tables.getMoves(index)) {
+                        assertEquals(tables.getDistance(piece, toIndex) - distance,
+                                tables.getDistanceChange(piece, index, toIndex));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void movingInTheFoundDirectionMovesThePiece() {
+        BoardTables tables = BoardTables.forSize(3);
+        int[] pieces = {1, 2, 3, 4, 9, 5, 6, 7, 8};
+        int direction = tables.findDirection(pieces, 4, 5);
+        assertEquals(1, direction);
+        assertEquals(5, tables.move(pieces, 4, direction));
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5, 9, 6, 7, 8}, pieces);
+        assertEquals(5, BoardTables.indexOf(pieces, 9));
+    }
+
+    @Test
+    public void mirroredDirectionsAreTheDirectionsOnTheTransposedBoard() {
+        BoardTables tables = BoardTables.forSize(4);
+        for (int index = 0; index < 16; index++) {
+            int mirroredIndex = tables.getColumn(index) * 4 + tables.getRow(index);
+            for (int direction = 0; direction < 4; direction++) {
+                int neighbor = tables.getNeighbor(index, direction);
+                int mirroredNeighbor = tables.getNeighbor(mirroredIndex, BoardTables.getMirroredDirection(direction));
+                assertEquals(neighbor == -1 ? -1 : tables.getColumn(neighbor) * 4 + tables.getRow(neighbor),
+                        mirroredNeighbor);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void piecesThatAreNotNextToTheEmptyPieceCantBeMoved() {
+        BoardTables.forSize(3).findDirection(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9}, 8, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void theEmptyPieceCantMoveOffTheBoard() {
+        BoardTables.forSize(3).move(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9}, 8, 1);
+    }
+}
@@ -0,0 +1,109 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import com.avromi.slidingpuzzlesolver.models.TestBoards;
+import com.avromi.slidingpuzzlesolver.models.heuristics.LinearConflict;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BucketQueueTest {
+    @Test
+    public void removesTheLowestFValueFirstAndTheDeepestAmongThose() {
+        List<SlidingPuzzleNode> nodes = createNodes(2000);
+        BucketQueue<SlidingPuzzleNode> queue = BucketQueue.byFValue();
+        queue.addAll(nodes);
+        assertEquals(nodes.size(), queue.size());
+
+        SlidingPuzzleNode previous = queue.poll();
+        for (SlidingPuzzleNode node = queue.poll(); node != null; node = queue.poll()) {
+            assertTrue(node.getFValue() > previous.getFValue() || (node.getFValue() == previous.getFValue()
+                    && node.getGValue() <= previous.getGValue()));
+            previous = node;
+        }
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void removesTheLastAddedFirstAmongEqualNodes() {
+        List<SlidingPuzzleNode> nodes = createNodes(100);
+        BucketQueue<SlidingPuzzleNode> queue = new BucketQueue<>(node -> 0, node -> 0);
+        queue.addAll(nodes);
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            assertSame(nodes.get(i), queue.peek());
+            assertSame(nodes.get(i), queue.poll());
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void nodesAddedWhileRemovingAreRemovedInOrder() {
+        List<SlidingPuzzleNode> nodes = createNodes(3);
+        BucketQueue<SlidingPuzzleNode> queue = new BucketQueue<>(nodes::indexOf, node -> 0);
+        queue.offer(nodes.get(1));
+        queue.offer(nodes.get(2));
+        assertSame(nodes.get(1), queue.poll());
+        queue.offer(nodes.get(0));
+        assertSame(nodes.get(0), queue.poll());
+        assertSame(nodes.get(2), queue.poll());
+    }
+
+    @Test
+    public void priorityAndTieBreakCanGrowPastTheInitialSizes() {
+        List<SlidingPuzzleNode> nodes = createNodes(300);
+        BucketQueue<SlidingPuzzleNode> queue = new BucketQueue<>(nodes::indexOf, nodes::indexOf);
+        List<SlidingPuzzleNode> shuffled = new ArrayList<>(nodes);
+        Collections.shuffle(shuffled, new Random(1));
+        queue.addAll(shuffled);
+        for (SlidingPuzzleNode node : nodes) {
+            assertSame(node, queue.poll());
+        }
+    }
+
+    @Test
+    public void iteratesOverEveryNode() {
+        List<SlidingPuzzleNode> nodes = createNodes(500);
+        BucketQueue<SlidingPuzzleNode> queue = BucketQueue.byHValue();
+        queue.addAll(nodes);
+        List<SlidingPuzzleNode> iterated = new ArrayList<>(queue);
+        assertEquals(nodes.size(), iterated.size());
+        assertEquals(new HashSet<>(nodes), new HashSet<>(iterated));
+
+        queue.clear();
+        assertEquals(0, queue.size());
+        assertNull(queue.poll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativePrioritiesAreRejected() {
+        new BucketQueue<SlidingPuzzleNode>(node -> -1, node -> 0).offer(createNodes(1).get(0));
+    }
+
+    /**
+     * @return the given number of distinct boards, at many levels and with many heuristic values
+     */
+    private static List<SlidingPuzzleNode> createNodes(int count) {
+        List<SlidingPuzzleNode> nodes = new ArrayList<>(count);
+        HashSet<SlidingPuzzleNode> added = new HashSet<>();
+        Random random = new Random(count);
+        SlidingPuzzleNode node = new SlidingPuzzleNode(TestBoards.goal(4), new LinearConflict());
+        while (nodes.size() < count) {
+            List<Node> nextNodes = node.getNextNodes();
+            node = (SlidingPuzzleNode) nextNodes.get(random.nextInt(nextNodes.size()));
+            if (added.add(node)) {
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,75 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import com.avromi.slidingpuzzlesolver.models.TestBoards;
+import com.avromi.slidingpuzzlesolver.models.heuristics.LinearConflict;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.AStar;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class CompactSolutionTest {
+    @Test
+    public void decodedSolutionsAreTheEncodedOnes() {
+        for (int i = 0; i < TestBoards.BOARDS_4X4.length; i++) {
+            int[][] board = TestBoards.BOARDS_4X4[i];
+            SearchResult<SlidingPuzzleNode> result = new AStar<SlidingPuzzleNode>()
+                    .search(new SlidingPuzzleNode(board, new LinearConflict()));
+            String text = CompactSolution.encode(result);
+
+            SearchResult<SlidingPuzzleNode> decoded = CompactSolution.decode(text);
+            assertArrayEquals(result.getMovedPieces(), decoded.getMovedPieces());
+            assertEquals(TestBoards.SOLUTION_LENGTHS_4X4[i], TestBoards.assertValidSolution(board, decoded));
+            assertEquals(text, CompactSolution.encode(decoded));
+        }
+    }
+
+    @Test
+    public void solutionsOfEveryBoardSizeCanBeEncoded() {
+        for (int boardSize = 2; boardSize <= 5; boardSize++) {
+            int[][] board = TestBoards.scramble(boardSize, 12, boardSize);
+            SearchResult<SlidingPuzzleNode> result = new AStar<SlidingPuzzleNode>()
+                    .search(new SlidingPuzzleNode(board, new LinearConflict()));
+            SearchResult<SlidingPuzzleNode> decoded = CompactSolution.decode(CompactSolution.encode(result));
+            assertArrayEquals(result.getMovedPieces(), decoded.getMovedPieces());
+            TestBoards.assertValidSolution(board, decoded);
+        }
+    }
+
+    @Test
+    public void theDocumentedExampleIsASolution() {
+        SearchResult<SlidingPuzzleNode> result =
+                CompactSolution.decode("4:5,1,2,4,9,6,3,8,13,10,7,11,14,15,12,16:12:f305a9");
+        assertEquals(12, TestBoards.assertValidSolution(result.getStartNode().getBoardPieces(), result));
+    }
+
+    @Test
+    public void solvedBoardsAreEncodedWithNoMoves() {
+        SearchResult<SlidingPuzzleNode> result = new AStar<SlidingPuzzleNode>()
+                .search(new SlidingPuzzleNode(TestBoards.goal(3)));
+        assertEquals("3:1,2,3,4,5,6,7,8,9:0:", CompactSolution.encode(result));
+        assertEquals(0, CompactSolution.decode("3:1,2,3,4,5,6,7,8,9:0:").getMovedPieces().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void resultsWithoutASolutionAreRejected() {
+        CompactSolution.encode(new AStar<SlidingPuzzleNode>().search(new SlidingPuzzleNode(TestBoards.UNSOLVABLE_3X3)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void movesOffTheBoardAreRejected() {
+        // The empty piece is in the bottom-right corner, so it can't move right
+        CompactSolution.decode("3:1,2,3,4,5,6,7,8,9:1:1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void textWithTheWrongNumberOfMovesIsRejected() {
+        CompactSolution.decode("3:1,2,3,4,5,6,7,8,9:3:0");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void textThatIsNotASolutionIsRejected() {
+        CompactSolution.decode("not a solution");
+    }
+}
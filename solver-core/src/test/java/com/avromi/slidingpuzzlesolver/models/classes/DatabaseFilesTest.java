@@ -0,0 +1,112 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DatabaseFilesTest {
+    private File directory;
+    private final AtomicInteger buildCount = new AtomicInteger();
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("databases").toFile();
+    }
+
+    @After
+    public void deleteDirectory() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void databasesAreBuiltOnceAndThenLoaded() {
+        File file = new File(directory, "database");
+        assertEquals("built 1", loadOrBuild(file).text);
+        assertTrue(file.exists());
+        assertEquals("built 1", loadOrBuild(file).text);
+        assertEquals(1, buildCount.get());
+    }
+
+    @Test
+    public void unreadableFilesAreBuiltAgain() throws IOException {
+        File file = new File(directory, "database");
+        Files.write(file.toPath(), new byte[0]);
+        assertEquals("built 1", loadOrBuild(file).text);
+        assertEquals("built 1", loadOrBuild(file).text);
+    }
+
+    @Test
+    public void missingDirectoriesAreCreated() {
+        File file = new File(new File(directory, "databases"), "database");
+        loadOrBuild(file);
+        assertTrue(file.exists());
+        file.delete();
+        file.getParentFile().delete();
+    }
+
+    @Test
+    public void databasesThatCantBeSavedAreStillUsed() {
+        File file = new File(directory, "database");
+        TextDatabase database = DatabaseFiles.loadOrBuild(file, TextDatabase::read, this::build,
+                (unused, temporaryFile) -> {
+                    throw new IOException("The disk is full");
+                });
+        assertEquals("built 1", database.text);
+        assertFalse(file.exists());
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void databasesWithoutAFileAreBuiltEachTime() {
+        assertEquals("built 1", loadOrBuild(null).text);
+        assertEquals("built 2", loadOrBuild(null).text);
+        assertEquals(0, directory.list().length);
+    }
+
+    private TextDatabase loadOrBuild(File file) {
+        return DatabaseFiles.loadOrBuild(file, TextDatabase::read, this::build, TextDatabase::write);
+    }
+
+    private TextDatabase build() {
+        return new TextDatabase("built " + buildCount.incrementAndGet());
+    }
+
+    /**
+     * A database of some text, which can't be read from an empty file
+     */
+    static final class TextDatabase {
+        private final String text;
+
+        TextDatabase(String text) {
+            this.text = text;
+        }
+
+        static TextDatabase read(File file) throws IOException {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            if (bytes.length == 0) {
+                throw new IOException("The file is empty");
+            }
+            return new TextDatabase(new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        void write(File file) throws IOException {
+            Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
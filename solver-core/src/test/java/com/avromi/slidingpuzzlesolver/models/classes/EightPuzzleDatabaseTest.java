@@ -0,0 +1,122 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import com.avromi.slidingpuzzlesolver.models.TestBoards;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EightPuzzleDatabaseTest {
+    private static EightPuzzleDatabase database;
+
+    @BeforeClass
+    public static void buildDatabase() {
+        database = EightPuzzleDatabase.build();
+    }
+
+    @Test
+    public void distancesAreTheLayersOfABreadthFirstSearch() {
+        long[] layerSizes = TestBoards.countLayers(TestBoards.goal(3));
+        long[] databaseLayerSizes = new long[layerSizes.length];
+        // Every permutation of the pieces, by rank
+        int[] pieces = {1, 2, 3, 4, 5, 6, 7, 8, 9};
+        int boardCount = 0;
+        do {
+            int distance = database.getDistance(pieces);
+            if (distance != -1) {
+                databaseLayerSizes[distance]++;
+            }
+            boardCount++;
+        } while (nextPermutation(pieces));
+        assertEquals(9 * 8 * 7 * 6 * 5 * 4 * 3 * 2, boardCount);
+        assertArrayEquals(layerSizes, databaseLayerSizes);
+        // The hardest boards take 31 moves
+        assertEquals(32, layerSizes.length);
+        assertEquals(2, layerSizes[31]);
+    }
+
+    @Test
+    public void solutionsAreTheFastest() {
+        for (int i = 0; i < TestBoards.BOARDS_3X3.length; i++) {
+            int[][] board = TestBoards.BOARDS_3X3[i];
+            SlidingPuzzleNode node = new SlidingPuzzleNode(board);
+            int[] movedPieces = database.getSolutionMoves(node.getFlatPieces());
+            assertEquals(TestBoards.SOLUTION_LENGTHS_3X3[i],
+                    TestBoards.assertValidSolution(board, new SearchResult<>(node, movedPieces)));
+        }
+        assertEquals(0, database.getSolutionMoves(new SlidingPuzzleNode(TestBoards.goal(3)).getFlatPieces()).length);
+    }
+
+    @Test
+    public void unsolvableBoardsHaveNoSolution() {
+        int[] pieces = new SlidingPuzzleNode(TestBoards.UNSOLVABLE_3X3).getFlatPieces();
+        assertFalse(database.isSolvable(pieces));
+        assertNull(database.getSolutionMoves(pieces));
+        assertEquals(-1, database.getDistance(pieces));
+        assertTrue(database.isSolvable(new SlidingPuzzleNode(TestBoards.BOARDS_3X3[0]).getFlatPieces()));
+    }
+
+    @Test
+    public void savedDatabasesLoadTheSame() throws IOException {
+        File file = File.createTempFile("eight_puzzle_database", null);
+        try {
+            database.save(file);
+            EightPuzzleDatabase loaded = EightPuzzleDatabase.load(file);
+            for (int[][] board : TestBoards.BOARDS_3X3) {
+                int[] pieces = new SlidingPuzzleNode(board).getFlatPieces();
+                assertArrayEquals(database.getSolutionMoves(pieces), loaded.getSolutionMoves(pieces));
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void otherFilesAreNotLoaded() throws IOException {
+        File file = File.createTempFile("not_a_database", null);
+        try {
+            new DatabaseFilesTest.TextDatabase("text").write(file);
+            EightPuzzleDatabase.load(file);
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Rearranges the pieces into the next permutation in lexicographic order.
+     *
+     * @return <code>false</code> if the pieces were already the last permutation
+     */
+    private static boolean nextPermutation(int[] pieces) {
+        int i = pieces.length - 2;
+        while (i >= 0 && pieces[i] > pieces[i + 1]) {
+            i--;
+        }
+        if (i < 0) {
+            return false;
+        }
+        int j = pieces.length - 1;
+        while (pieces[j] < pieces[i]) {
+            j--;
+        }
+        swap(pieces, i, j);
+        for (int left = i + 1, right = pieces.length - 1; left < right; left++, right--) {
+            swap(pieces, left, right);
+        }
+        return true;
+    }
+
+    private static void swap(int[] pieces, int first, int second) {
+        int piece = pieces[first];
+        pieces[first] = pieces[second];
+        pieces[second] = piece;
+    }
+}
@@ -0,0 +1,60 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IntBucketQueueTest {
+    @Test
+    public void removesTheLowestPriorityFirstAndTheHighestTieBreakAmongThose() {
+        IntBucketQueue queue = new IntBucketQueue();
+        Random random = new Random(1);
+        int[] priorities = new int[5000];
+        int[] tieBreaks = new int[priorities.length];
+        for (int i = 0; i < priorities.length; i++) {
+            priorities[i] = random.nextInt(200);
+            tieBreaks[i] = random.nextInt(100);
+            queue.offer(i, priorities[i], tieBreaks[i]);
+        }
+        assertEquals(priorities.length, queue.size());
+
+        int previous = queue.poll();
+        while (!queue.isEmpty()) {
+            int value = queue.poll();
+            assertTrue(priorities[value] > priorities[previous] || (priorities[value] == priorities[previous]
+                    && tieBreaks[value] <= tieBreaks[previous]));
+            previous = value;
+        }
+    }
+
+    @Test
+    public void removesTheLastAddedFirstAmongEqualValues() {
+        IntBucketQueue queue = new IntBucketQueue();
+        for (int i = 0; i < 100; i++) {
+            queue.offer(i, 3, 7);
+        }
+        for (int i = 99; i >= 0; i--) {
+            assertEquals(i, queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void valuesAddedWhileRemovingAreRemovedInOrder() {
+        IntBucketQueue queue = new IntBucketQueue();
+        queue.offer(1, 5, 0);
+        queue.offer(2, 9, 0);
+        assertEquals(1, queue.poll());
+        queue.offer(3, 2, 0);
+        assertEquals(3, queue.poll());
+        assertEquals(2, queue.poll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeTieBreaksAreRejected() {
+        new IntBucketQueue().offer(1, 0, -1);
+    }
+}
@@ -0,0 +1,53 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import com.avromi.slidingpuzzlesolver.models.TestBoards;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class NodeArenaTest {
+    @Test
+    public void keepsEachNodesValuesAcrossChunks() {
+        NodeArena arena = new NodeArena();
+        int count = NodeArena.CHUNK_SIZE * 2 + 10;
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, arena.add(i * 31L, i - 1, i % 80, i % 70, i % 16));
+        }
+        assertEquals(count, arena.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i * 31L, arena.getPackedState(i));
+            assertEquals(i - 1, arena.getParentIndex(i));
+            assertEquals(i % 80, arena.getGValue(i));
+            assertEquals(i % 70, arena.getHValue(i));
+            assertEquals(i % 80 + i % 70, arena.getFValue(i));
+            assertEquals(i % 16, arena.getMovedPiece(i));
+        }
+    }
+
+    @Test
+    public void movedPiecesLeadFromTheFirstNodeToTheGivenOne() {
+        NodeArena arena = new NodeArena();
+        SlidingPuzzleNode node = new SlidingPuzzleNode(TestBoards.goal(4));
+        int index = arena.add(node, NodeArena.NO_PARENT);
+        int[] movedPieces = new int[30];
+        Random random = new Random(1);
+        for (int i = 0; i < movedPieces.length; i++) {
+            List<Node> nextNodes = node.getNextNodes();
+            node = (SlidingPuzzleNode) nextNodes.get(random.nextInt(nextNodes.size()));
+            movedPieces[i] = node.getMovedPiece();
+            // Nodes of other paths in between, which the path has to skip
+            arena.add(node.getPackedState(), index, 0, 0, 1);
+            index = arena.add(node, index);
+        }
+        assertArrayEquals(movedPieces, arena.getMovedPieces(index));
+        assertArrayEquals(new int[0], arena.getMovedPieces(0));
+        assertEquals(node.getPackedState(), arena.getPackedState(index));
+        assertEquals(node.getHValue(), arena.getHValue(index));
+    }
+}
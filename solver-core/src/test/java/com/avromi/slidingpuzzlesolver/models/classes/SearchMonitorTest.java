@@ -0,0 +1,62 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SearchMonitorTest {
+    @Test
+    public void unlimitedSearchesOnlyStopWhenCancelled() {
+        CancellationToken token = new CancellationToken();
+        SearchMonitor monitor = new SearchMonitor(SearchBudget.UNLIMITED, token);
+        for (int i = 0; i < 10 * SearchMonitor.CHECK_INTERVAL; i++) {
+            assertFalse(monitor.shouldStop(1));
+        }
+        assertEquals(SearchResult.Outcome.NOT_FOUND, monitor.getUnsolvedOutcome());
+
+        token.cancel();
+        assertTrue(monitor.shouldStop(0));
+        assertTrue(monitor.isStopped());
+        assertEquals(SearchResult.Outcome.CANCELLED, monitor.getUnsolvedOutcome());
+    }
+
+    @Test
+    public void searchesStopWithinACheckIntervalOfTheirMaxExpansions() {
+        SearchMonitor monitor = new SearchMonitor(SearchBudget.UNLIMITED.withMaxExpansions(1000),
+                new CancellationToken());
+        int expansions = 0;
+        while (!monitor.shouldStop(1)) {
+            expansions++;
+        }
+        assertTrue(expansions >= 999 && expansions < 1000 + SearchMonitor.CHECK_INTERVAL);
+        assertEquals(SearchResult.Outcome.BUDGET_EXHAUSTED, monitor.getUnsolvedOutcome());
+    }
+
+    @Test
+    public void searchesStopAfterTheirTimeLimit() throws InterruptedException {
+        SearchMonitor monitor = new SearchMonitor(SearchBudget.UNLIMITED.withTimeLimit(20), new CancellationToken());
+        assertFalse(monitor.shouldStop(SearchMonitor.CHECK_INTERVAL));
+        Thread.sleep(40);
+        assertTrue(monitor.shouldStop(SearchMonitor.CHECK_INTERVAL));
+        assertEquals(SearchResult.Outcome.BUDGET_EXHAUSTED, monitor.getUnsolvedOutcome());
+    }
+
+    @Test
+    public void stoppingIsTheSameAsCancelling() {
+        SearchMonitor monitor = new SearchMonitor(SearchBudget.UNLIMITED.withMaxExpansions(1), new CancellationToken());
+        monitor.stop();
+        assertTrue(monitor.shouldStop(0));
+        assertEquals(SearchResult.Outcome.CANCELLED, monitor.getUnsolvedOutcome());
+    }
+
+    @Test
+    public void aNewMonitorStartsAfresh() {
+        SearchBudget budget = SearchBudget.UNLIMITED.withMaxExpansions(SearchMonitor.CHECK_INTERVAL * 2);
+        SearchMonitor monitor = new SearchMonitor(budget, new CancellationToken());
+        assertFalse(monitor.shouldStop(SearchMonitor.CHECK_INTERVAL));
+        assertTrue(monitor.shouldStop(SearchMonitor.CHECK_INTERVAL));
+        assertFalse(new SearchMonitor(budget, new CancellationToken()).shouldStop(SearchMonitor.CHECK_INTERVAL));
+    }
+}
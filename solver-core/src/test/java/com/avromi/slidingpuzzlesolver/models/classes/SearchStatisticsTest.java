@@ -0,0 +1,62 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SearchStatisticsTest {
+    @Test
+    public void countsEachExpansion() {
+        SearchStatistics statistics = new SearchStatistics();
+        statistics.addExpandedNode(2);
+        statistics.addExpandedNode(4);
+        statistics.addDuplicatePruned();
+        assertEquals(2, statistics.getNodesExpanded());
+        assertEquals(6, statistics.getNodesGenerated());
+        assertEquals(1, statistics.getDuplicatesPruned());
+    }
+
+    @Test
+    public void keepsThePeakSizes() {
+        SearchStatistics statistics = new SearchStatistics();
+        statistics.updatePeakSizes(10, 3);
+        statistics.updatePeakSizes(5, 8);
+        assertEquals(10, statistics.getPeakOpenListSize());
+        assertEquals(8, statistics.getPeakClosedSetSize());
+    }
+
+    @Test
+    public void partsRunOneAfterAnotherKeepTheLargestPeak() {
+        SearchStatistics statistics = createStatistics(3, 10, 20);
+        statistics.add(createStatistics(5, 30, 5));
+        assertEquals(8, statistics.getNodesExpanded());
+        assertEquals(30, statistics.getPeakOpenListSize());
+        assertEquals(20, statistics.getPeakClosedSetSize());
+    }
+
+    @Test
+    public void partsRunAtTheSameTimeAddUpTheirPeaks() {
+        SearchStatistics statistics = createStatistics(3, 10, 20);
+        statistics.addConcurrent(createStatistics(5, 30, 5));
+        assertEquals(8, statistics.getNodesExpanded());
+        assertEquals(40, statistics.getPeakOpenListSize());
+        assertEquals(25, statistics.getPeakClosedSetSize());
+    }
+
+    @Test
+    public void summaryIncludesTheExpansions() {
+        SearchStatistics statistics = createStatistics(12345, 0, 0);
+        statistics.finish();
+        assertTrue(statistics.getSummary(), statistics.getSummary().startsWith("12,345 nodes expanded in "));
+    }
+
+    private static SearchStatistics createStatistics(int nodesExpanded, int peakOpenListSize, int peakClosedSetSize) {
+        SearchStatistics statistics = new SearchStatistics();
+        for (int i = 0; i < nodesExpanded; i++) {
+            statistics.addExpandedNode(1);
+        }
+        statistics.updatePeakSizes(peakOpenListSize, peakClosedSetSize);
+        return statistics;
+    }
+}
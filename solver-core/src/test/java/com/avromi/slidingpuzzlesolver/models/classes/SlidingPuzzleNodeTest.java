@@ -0,0 +1,137 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import com.avromi.slidingpuzzlesolver.models.TestBoards;
+import com.avromi.slidingpuzzlesolver.models.heuristics.LinearConflict;
+import com.avromi.slidingpuzzlesolver.models.heuristics.ManhattanDistance;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Heuristic;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SlidingPuzzleNodeTest {
+    @Test
+    public void boardPiecesAreKeptWhetherPackedOrNot() {
+        for (int boardSize = 2; boardSize <= 5; boardSize++) {
+            int[][] board = TestBoards.scramble(boardSize, 50, boardSize);
+            SlidingPuzzleNode node = new SlidingPuzzleNode(board);
+            assertEquals(PackedBoard.canPack(boardSize), node.hasPackedState());
+            assertArrayEquals(board, node.getBoardPieces());
+        }
+    }
+
+    @Test
+    public void nextNodesAreTheBoardsOneMoveAway() {
+        // The empty piece in the corner, on an edge and in the middle
+        assertNextNodes(new int[][]{{9, 1, 2}, {3, 4, 5}, {6, 7, 8}}, 2);
+        assertNextNodes(new int[][]{{1, 9, 2}, {3, 4, 5}, {6, 7, 8}}, 3);
+        assertNextNodes(new int[][]{{1, 2, 3}, {4, 9, 5}, {6, 7, 8}}, 4);
+        assertNextNodes(TestBoards.scramble(5, 40, 1), -1);
+    }
+
+    @Test
+    public void movesGiveTheSameBoardsAsNextNodes() {
+        for (Heuristic heuristic : new Heuristic[]{new ManhattanDistance(), new LinearConflict()}) {
+            for (int[][] board : new int[][][]{TestBoards.BOARDS_4X4[0], TestBoards.scramble(5, 40, 2)}) {
+                SlidingPuzzleNode node = new SlidingPuzzleNode(board, heuristic);
+                List<Node> nextNodes = node.getNextNodes();
+                assertEquals(nextNodes.size(), node.getMoveCount());
+                for (int move = 0; move < node.getMoveCount(); move++) {
+                    SlidingPuzzleNode child = node.applyMove(move);
+                    assertEquals(nextNodes.get(move), child);
+                    assertEquals(((SlidingPuzzleNode) nextNodes.get(move)).getHValue(), child.getHValue());
+                    assertEquals(node, child.getParent());
+                    if (node.hasPackedState()) {
+                        assertEquals(child.getPackedState(), node.getPackedStateAfterMove(move));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void equalBoardsAreEqualHoweverTheyWereReached() {
+        int[][] board = TestBoards.BOARDS_4X4[1];
+        SlidingPuzzleNode node = new SlidingPuzzleNode(board);
+        for (Node child : node.getNextNodes()) {
+            for (Node grandchild : child.getNextNodes()) {
+                if (((SlidingPuzzleNode) grandchild).getMovedPiece() == ((SlidingPuzzleNode) child).getMovedPiece()) {
+                    // Moving the same piece back returns to the board
+                    assertEquals(node, grandchild);
+                    assertEquals(node.hashCode(), grandchild.hashCode());
+                } else {
+                    assertNotEquals(node, grandchild);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void solvabilityIsDecidedByParity() {
+        assertTrue(new SlidingPuzzleNode(TestBoards.goal(4)).isSolvable());
+        assertFalse(new SlidingPuzzleNode(TestBoards.UNSOLVABLE_3X3).isSolvable());
+        assertFalse(new SlidingPuzzleNode(new int[][]{{1, 2, 3, 4}, {5, 6, 7, 8}, {9, 10, 11, 12}, {13, 15, 14, 16}})
+                .isSolvable());
+        for (int seed = 0; seed < 20; seed++) {
+            assertTrue(new SlidingPuzzleNode(TestBoards.scramble(4, 100, seed)).isSolvable());
+        }
+    }
+
+    @Test
+    public void onlyTheSolvedBoardIsASolution() {
+        assertTrue(new SlidingPuzzleNode(TestBoards.goal(3)).isSolution());
+        assertFalse(new SlidingPuzzleNode(TestBoards.BOARDS_3X3[0]).isSolution());
+        assertEquals(new SlidingPuzzleNode(TestBoards.goal(3)),
+                new SlidingPuzzleNode(TestBoards.BOARDS_3X3[0]).getSolutionNode());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void boardsWithARepeatedPieceAreRejected() {
+        new SlidingPuzzleNode(new int[][]{{1, 2, 3}, {4, 5, 6}, {7, 8, 8}});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void boardsThatAreNotSquareAreRejected() {
+        new SlidingPuzzleNode(new int[][]{{1, 2, 3}, {4, 5, 6}});
+    }
+
+    /**
+     * Checks that the next nodes of the given board are the distinct boards one move away from it, each one level
+     * further, and that there are the given number of them (or any number, if it is -1).
+     */
+    private static void assertNextNodes(int[][] board, int expectedCount) {
+        SlidingPuzzleNode node = new SlidingPuzzleNode(board);
+        List<Node> nextNodes = node.getNextNodes();
+        if (expectedCount != -1) {
+            assertEquals(expectedCount, nextNodes.size());
+        }
+        Set<Node> distinctNodes = new HashSet<>(nextNodes);
+        assertEquals(nextNodes.size(), distinctNodes.size());
+        for (Node next : nextNodes) {
+            // One piece and the empty piece swapped places
+            assertEquals(2, countDifferentPositions(board, ((SlidingPuzzleNode) next).getBoardPieces()));
+            assertEquals(node.getLevel() + 1, ((SlidingPuzzleNode) next).getLevel());
+        }
+    }
+
+    private static int countDifferentPositions(int[][] board, int[][] other) {
+        int count = 0;
+        for (int i = 0; i < board.length; i++) {
+            for (int j = 0; j < board.length; j++) {
+                if (board[i][j] != other[i][j]) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,173 @@
+package com.avromi.slidingpuzzlesolver.models.classes;
+
+import com.avromi.slidingpuzzlesolver.models.TestBoards;
+import com.avromi.slidingpuzzlesolver.models.heuristics.LinearConflict;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.AStar;
+import com.avromi.slidingpuzzlesolver.models.searchmethods.BestFirst;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SolutionCacheTest {
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("solution_cache").toFile();
+    }
+
+    @After
+    public void deleteDirectory() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void everyBoardOnAFastestSolutionsPathIsRemembered() {
+        SolutionCache cache = new SolutionCache(SolutionCache.DEFAULT_CAPACITY);
+        SearchResult<SlidingPuzzleNode> result = solve(TestBoards.BOARDS_4X4[0]);
+        cache.put(result, true);
+
+        List<SlidingPuzzleNode> path = result.getSolutionPath();
+        assertEquals(path.size() - 1, cache.size());
+        for (int i = 0; i < path.size() - 1; i++) {
+            int[][] board = path.get(i).getBoardPieces();
+            SearchResult<SlidingPuzzleNode> cached = cache.get(new SlidingPuzzleNode(board), true);
+            assertNotNull(cached);
+            assertEquals(path.size() - 1 - i, TestBoards.assertValidSolution(board, cached));
+        }
+    }
+
+    @Test
+    public void mirroredBoardsShareTheirSolutions() {
+        SolutionCache cache = new SolutionCache(SolutionCache.DEFAULT_CAPACITY);
+        for (int i = 0; i < TestBoards.BOARDS_4X4.length; i++) {
+            cache.put(solve(TestBoards.BOARDS_4X4[i]), true);
+            int[][] mirroredBoard = mirror(TestBoards.BOARDS_4X4[i]);
+            SearchResult<SlidingPuzzleNode> cached = cache.get(new SlidingPuzzleNode(mirroredBoard), true);
+            assertNotNull(cached);
+            assertEquals(TestBoards.SOLUTION_LENGTHS_4X4[i], TestBoards.assertValidSolution(mirroredBoard, cached));
+        }
+    }
+
+    @Test
+    public void solutionsThatMayNotBeFastestAreOnlyRememberedForTheirStartBoard() {
+        SolutionCache cache = new SolutionCache(SolutionCache.DEFAULT_CAPACITY);
+        int[][] board = TestBoards.BOARDS_4X4[1];
+        SearchResult<SlidingPuzzleNode> result = new BestFirst<SlidingPuzzleNode>()
+                .search(new SlidingPuzzleNode(board, new LinearConflict()));
+        cache.put(result, false);
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get(new SlidingPuzzleNode(board), true));
+        SearchResult<SlidingPuzzleNode> cached = cache.get(new SlidingPuzzleNode(board), false);
+        assertEquals(result.getMovedPieces().length, TestBoards.assertValidSolution(board, cached));
+
+        // A fastest solution replaces it
+        cache.put(solve(board), true);
+        cached = cache.get(new SlidingPuzzleNode(board), true);
+        assertEquals(TestBoards.SOLUTION_LENGTHS_4X4[1], TestBoards.assertValidSolution(board, cached));
+    }
+
+    @Test
+    public void onlyTheMostRecentlyUsedBoardsAreKeptInMemory() {
+        SolutionCache cache = new SolutionCache(10);
+        cache.put(solve(TestBoards.BOARDS_4X4[0]), true);
+        cache.put(solve(TestBoards.BOARDS_4X4[1]), true);
+        assertEquals(10, cache.size());
+        assertNull(cache.get(new SlidingPuzzleNode(TestBoards.BOARDS_4X4[0]), false));
+    }
+
+    @Test
+    public void resultsWithoutASolutionAreNotRemembered() {
+        SolutionCache cache = new SolutionCache(SolutionCache.DEFAULT_CAPACITY);
+        cache.put(new AStar<SlidingPuzzleNode>().search(new SlidingPuzzleNode(TestBoards.UNSOLVABLE_3X3)), true);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void solutionsAreRememberedBetweenRuns() {
+        new SolutionCache(10, directory, SolutionCache.DEFAULT_FILE_CAPACITY)
+                .put(solve(TestBoards.BOARDS_4X4[2]), true);
+
+        SolutionCache cache = new SolutionCache(10, directory, SolutionCache.DEFAULT_FILE_CAPACITY);
+        assertEquals(0, cache.size());
+        int[][] mirroredBoard = mirror(TestBoards.BOARDS_4X4[2]);
+        SearchResult<SlidingPuzzleNode> cached = cache.get(new SlidingPuzzleNode(mirroredBoard), true);
+        assertEquals(TestBoards.SOLUTION_LENGTHS_4X4[2], TestBoards.assertValidSolution(mirroredBoard, cached));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void partlyWrittenSolutionsAreIgnored() throws IOException {
+        new SolutionCache(10, directory, SolutionCache.DEFAULT_FILE_CAPACITY)
+                .put(solve(TestBoards.BOARDS_4X4[0]), true);
+        try (FileOutputStream output = new FileOutputStream(new File(directory, "solution_cache"), true)) {
+            output.write(new byte[]{4, 1, 2});
+        }
+
+        SolutionCache cache = new SolutionCache(10, directory, SolutionCache.DEFAULT_FILE_CAPACITY);
+        cache.put(solve(TestBoards.BOARDS_4X4[3]), true);
+        cache = new SolutionCache(10, directory, SolutionCache.DEFAULT_FILE_CAPACITY);
+        for (int i : new int[]{0, 3}) {
+            int[][] board = TestBoards.BOARDS_4X4[i];
+            SearchResult<SlidingPuzzleNode> cached = cache.get(new SlidingPuzzleNode(board), true);
+            assertEquals(TestBoards.SOLUTION_LENGTHS_4X4[i], TestBoards.assertValidSolution(board, cached));
+        }
+    }
+
+    @Test
+    public void fullFilesKeepTheNewestSolutions() {
+        SolutionCache cache = new SolutionCache(10, directory, 60);
+        for (int[][] board : TestBoards.BOARDS_4X4) {
+            cache.put(solve(board), true);
+        }
+
+        cache = new SolutionCache(10, directory, 60);
+        int last = TestBoards.BOARDS_4X4.length - 1;
+        int[][] board = TestBoards.BOARDS_4X4[last];
+        assertNull(cache.get(new SlidingPuzzleNode(TestBoards.BOARDS_4X4[0]), false));
+        SearchResult<SlidingPuzzleNode> cached = cache.get(new SlidingPuzzleNode(board), true);
+        assertEquals(TestBoards.SOLUTION_LENGTHS_4X4[last], TestBoards.assertValidSolution(board, cached));
+        assertTrue(new File(directory, "solution_cache").length() > 0);
+    }
+
+    private static SearchResult<SlidingPuzzleNode> solve(int[][] board) {
+        return new AStar<SlidingPuzzleNode>().search(new SlidingPuzzleNode(board, new LinearConflict()));
+    }
+
+    /**
+     * @return the mirror image of the given board across its top-left to bottom-right diagonal, with each piece
+     * renumbered to the piece whose goal position is the mirror image of its own
+     */
+    private static int[][] mirror(int[][] board) {
+        int boardSize = board.length;
+        int[][] mirrored = new int[boardSize][boardSize];
+        for (int row = 0; row < boardSize; row++) {
+            for (int column = 0; column < boardSize; column++) {
+                int goalIndex = board[row][column] - 1;
+                int piece = goalIndex == boardSize * boardSize - 1 ? goalIndex + 1
+                        : goalIndex % boardSize * boardSize + goalIndex / boardSize + 1;
+                mirrored[column][row] = piece;
+            }
+        }
+        return mirrored;
+    }
+}
@@ -0,0 +1,114 @@
+package com.avromi.slidingpuzzlesolver.models.heuristics;
+
+import com.avromi.slidingpuzzlesolver.models.TestBoards;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Heuristic;
+import com.avromi.slidingpuzzlesolver.models.interfaces.Node;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the contract of {@link Heuristic} for each heuristic.
+ */
+@RunWith(Parameterized.class)
+public class HeuristicTest {
+    /**
+     * Where the pattern databases are saved, so that each is only built once, rather than each time a test switches
+     * board sizes
+     */
+    private static File databaseDirectory;
+
+    private final Heuristic heuristic;
+
+    public HeuristicTest(String name, Heuristic heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> heuristics() throws IOException {
+        databaseDirectory = Files.createTempDirectory("pattern_databases").toFile();
+        return Arrays.asList(
+                new Object[]{"ManhattanDistance", new ManhattanDistance()},
+                new Object[]{"LinearConflict", new LinearConflict()},
+                new Object[]{"PatternDatabaseHeuristic", new PatternDatabaseHeuristic(databaseDirectory)});
+    }
+
+    @AfterClass
+    public static void deleteDatabases() {
+        File[] files = databaseDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        databaseDirectory.delete();
+    }
+
+    @Test
+    public void solvedBoardsHaveAValueOfZero() {
+        for (int boardSize = 2; boardSize <= 5; boardSize++) {
+            assertEquals(0, new SlidingPuzzleNode(TestBoards.goal(boardSize), heuristic).getHValue());
+        }
+    }
+
+    @Test
+    public void valueAfterAMoveIsTheSameAsFromScratch() {
+        for (int boardSize = 3; boardSize <= 5; boardSize++) {
+            Random random = new Random(boardSize);
+            SlidingPuzzleNode node = new SlidingPuzzleNode(TestBoards.goal(boardSize), heuristic);
+            for (int i = 0; i < 300; i++) {
+                List<Node> nextNodes = node.getNextNodes();
+                node = (SlidingPuzzleNode) nextNodes.get(random.nextInt(nextNodes.size()));
+                assertEquals(new SlidingPuzzleNode(node.getBoardPieces(), heuristic).getHValue(), node.getHValue());
+            }
+        }
+    }
+
+    @Test
+    public void valueAfterAMoveOnAPackedBoardIsTheSameAsFromScratch() {
+        for (int boardSize = 2; boardSize <= 4; boardSize++) {
+            Random random = new Random(boardSize);
+            SlidingPuzzleNode node = new SlidingPuzzleNode(TestBoards.goal(boardSize), heuristic);
+            for (int i = 0; i < 300; i++) {
+                node = node.applyMove(random.nextInt(node.getMoveCount()));
+                int[] pieces = node.getFlatPieces();
+                assertEquals(heuristic.evaluate(pieces, boardSize), node.getHValue());
+            }
+        }
+    }
+
+    @Test
+    public void valueIsNeverMoreThanTheFastestSolution() {
+        for (int i = 0; i < TestBoards.BOARDS_3X3.length; i++) {
+            int hValue = new SlidingPuzzleNode(TestBoards.BOARDS_3X3[i], heuristic).getHValue();
+            assertTrue(hValue <= TestBoards.SOLUTION_LENGTHS_3X3[i]);
+        }
+        for (int i = 0; i < TestBoards.BOARDS_4X4.length; i++) {
+            int hValue = new SlidingPuzzleNode(TestBoards.BOARDS_4X4[i], heuristic).getHValue();
+            assertTrue(hValue <= TestBoards.SOLUTION_LENGTHS_4X4[i]);
+        }
+    }
+
+    @Test
+    public void valueIsAtLeastTheManhattanDistance() {
+        Heuristic manhattanDistance = new ManhattanDistance();
+        for (int seed = 0; seed < 20; seed++) {
+            int[][] board = TestBoards.scramble(4, 100, seed);
+            assertTrue(new SlidingPuzzleNode(board, heuristic).getHValue()
+                    >= new SlidingPuzzleNode(board, manhattanDistance).getHValue());
+        }
+    }
+}
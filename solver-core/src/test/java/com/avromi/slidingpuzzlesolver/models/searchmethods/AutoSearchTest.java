@@ -0,0 +1,132 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.TestBoards;
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.heuristics.LinearConflict;
+import com.avromi.slidingpuzzlesolver.models.heuristics.ManhattanDistance;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AutoSearchTest {
+    /**
+     * Shared by the auto searches, so that its database is only built once
+     */
+    private static final EightPuzzleLookup EIGHT_PUZZLE_LOOKUP = new EightPuzzleLookup();
+
+    /**
+     * A 4x4 board too far from the goal for A* to be run regardless of the memory
+     */
+    private static final int[][] FAR_BOARD = TestBoards.scramble(4, 1000, 1);
+
+    @Test
+    public void looksUp3x3Boards() {
+        AutoSearch searchMethod = new AutoSearch(false, EIGHT_PUZZLE_LOOKUP);
+        for (int i = 0; i < TestBoards.BOARDS_3X3.length; i++) {
+            int[][] board = TestBoards.BOARDS_3X3[i];
+            SearchResult<SlidingPuzzleNode> result = searchMethod.search(new SlidingPuzzleNode(board));
+            assertEquals("8-puzzle lookup", result.getAlgorithmChoice().getSearchMethodName());
+            assertEquals(TestBoards.SOLUTION_LENGTHS_3X3[i], TestBoards.assertValidSolution(board, result));
+        }
+    }
+
+    @Test
+    public void searches2x2BoardsWithAStar() {
+        int[][] board = TestBoards.scramble(2, 10, 1);
+        SearchResult<SlidingPuzzleNode> result = new AutoSearch(false, EIGHT_PUZZLE_LOOKUP)
+                .search(new SlidingPuzzleNode(board));
+        assertEquals("A*", result.getAlgorithmChoice().getSearchMethodName());
+        assertEquals(new BFS<SlidingPuzzleNode>().search(new SlidingPuzzleNode(board)).getSolutionPath().size() - 1,
+                TestBoards.assertValidSolution(board, result));
+    }
+
+    @Test
+    public void searchesWithBestFirstIfAnySolutionWillDo() {
+        int[][] board = TestBoards.BOARDS_4X4[0];
+        SearchResult<SlidingPuzzleNode> result = new AutoSearch(false, EIGHT_PUZZLE_LOOKUP)
+                .search(new SlidingPuzzleNode(board, new LinearConflict()));
+        assertEquals("Best-first search", result.getAlgorithmChoice().getSearchMethodName());
+        TestBoards.assertValidSolution(board, result);
+    }
+
+    @Test
+    public void searchesBoardsCloseToTheGoalWithAStar() {
+        AutoSearch searchMethod = withFreeMemory(Runtime.getRuntime().maxMemory());
+        for (int i = 0; i < TestBoards.BOARDS_4X4.length; i++) {
+            int[][] board = TestBoards.BOARDS_4X4[i];
+            SearchResult<SlidingPuzzleNode> result = searchMethod.search(new SlidingPuzzleNode(board,
+                    new LinearConflict()));
+            assertEquals("A*", result.getAlgorithmChoice().getSearchMethodName());
+            assertEquals(TestBoards.SOLUTION_LENGTHS_4X4[i], TestBoards.assertValidSolution(board, result));
+        }
+    }
+
+    @Test
+    public void searchesFarBoardsWithAStarIfThereIsEnoughMemory() {
+        AutoSearch searchMethod = withFreeMemory(128L << 20);
+        assertEquals("A*", searchFarBoard(searchMethod).getAlgorithmChoice().getSearchMethodName());
+    }
+
+    @Test
+    public void searchesFarBoardsWithIDAStarIfThereIsLittleMemory() {
+        AutoSearch searchMethod = withFreeMemory(127L << 20);
+        assertEquals("IDA*", searchFarBoard(searchMethod).getAlgorithmChoice().getSearchMethodName());
+    }
+
+    @Test
+    public void searchesWithIDAStarOnceAStarRunsOutOfMemory() {
+        AutoSearch searchMethod = withFreeMemory(1000);
+        // With the Manhattan distance, so that A* reaches enough boards to measure the memory they take
+        int[][] board = TestBoards.BOARDS_4X4[1];
+        SearchResult<SlidingPuzzleNode> result = searchMethod.search(new SlidingPuzzleNode(board,
+                new ManhattanDistance()));
+        assertEquals("IDA*", result.getAlgorithmChoice().getSearchMethodName());
+        assertTrue(result.getAlgorithmChoice().getReason().startsWith("A* ran out of its"));
+        assertEquals(TestBoards.SOLUTION_LENGTHS_4X4[1], TestBoards.assertValidSolution(board, result));
+    }
+
+    @Test
+    public void terminatingBetweenSearchesDoesntCancelTheNext() {
+        AutoSearch searchMethod = new AutoSearch(true, EIGHT_PUZZLE_LOOKUP);
+        searchMethod.terminate();
+        int[][] board = TestBoards.BOARDS_4X4[0];
+        TestBoards.assertValidSolution(board, searchMethod.search(new SlidingPuzzleNode(board,
+                new LinearConflict())));
+    }
+
+    @Test
+    public void unsolvableBoardsAreNotSearched() {
+        SearchResult<SlidingPuzzleNode> result = new AutoSearch(true, EIGHT_PUZZLE_LOOKUP)
+                .search(new SlidingPuzzleNode(TestBoards.UNSOLVABLE_3X3));
+        assertEquals(SearchResult.Outcome.UNSOLVABLE, result.getOutcome());
+    }
+
+    /**
+     * @return an auto search that finds the fastest solutions, and finds the given free memory when it measures it
+     */
+    private static AutoSearch withFreeMemory(long freeMemoryBytes) {
+        return new AutoSearch(true, EIGHT_PUZZLE_LOOKUP) {
+            @Override
+            long getFreeMemoryBytes() {
+                return freeMemoryBytes;
+            }
+        };
+    }
+
+    /**
+     * Starts searching {@link #FAR_BOARD}, only long enough for the search method to be chosen
+     */
+    private static SearchResult<SlidingPuzzleNode> searchFarBoard(AutoSearch searchMethod) {
+        SlidingPuzzleNode node = new SlidingPuzzleNode(FAR_BOARD, new LinearConflict());
+        assertTrue(node.getHValue() > 30);
+        SearchResult<SlidingPuzzleNode> result = searchMethod.search(node,
+                SearchBudget.UNLIMITED.withMaxExpansions(1000), new CancellationToken());
+        assertEquals(SearchResult.Outcome.BUDGET_EXHAUSTED, result.getOutcome());
+        return result;
+    }
+}
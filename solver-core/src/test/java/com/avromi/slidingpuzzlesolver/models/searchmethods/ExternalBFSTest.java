@@ -0,0 +1,80 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.TestBoards;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ExternalBFSTest {
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("external_bfs").toFile();
+    }
+
+    @After
+    public void deleteDirectory() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void layersAreTheSameAsInMemory() {
+        // Half of the 9! boards can be reached, the furthest of them in 31 moves
+        long[] layerSizes = TestBoards.countLayers(TestBoards.goal(3));
+        long total = 0;
+        for (long layerSize : layerSizes) {
+            total += layerSize;
+        }
+        assertEquals(181440, total);
+        assertEquals(32, layerSizes.length);
+
+        ExternalBFS searchMethod = new ExternalBFS(directory, ExternalBFS.DEFAULT_MEMORY_BUDGET);
+        assertArrayEquals(layerSizes, searchMethod.countLayers(new SlidingPuzzleNode(TestBoards.goal(3))));
+        assertArrayEquals(layerSizes, searchMethod.getLayerSizes());
+    }
+
+    @Test
+    public void layersAreTheSameWhenSortedInManyBatches() {
+        int[][] board = TestBoards.BOARDS_3X3[0];
+        assertArrayEquals(TestBoards.countLayers(board),
+                new ExternalBFS(directory, 1000).countLayers(new SlidingPuzzleNode(board)));
+    }
+
+    @Test
+    public void solutionsAreTheFastestWhenSortedInManyBatches() {
+        ExternalBFS searchMethod = new ExternalBFS(directory, 1000);
+        for (int i = 0; i < TestBoards.BOARDS_3X3.length; i++) {
+            int[][] board = TestBoards.BOARDS_3X3[i];
+            SearchResult<SlidingPuzzleNode> result = searchMethod.search(new SlidingPuzzleNode(board));
+            assertEquals(TestBoards.SOLUTION_LENGTHS_3X3[i], TestBoards.assertValidSolution(board, result));
+        }
+    }
+
+    @Test
+    public void layerFilesAreDeletedAfterASearch() {
+        new ExternalBFS(directory, 1000).search(new SlidingPuzzleNode(TestBoards.BOARDS_3X3[1]));
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void theMemoryBudgetMustBePositive() {
+        new ExternalBFS(directory, 0);
+    }
+}
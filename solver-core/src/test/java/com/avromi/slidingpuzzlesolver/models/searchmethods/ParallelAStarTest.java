@@ -0,0 +1,92 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.TestBoards;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.heuristics.LinearConflict;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelAStarTest {
+    @Test
+    public void findsTheFastestSolutionWithAnyNumberOfThreads() {
+        for (int threadCount : new int[]{1, 3, 8}) {
+            ParallelAStar<SlidingPuzzleNode> searchMethod = new ParallelAStar<>(threadCount);
+            for (int i = 0; i < TestBoards.BOARDS_4X4.length; i++) {
+                int[][] board = TestBoards.BOARDS_4X4[i];
+                SearchResult<SlidingPuzzleNode> result = searchMethod.search(
+                        new SlidingPuzzleNode(board, new LinearConflict()));
+                assertEquals(TestBoards.SOLUTION_LENGTHS_4X4[i], TestBoards.assertValidSolution(board, result));
+            }
+        }
+    }
+
+    @Test
+    public void findsTheFastestSolutionWithMoreThreadsThanNodes() {
+        int[][] board = TestBoards.scramble(3, 3, 1);
+        SearchResult<SlidingPuzzleNode> result = new ParallelAStar<SlidingPuzzleNode>(16).search(
+                new SlidingPuzzleNode(board, new LinearConflict()));
+        assertEquals(new BFS<SlidingPuzzleNode>().search(new SlidingPuzzleNode(board)).getSolutionPath().size() - 1,
+                TestBoards.assertValidSolution(board, result));
+    }
+
+    @Test
+    public void searchesRunningAtOnceDontInterfere() throws Exception {
+        ParallelAStar<SlidingPuzzleNode> searchMethod = new ParallelAStar<>(2);
+        ExecutorService executor = Executors.newFixedThreadPool(TestBoards.BOARDS_4X4.length);
+        try {
+            List<Future<SearchResult<SlidingPuzzleNode>>> results = new ArrayList<>();
+            for (int[][] board : TestBoards.BOARDS_4X4) {
+                results.add(executor.submit(() -> searchMethod.search(
+                        new SlidingPuzzleNode(board, new LinearConflict()))));
+            }
+            for (int i = 0; i < TestBoards.BOARDS_4X4.length; i++) {
+                assertEquals(TestBoards.SOLUTION_LENGTHS_4X4[i], TestBoards.assertValidSolution(
+                        TestBoards.BOARDS_4X4[i], results.get(i).get(30, TimeUnit.SECONDS)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void workerThreadsEndWithTheSearch() throws InterruptedException {
+        new ParallelAStar<SlidingPuzzleNode>(4).search(new SlidingPuzzleNode(TestBoards.BOARDS_3X3[0]));
+        // The pool's threads end shortly after it is shut down
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (isWorkerThreadRunning() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(isWorkerThreadRunning());
+    }
+
+    @Test
+    public void workerThreadsDontKeepTheProcessRunning() {
+        new ParallelAStar<SlidingPuzzleNode>(4).search(new SlidingPuzzleNode(TestBoards.BOARDS_3X3[0]));
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("ParallelAStar-")) {
+                assertTrue(thread.isDaemon());
+            }
+        }
+    }
+
+    private static boolean isWorkerThreadRunning() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("ParallelAStar-")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
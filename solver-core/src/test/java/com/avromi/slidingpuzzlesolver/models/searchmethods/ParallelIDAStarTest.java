@@ -0,0 +1,37 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.TestBoards;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.heuristics.LinearConflict;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParallelIDAStarTest {
+    @Test
+    public void findsTheFastestSolutionWithAnyNumberOfThreads() {
+        for (int threadCount : new int[]{1, 3, 8}) {
+            ParallelIDAStar searchMethod = new ParallelIDAStar(threadCount);
+            for (int i = 0; i < TestBoards.BOARDS_4X4.length; i++) {
+                int[][] board = TestBoards.BOARDS_4X4[i];
+                SearchResult<SlidingPuzzleNode> result = searchMethod.search(
+                        new SlidingPuzzleNode(board, new LinearConflict()));
+                assertEquals(TestBoards.SOLUTION_LENGTHS_4X4[i], TestBoards.assertValidSolution(board, result));
+            }
+        }
+    }
+
+    @Test
+    public void findsSolutionsShorterThanTheSplitDepth() {
+        // These are found while splitting the search tree, before any subtree is searched
+        for (int seed = 0; seed < 10; seed++) {
+            int[][] board = TestBoards.scramble(4, 3, seed);
+            int fastestSolutionLength = new BFS<SlidingPuzzleNode>().search(new SlidingPuzzleNode(board))
+                    .getSolutionPath().size() - 1;
+            SearchResult<SlidingPuzzleNode> result = new ParallelIDAStar(8).search(new SlidingPuzzleNode(board));
+            assertEquals(fastestSolutionLength, TestBoards.assertValidSolution(board, result));
+        }
+    }
+}
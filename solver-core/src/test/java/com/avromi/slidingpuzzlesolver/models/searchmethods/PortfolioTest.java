@@ -0,0 +1,182 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.TestBoards;
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.heuristics.LinearConflict;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PortfolioTest {
+    @Test
+    public void returnsTheFirstSolutionAndStopsTheOtherSearchMethods() throws InterruptedException {
+        UntilCancelled untilCancelled = new UntilCancelled();
+        BestFirst<SlidingPuzzleNode> bestFirst = new BestFirst<>();
+        Portfolio<SlidingPuzzleNode> portfolio = new Portfolio<>(Arrays.asList(untilCancelled, bestFirst));
+        int[][] board = TestBoards.BOARDS_4X4[0];
+        SearchResult<SlidingPuzzleNode> result = portfolio.search(new SlidingPuzzleNode(board));
+        TestBoards.assertValidSolution(board, result);
+        assertSame(bestFirst, portfolio.getLastWinner());
+        assertTrue(untilCancelled.stopped.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void searchMethodsWaitForAFreeThread() {
+        UntilCancelled untilCancelled = new UntilCancelled();
+        Portfolio<SlidingPuzzleNode> portfolio = new Portfolio<>(Arrays.asList(new AStar<>(), untilCancelled),
+                false, 1);
+        int[][] board = TestBoards.BOARDS_3X3[0];
+        TestBoards.assertValidSolution(board, portfolio.search(new SlidingPuzzleNode(board)));
+        // The first search method found a solution before the second could start
+        assertFalse(untilCancelled.started);
+    }
+
+    @Test
+    public void onlyRunsSearchMethodsThatFindTheFastestSolutionIfRequired() {
+        Portfolio<SlidingPuzzleNode> portfolio = Portfolio.createDefault(true);
+        assertTrue(portfolio.findsFastestSolutions());
+        for (SearchMethod<SlidingPuzzleNode> searchMethod : portfolio.getSearchMethods()) {
+            assertTrue(searchMethod.findsFastestSolutions());
+        }
+        for (int i = 0; i < TestBoards.BOARDS_4X4.length; i++) {
+            int[][] board = TestBoards.BOARDS_4X4[i];
+            SearchResult<SlidingPuzzleNode> result = portfolio.search(new SlidingPuzzleNode(board,
+                    new LinearConflict()));
+            assertEquals(TestBoards.SOLUTION_LENGTHS_4X4[i], TestBoards.assertValidSolution(board, result));
+        }
+    }
+
+    @Test
+    public void returnsTheClosestPartialPathIfNoSolutionIsFound() {
+        int[][] board = TestBoards.scramble(7, 2000, 1);
+        SearchBudget budget = SearchBudget.UNLIMITED.withMaxExpansions(1000);
+        List<SearchMethod<SlidingPuzzleNode>> searchMethods = Arrays.asList(new BFS<>(), new BestFirst<>());
+        int closestHValue = Integer.MAX_VALUE;
+        for (SearchMethod<SlidingPuzzleNode> searchMethod : searchMethods) {
+            List<SlidingPuzzleNode> path = searchMethod.search(new SlidingPuzzleNode(board), budget,
+                    new CancellationToken()).getPartialPath();
+            closestHValue = Math.min(closestHValue, path.get(path.size() - 1).getHValue());
+        }
+
+        Portfolio<SlidingPuzzleNode> portfolio = new Portfolio<>(searchMethods);
+        SearchResult<SlidingPuzzleNode> result = portfolio.search(new SlidingPuzzleNode(board), budget,
+                new CancellationToken());
+        assertEquals(SearchResult.Outcome.BUDGET_EXHAUSTED, result.getOutcome());
+        List<SlidingPuzzleNode> path = result.getPartialPath();
+        assertEquals(closestHValue, path.get(path.size() - 1).getHValue());
+    }
+
+    @Test
+    public void searchMethodsThatFailAreIgnoredIfAnotherSucceeds() {
+        Portfolio<SlidingPuzzleNode> portfolio = new Portfolio<>(Arrays.asList(new Failing(), new AStar<>()));
+        int[][] board = TestBoards.BOARDS_3X3[0];
+        TestBoards.assertValidSolution(board, portfolio.search(new SlidingPuzzleNode(board)));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void failsIfEverySearchMethodFails() {
+        new Portfolio<>(Arrays.asList(new Failing(), new Failing()))
+                .search(new SlidingPuzzleNode(TestBoards.BOARDS_3X3[0]));
+    }
+
+    @Test
+    public void searchesCancelledBeforeTheyStartStopAtOnce() {
+        UntilCancelled untilCancelled = new UntilCancelled();
+        Portfolio<SlidingPuzzleNode> portfolio = new Portfolio<>(Arrays.asList(untilCancelled, new AStar<>()));
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        SearchResult<SlidingPuzzleNode> result = portfolio.search(new SlidingPuzzleNode(TestBoards.BOARDS_3X3[0]),
+                SearchBudget.UNLIMITED, token);
+        assertEquals(SearchResult.Outcome.CANCELLED, result.getOutcome());
+        assertFalse(result.getSolutionWasFound());
+    }
+
+    @Test
+    public void unsolvableBoardsHaveNoWinner() {
+        Portfolio<SlidingPuzzleNode> portfolio = Portfolio.createDefault(false);
+        portfolio.search(new SlidingPuzzleNode(TestBoards.BOARDS_3X3[0]));
+        assertTrue(portfolio.search(new SlidingPuzzleNode(TestBoards.UNSOLVABLE_3X3)).getBoardIsUnsolvable());
+        assertNull(portfolio.getLastWinner());
+    }
+
+    @Test
+    public void workerThreadsDontKeepTheProcessRunning() {
+        Portfolio.createDefault(false).search(new SlidingPuzzleNode(TestBoards.BOARDS_3X3[0]));
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("Portfolio-")) {
+                assertTrue(thread.isDaemon());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aSearchMethodIsRequired() {
+        new Portfolio<SlidingPuzzleNode>(Collections.emptyList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aSearchMethodThatFindsTheFastestSolutionIsRequiredIfTheyAreRequired() {
+        new Portfolio<>(Collections.singletonList(new BestFirst<SlidingPuzzleNode>()), true, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aThreadIsRequired() {
+        new Portfolio<>(Collections.singletonList(new AStar<SlidingPuzzleNode>()), false, 0);
+    }
+
+    /**
+     * A search method that never finds a solution, and only returns once its token is cancelled
+     */
+    private static class UntilCancelled implements SearchMethod<SlidingPuzzleNode> {
+        private final CountDownLatch stopped = new CountDownLatch(1);
+        private volatile boolean started;
+
+        @Override
+        public SearchResult<SlidingPuzzleNode> search(SlidingPuzzleNode node, SearchBudget budget,
+                                                      CancellationToken token) {
+            started = true;
+            SearchStatistics statistics = new SearchStatistics();
+            while (!token.isCancelled()) {
+                Thread.yield();
+            }
+            stopped.countDown();
+            statistics.finish();
+            return new SearchResult<>(SearchResult.Outcome.CANCELLED, statistics);
+        }
+
+        @Override
+        public void terminate() {
+        }
+    }
+
+    /**
+     * A search method that always fails
+     */
+    private static class Failing implements SearchMethod<SlidingPuzzleNode> {
+        @Override
+        public SearchResult<SlidingPuzzleNode> search(SlidingPuzzleNode node, SearchBudget budget,
+                                                      CancellationToken token) {
+            throw new IllegalStateException("The search failed");
+        }
+
+        @Override
+        public void terminate() {
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.avromi.slidingpuzzlesolver.models.searchmethods;
+
+import com.avromi.slidingpuzzlesolver.models.TestBoards;
+import com.avromi.slidingpuzzlesolver.models.classes.CancellationToken;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchBudget;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchResult;
+import com.avromi.slidingpuzzlesolver.models.classes.SearchStatistics;
+import com.avromi.slidingpuzzlesolver.models.classes.SlidingPuzzleNode;
+import com.avromi.slidingpuzzlesolver.models.heuristics.LinearConflict;
+import com.avromi.slidingpuzzlesolver.models.heuristics.ManhattanDistance;
+import com.avromi.slidingpuzzlesolver.models.interfaces.SearchMethod;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that each search method finds valid solutions, and that the ones that find the fastest solutions find ones as
+ * short as BFS does.
+ */
+@RunWith(Parameterized.class)
+public class SearchMethodTest {
+    /**
+     * A board that no search method can solve in a test's time
+     */
+    private static final int[][] HARD_BOARD = TestBoards.scramble(7, 2000, 1);
+
+    /**
+     * Shared by the auto searches, so that its database is only built once
+     */
+    private static final EightPuzzleLookup EIGHT_PUZZLE_LOOKUP = new EightPuzzleLookup();
+
+    private final Supplier<SearchMethod<SlidingPuzzleNode>> searchMethods;
+    private final int maxSolutionLength;
+
+    /**
+     * @param name              the name of the search method, for the test names
+     * @param searchMethods     creates the search method to test
+     * @param maxSolutionLength the longest fastest solution the search method can find in a test's time, e.g., since
+     *                          it only searches to a fixed depth
+     */
+    public SearchMethodTest(String name, Supplier<SearchMethod<SlidingPuzzleNode>> searchMethods,
+                            int maxSolutionLength) {
+        this.searchMethods = searchMethods;
+        this.maxSolutionLength = maxSolutionLength;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> searchMethods() {
+        return Arrays.asList(
+                searchMethod("AStar", AStar::new, Integer.MAX_VALUE),
+                searchMethod("AutoSearch", () -> new AutoSearch(true, EIGHT_PUZZLE_LOOKUP), Integer.MAX_VALUE),
+                searchMethod("AutoSearchAnySolution", () -> new AutoSearch(false, EIGHT_PUZZLE_LOOKUP),
+                        Integer.MAX_VALUE),
+                searchMethod("BFS", BFS::new, 24),
+                searchMethod("BestFirst", BestFirst::new, Integer.MAX_VALUE),
+                searchMethod("BidirectionalBFS", BidirectionalBFS::new, 24),
+                searchMethod("DDFS", DDFS::new, 8),
+                searchMethod("DFS", DFS::new, 24),
+                searchMethod("EightPuzzleLookup", EightPuzzleLookup::new, Integer.MAX_VALUE),
+                searchMethod("ExternalBFS", ExternalBFS::new, 24),
+                searchMethod("IDAStar", IDAStar::new, Integer.MAX_VALUE),
+                searchMethod("IDDFS", IDDFS::new, 24),
+                searchMethod("ParallelAStar", () -> new ParallelAStar<>(2), Integer.MAX_VALUE),
+                searchMethod("ParallelIDAStar", () -> new ParallelIDAStar(2), Integer.MAX_VALUE),
+                searchMethod("Portfolio", () -> Portfolio.createDefault(false), Integer.MAX_VALUE));
+    }
+
+    private static Object[] searchMethod(String name, Supplier<SearchMethod<SlidingPuzzleNode>> searchMethods,
+                                         int maxSolutionLength) {
+        return new Object[]{name, searchMethods, maxSolutionLength};
+    }
+
+    @Test
+    public void solvesBoardsCloseToTheGoal() {
+        for (int seed = 0; seed < 5; seed++) {
+            int[][] board = TestBoards.scramble(3, 8, seed);
+            assertSolves(board, new SlidingPuzzleNode(board, new ManhattanDistance()), -1);
+        }
+    }
+
+    @Test
+    public void solves3x3Boards() {
+        assumeTrue(maxSolutionLength >= 24);
+        for (int i = 0; i < TestBoards.BOARDS_3X3.length; i++) {
+            int[][] board = TestBoards.BOARDS_3X3[i];
+            assertSolves(board, new SlidingPuzzleNode(board, new LinearConflict()), TestBoards.SOLUTION_LENGTHS_3X3[i]);
+        }
+    }
+
+    @Test
+    public void solves4x4Boards() {
+        assumeTrue(maxSolutionLength >= 28);
+        for (int i = 0; i < TestBoards.BOARDS_4X4.length; i++) {
+            int[][] board = TestBoards.BOARDS_4X4[i];
+            assertSolves(board, new SlidingPuzzleNode(board, new LinearConflict()), TestBoards.SOLUTION_LENGTHS_4X4[i]);
+        }
+    }
+
+    @Test
+    public void solvedBoardsNeedNoMoves() {
+        int[][] board = TestBoards.goal(3);
+        assertSolves(board, new SlidingPuzzleNode(board), 0);
+    }
+
+    @Test
+    public void reportsTheWorkDone() {
+        SearchMethod<SlidingPuzzleNode> searchMethod = searchMethods.get();
+        // Lookups (which auto searches run on 3x3 boards) don't expand any nodes
+        assumeFalse(searchMethod instanceof EightPuzzleLookup || searchMethod instanceof AutoSearch);
+        // Two moves from the goal
+        int[][] board = {{1, 2, 3}, {4, 9, 6}, {7, 5, 8}};
+        SearchResult<SlidingPuzzleNode> result = searchMethod.search(new SlidingPuzzleNode(board));
+        SearchStatistics statistics = result.getStatistics();
+        assertTrue(statistics.getNodesExpanded() > 0);
+        assertTrue(statistics.getNodesGenerated() >= statistics.getNodesExpanded());
+        assertTrue(statistics.getWallTimeMs() >= 0);
+    }
+
+    @Test
+    public void unsolvableBoardsAreNotSearched() {
+        SearchResult<SlidingPuzzleNode> result = searchMethods.get()
+                .search(new SlidingPuzzleNode(TestBoards.UNSOLVABLE_3X3));
+        assertFalse(result.getSolutionWasFound());
+        assertTrue(result.getBoardIsUnsolvable());
+        assertEquals(SearchResult.Outcome.UNSOLVABLE, result.getOutcome());
+    }
+
+    @Test
+    public void cancelledSearchesStopAtOnce() {
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        SearchResult<SlidingPuzzleNode> result = searchMethods.get()
+                .search(new SlidingPuzzleNode(TestBoards.BOARDS_4X4[1]), SearchBudget.UNLIMITED, token);
+        assertEquals(SearchResult.Outcome.CANCELLED, result.getOutcome());
+        assertFalse(result.getSolutionWasFound());
+    }
+
+    @Test
+    public void searchesStopWhenTheirBudgetIsUsedUp() {
+        SearchMethod<SlidingPuzzleNode> searchMethod = searchMethods.get();
+        assumeSearchesUntilStopped(searchMethod);
+        SearchBudget budget = SearchBudget.UNLIMITED.withMaxExpansions(10);
+        SearchResult<SlidingPuzzleNode> result = searchMethod.search(new SlidingPuzzleNode(HARD_BOARD), budget,
+                new CancellationToken());
+        assertEquals(SearchResult.Outcome.BUDGET_EXHAUSTED, result.getOutcome());
+        // Some search methods only check their budget every few thousand nodes
+        assertTrue(result.getStatistics().getNodesExpanded() < 100_000);
+    }
+
+    @Test
+    public void searchesStopWhenTheirTimeIsUp() {
+        SearchMethod<SlidingPuzzleNode> searchMethod = searchMethods.get();
+        assumeSearchesUntilStopped(searchMethod);
+        SearchBudget budget = SearchBudget.UNLIMITED.withTimeLimit(50);
+        long start = System.nanoTime();
+        SearchResult<SlidingPuzzleNode> result = searchMethod.search(new SlidingPuzzleNode(HARD_BOARD), budget,
+                new CancellationToken());
+        assertEquals(SearchResult.Outcome.BUDGET_EXHAUSTED, result.getOutcome());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    public void stoppedSearchesReturnThePathToTheClosestBoardFound() {
+        SearchMethod<SlidingPuzzleNode> searchMethod = searchMethods.get();
+        assumeTrue(searchMethod instanceof AStar || searchMethod instanceof BFS || searchMethod instanceof BestFirst
+                || searchMethod instanceof DDFS || searchMethod instanceof IDDFS);
+        SearchBudget budget = SearchBudget.UNLIMITED.withMaxExpansions(1000);
+        SearchResult<SlidingPuzzleNode> result = searchMethod.search(new SlidingPuzzleNode(HARD_BOARD), budget,
+                new CancellationToken());
+        assertFalse(result.getSolutionWasFound());
+        assertTrue(result.getSolutionPath().isEmpty());
+
+        List<SlidingPuzzleNode> path = result.getPartialPath();
+        assertFalse(path.isEmpty());
+        assertArrayEquals(HARD_BOARD, path.get(0).getBoardPieces());
+        int closestHValue = path.get(path.size() - 1).getHValue();
+        for (int i = 1; i < path.size(); i++) {
+            assertTrue(path.get(i - 1).getNextNodes().contains(path.get(i)));
+            // Every node on the path was expanded before the closest one was
+            assertTrue(closestHValue <= path.get(i - 1).getHValue());
+        }
+    }
+
+    @Test
+    public void terminatedSearchesAreCancelled() throws Exception {
+        SearchMethod<SlidingPuzzleNode> searchMethod = searchMethods.get();
+        assumeSearchesUntilStopped(searchMethod);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<SearchResult<SlidingPuzzleNode>> result = executor.submit(
+                    () -> searchMethod.search(new SlidingPuzzleNode(HARD_BOARD)));
+            // The search may not have started yet the first time
+            while (!result.isDone()) {
+                Thread.sleep(20);
+                searchMethod.terminate();
+            }
+            assertEquals(SearchResult.Outcome.CANCELLED, result.get(5, TimeUnit.SECONDS).getOutcome());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Skips search methods that are done with any board in no time, so can't be stopped part way
+     */
+    private static void assumeSearchesUntilStopped(SearchMethod<SlidingPuzzleNode> searchMethod) {
+        // DDFS only searches to a fixed depth
+        assumeFalse(searchMethod instanceof DDFS);
+    }
+
+    /**
+     * Checks that the search method finds a valid solution of the given board, which is as short as the given fastest
+     * solution if the search method finds the fastest solutions (or of any length, if it is -1).
+     */
+    private void assertSolves(int[][] board, SlidingPuzzleNode node, int fastestSolutionLength) {
+        SearchMethod<SlidingPuzzleNode> searchMethod = searchMethods.get();
+        SearchResult<SlidingPuzzleNode> result = searchMethod.search(node);
+        assertEquals(SearchResult.Outcome.SOLVED, result.getOutcome());
+        int solutionLength = TestBoards.assertValidSolution(board, result);
+        if (fastestSolutionLength == 0 || (fastestSolutionLength != -1 && searchMethod.findsFastestSolutions())) {
+            assertEquals(fastestSolutionLength, solutionLength);
+        }
+    }
+}